@@ -0,0 +1,45 @@
+package com.example.bookingservice.client;
+
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+/** Replaces Feign's read timeout with the method's adaptive timeout and feeds the call's latency back. */
+public class AdaptiveTimeoutClient implements Client {
+
+    private final Client delegate;
+    private final AdaptiveTimeouts adaptiveTimeouts;
+
+    public AdaptiveTimeoutClient(Client delegate, AdaptiveTimeouts adaptiveTimeouts) {
+        this.delegate = delegate;
+        this.adaptiveTimeouts = adaptiveTimeouts;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        MethodMetadata metadata = request.requestTemplate() != null ? request.requestTemplate().methodMetadata() : null;
+        if (metadata == null || metadata.method() == null) {
+            return delegate.execute(request, options);
+        }
+
+        String method = metadata.method().getName();
+        long timeoutMillis = adaptiveTimeouts.timeoutMillis(method, options.readTimeoutMillis());
+        Request.Options adjusted = new Request.Options(options.connectTimeout(), options.connectTimeoutUnit(),
+                timeoutMillis, TimeUnit.MILLISECONDS, options.isFollowRedirects());
+
+        long started = System.nanoTime();
+        try {
+            Response response = delegate.execute(request, adjusted);
+            adaptiveTimeouts.recordLatency(method, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return response;
+        } catch (SocketTimeoutException e) {
+            adaptiveTimeouts.recordTimeout(method, timeoutMillis);
+            throw e;
+        }
+    }
+}
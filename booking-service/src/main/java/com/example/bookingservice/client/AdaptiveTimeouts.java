@@ -0,0 +1,143 @@
+package com.example.bookingservice.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-method timeouts for hotel-service calls, derived from each method's own recent latency: the configured
+ * percentile over a sliding window times {@code factor}, kept between {@code floor-ms} and {@code ceiling-ms}.
+ * Until a method has {@code min-samples} calls in the window it gets the ceiling. A call that times out counts as
+ * taking the full timeout, so a slowdown pushes the timeout up step by step rather than failing every call.
+ */
+@Slf4j
+@Component
+public class AdaptiveTimeouts {
+
+    private final boolean enabled;
+    private final double percentile;
+    private final double factor;
+    private final long floorMillis;
+    private final long ceilingMillis;
+    private final long minSamples;
+    private final long windowMillis;
+    private final int windowSlots;
+    private final long recomputeIntervalMillis;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<String, MethodTimeout> methods = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AdaptiveTimeouts(MeterRegistry meterRegistry,
+                            @Value("${app.hotel-client.timeouts.enabled:true}") boolean enabled,
+                            @Value("${app.hotel-client.timeouts.percentile:0.99}") double percentile,
+                            @Value("${app.hotel-client.timeouts.factor:3.0}") double factor,
+                            @Value("${app.hotel-client.timeouts.floor-ms:200}") long floorMillis,
+                            @Value("${app.hotel-client.timeouts.ceiling-ms:5000}") long ceilingMillis,
+                            @Value("${app.hotel-client.timeouts.min-samples:100}") long minSamples,
+                            @Value("${app.hotel-client.timeouts.window-ms:60000}") long windowMillis,
+                            @Value("${app.hotel-client.timeouts.window-slots:6}") int windowSlots,
+                            @Value("${app.hotel-client.timeouts.recompute-interval-ms:1000}") long recomputeIntervalMillis) {
+        this(meterRegistry, enabled, percentile, factor, floorMillis, ceilingMillis, minSamples, windowMillis,
+                windowSlots, recomputeIntervalMillis, Clock.systemUTC());
+    }
+
+    AdaptiveTimeouts(MeterRegistry meterRegistry, boolean enabled, double percentile, double factor, long floorMillis,
+                     long ceilingMillis, long minSamples, long windowMillis, int windowSlots,
+                     long recomputeIntervalMillis, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.factor = factor;
+        this.floorMillis = floorMillis;
+        this.ceilingMillis = ceilingMillis;
+        this.minSamples = minSamples;
+        this.windowMillis = windowMillis;
+        this.windowSlots = windowSlots;
+        this.recomputeIntervalMillis = recomputeIntervalMillis;
+        this.clock = clock;
+    }
+
+    /** Timeout for the next call of {@code method}; {@code fallbackMillis} when adaptive timeouts are off. */
+    public long timeoutMillis(String method, long fallbackMillis) {
+        if (!enabled) {
+            return fallbackMillis;
+        }
+        MethodTimeout timeout = methodTimeout(method);
+        long now = clock.millis();
+        if (now - timeout.computedAt >= recomputeIntervalMillis) {
+            recompute(method, timeout, now);
+        }
+        return timeout.millis;
+    }
+
+    public void recordLatency(String method, long millis) {
+        if (enabled) {
+            methodTimeout(method).window.record(millis, clock.millis());
+        }
+    }
+
+    public void recordTimeout(String method, long timeoutMillis) {
+        if (enabled) {
+            MethodTimeout timeout = methodTimeout(method);
+            timeout.window.record(timeoutMillis, clock.millis());
+            timeout.timeouts.increment();
+        }
+    }
+
+    private void recompute(String method, MethodTimeout timeout, long now) {
+        synchronized (timeout) {
+            if (now - timeout.computedAt < recomputeIntervalMillis) {
+                return;
+            }
+            long millis = ceilingMillis;
+            if (timeout.window.count(now) >= minSamples) {
+                long observed = timeout.window.percentile(percentile, now);
+                millis = Math.max(floorMillis, Math.min(ceilingMillis, (long) Math.ceil(observed * factor)));
+            }
+            if (millis != timeout.millis) {
+                log.debug("Timeout for hotel-service {} is now {} ms", method, millis);
+            }
+            timeout.millis = millis;
+            timeout.computedAt = now;
+        }
+    }
+
+    private MethodTimeout methodTimeout(String method) {
+        return methods.computeIfAbsent(method, name -> {
+            MethodTimeout timeout = new MethodTimeout(new LatencyWindow(windowMillis, windowSlots), ceilingMillis,
+                    Counter.builder("booking.hotel.client.timeouts")
+                            .description("hotel-service calls that ran into their adaptive timeout")
+                            .tag("method", name)
+                            .register(meterRegistry));
+            Gauge.builder("booking.hotel.client.timeout", timeout, t -> t.millis)
+                    .description("Current adaptive timeout for a hotel-service call")
+                    .tag("method", name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            return timeout;
+        });
+    }
+
+    private static final class MethodTimeout {
+
+        private final LatencyWindow window;
+        private final Counter timeouts;
+        private volatile long millis;
+        private volatile long computedAt = Long.MIN_VALUE / 2;
+
+        private MethodTimeout(LatencyWindow window, long millis, Counter timeouts) {
+            this.window = window;
+            this.millis = millis;
+            this.timeouts = timeouts;
+        }
+    }
+}
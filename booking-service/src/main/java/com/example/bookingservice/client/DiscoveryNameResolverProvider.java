@@ -0,0 +1,194 @@
+package com.example.bookingservice.client;
+
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.NameResolver;
+import io.grpc.NameResolverProvider;
+import io.grpc.NameResolverRegistry;
+import io.grpc.Status;
+import io.grpc.SynchronizationContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves {@code discovery:///<service-id>} gRPC targets to the instances the Spring Cloud {@link DiscoveryClient}
+ * knows, so the gRPC transport finds hotel-service the same way the load-balanced Feign client does. Each instance's
+ * gRPC port is read from its {@value #GRPC_PORT_METADATA} metadata, falling back to the configured default.
+ * The provider is registered with gRPC's default registry for as long as the application context is up.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.hotel-client.transport", havingValue = "grpc")
+public class DiscoveryNameResolverProvider extends NameResolverProvider {
+
+    public static final String SCHEME = "discovery";
+    public static final String GRPC_PORT_METADATA = "grpc-port";
+
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final int defaultPort;
+    private final long refreshMillis;
+
+    public DiscoveryNameResolverProvider(ObjectProvider<DiscoveryClient> discoveryClient,
+                                         @Value("${app.hotel-client.grpc.default-port:9090}") int defaultPort,
+                                         @Value("${app.hotel-client.grpc.discovery-refresh-ms:30000}") long refreshMillis) {
+        this.discoveryClient = discoveryClient;
+        this.defaultPort = defaultPort;
+        this.refreshMillis = refreshMillis;
+    }
+
+    @PostConstruct
+    void register() {
+        NameResolverRegistry.getDefaultRegistry().register(this);
+    }
+
+    @PreDestroy
+    void deregister() {
+        NameResolverRegistry.getDefaultRegistry().deregister(this);
+    }
+
+    @Override
+    public NameResolver newNameResolver(URI targetUri, NameResolver.Args args) {
+        if (!SCHEME.equals(targetUri.getScheme())) {
+            return null;
+        }
+        String serviceId = targetUri.getPath() != null && targetUri.getPath().length() > 1
+                ? targetUri.getPath().substring(1)
+                : targetUri.getAuthority();
+        return new DiscoveryNameResolver(serviceId, args);
+    }
+
+    @Override
+    public String getDefaultScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    protected boolean isAvailable() {
+        return true;
+    }
+
+    // Below the DNS provider's 5, so plain host:port targets keep resolving through DNS.
+    @Override
+    protected int priority() {
+        return 4;
+    }
+
+    @Override
+    public Collection<Class<? extends SocketAddress>> getProducedSocketAddressTypes() {
+        return List.of(InetSocketAddress.class);
+    }
+
+    List<EquivalentAddressGroup> addresses(String serviceId) {
+        DiscoveryClient client = discoveryClient.getIfAvailable();
+        if (client == null) {
+            throw new IllegalStateException("No DiscoveryClient; set app.hotel-client.grpc.target to host:port");
+        }
+        return client.getInstances(serviceId).stream()
+                .map(instance -> new EquivalentAddressGroup(new InetSocketAddress(instance.getHost(), grpcPort(instance))))
+                .toList();
+    }
+
+    private int grpcPort(ServiceInstance instance) {
+        String port = instance.getMetadata().get(GRPC_PORT_METADATA);
+        return port != null ? Integer.parseInt(port) : defaultPort;
+    }
+
+    // Re-resolves when the channel asks (a connection failed) and every refreshMillis, so new instances are picked up.
+    private class DiscoveryNameResolver extends NameResolver {
+
+        private final String serviceId;
+        private final SynchronizationContext syncContext;
+        private final Executor executor;
+        private final ScheduledExecutorService scheduler;
+
+        private Listener2 listener;
+        private SynchronizationContext.ScheduledHandle nextRefresh;
+        private boolean resolving;
+        private boolean shutdown;
+
+        DiscoveryNameResolver(String serviceId, Args args) {
+            this.serviceId = serviceId;
+            this.syncContext = args.getSynchronizationContext();
+            this.executor = args.getOffloadExecutor() != null ? args.getOffloadExecutor() : Runnable::run;
+            this.scheduler = args.getScheduledExecutorService();
+        }
+
+        @Override
+        public String getServiceAuthority() {
+            return serviceId;
+        }
+
+        @Override
+        public void start(Listener2 listener) {
+            this.listener = listener;
+            resolve();
+        }
+
+        @Override
+        public void refresh() {
+            resolve();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+            if (nextRefresh != null) {
+                nextRefresh.cancel();
+            }
+        }
+
+        private void resolve() {
+            if (resolving || shutdown) {
+                return;
+            }
+            resolving = true;
+            if (nextRefresh != null) {
+                nextRefresh.cancel();
+            }
+            executor.execute(() -> {
+                List<EquivalentAddressGroup> addresses = null;
+                Status error = null;
+                try {
+                    addresses = addresses(serviceId);
+                    if (addresses.isEmpty()) {
+                        error = Status.UNAVAILABLE.withDescription("No instances of " + serviceId + " in discovery");
+                    }
+                } catch (RuntimeException e) {
+                    error = Status.UNAVAILABLE.withDescription("Discovery lookup for " + serviceId + " failed").withCause(e);
+                }
+                List<EquivalentAddressGroup> resolved = addresses;
+                Status failure = error;
+                syncContext.execute(() -> completed(resolved, failure));
+            });
+        }
+
+        private void completed(List<EquivalentAddressGroup> addresses, Status error) {
+            resolving = false;
+            if (shutdown) {
+                return;
+            }
+            if (error != null) {
+                log.warn("Could not resolve gRPC target {}: {}", serviceId, error.getDescription());
+                listener.onError(error);
+            } else {
+                listener.onResult(ResolutionResult.newBuilder().setAddresses(addresses).build());
+            }
+            nextRefresh = syncContext.schedule(this::resolve, refreshMillis, TimeUnit.MILLISECONDS, scheduler);
+        }
+    }
+}
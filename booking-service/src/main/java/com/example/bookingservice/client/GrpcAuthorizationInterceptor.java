@@ -0,0 +1,52 @@
+package com.example.bookingservice.client;
+
+import com.example.bookingservice.service.JwtService;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+// Same rule as FeignConfig: forward the user's token, or call as the service when there is no request to forward.
+class GrpcAuthorizationInterceptor implements ClientInterceptor {
+
+    static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final ObjectProvider<JwtService> jwtService;
+
+    GrpcAuthorizationInterceptor(ObjectProvider<JwtService> jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    public <Q, R> ClientCall<Q, R> interceptCall(MethodDescriptor<Q, R> method, CallOptions callOptions, Channel next) {
+        // Resolved here, on the caller's thread, where the servlet request is still bound.
+        String authorization = resolveAuthorization();
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<R> responseListener, Metadata headers) {
+                if (authorization != null) {
+                    headers.put(AUTHORIZATION, authorization);
+                }
+                super.start(responseListener, headers);
+            }
+        };
+    }
+
+    private String resolveAuthorization() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            String header = attributes.getRequest().getHeader("Authorization");
+            if (header != null && !header.isEmpty()) {
+                return header;
+            }
+        }
+        JwtService service = jwtService.getIfAvailable();
+        return service != null ? "Bearer " + service.generateServiceToken() : null;
+    }
+}
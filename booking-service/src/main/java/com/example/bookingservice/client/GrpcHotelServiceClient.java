@@ -0,0 +1,196 @@
+package com.example.bookingservice.client;
+
+import com.example.bookingservice.dto.AvailabilityRequestDTO;
+import com.example.bookingservice.dto.RoomChangesDTO;
+import com.example.bookingservice.dto.RoomDTO;
+import com.example.bookingservice.dto.RoomReleaseDTO;
+import com.example.bookingservice.grpc.ConfirmAvailabilityRequest;
+import com.example.bookingservice.grpc.HotelRoomsGrpc;
+import com.example.bookingservice.grpc.RecommendedRoomsRequest;
+import com.example.bookingservice.grpc.ReleaseBatchRequest;
+import com.example.bookingservice.grpc.ReleaseRequest;
+import com.example.bookingservice.grpc.Room;
+import com.example.bookingservice.service.JwtService;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link HotelServiceClient} over hotel-service's gRPC API. Failures are rethrown as the {@link FeignException}
+ * the HTTP client would have raised for the same outcome, so retries and error handling behave the same on both
+ * transports. The change feed has no gRPC twin and stays on HTTP. A {@code discovery:///} target is resolved through
+ * the service registry and calls are spread round-robin over the instances found there.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "app.hotel-client.transport", havingValue = "grpc")
+@DependsOn("discoveryNameResolverProvider")
+public class GrpcHotelServiceClient implements HotelServiceClient {
+
+    private static final String BASE_URL = "grpc://hotel-service/api/rooms";
+
+    private final ManagedChannel channel;
+    private final HotelRoomsGrpc.HotelRoomsBlockingStub stub;
+    private final HotelServiceClient httpClient;
+    private final AdaptiveTimeouts adaptiveTimeouts;
+    private final long deadlineMillis;
+
+    @Autowired
+    public GrpcHotelServiceClient(@Qualifier("hotelServiceFeignClient") HotelServiceClient httpClient,
+                                  ObjectProvider<JwtService> jwtService,
+                                  AdaptiveTimeouts adaptiveTimeouts,
+                                  @Value("${app.hotel-client.grpc.target:discovery:///hotel-service}") String target,
+                                  @Value("${app.hotel-client.grpc.deadline-ms:5000}") long deadlineMillis) {
+        this(NettyChannelBuilder.forTarget(target).defaultLoadBalancingPolicy("round_robin").usePlaintext().build(),
+                httpClient, jwtService, adaptiveTimeouts, deadlineMillis);
+    }
+
+    GrpcHotelServiceClient(ManagedChannel channel, HotelServiceClient httpClient,
+                           ObjectProvider<JwtService> jwtService, AdaptiveTimeouts adaptiveTimeouts,
+                           long deadlineMillis) {
+        this.channel = channel;
+        this.stub = HotelRoomsGrpc.newBlockingStub(channel)
+                .withInterceptors(new GrpcAuthorizationInterceptor(jwtService));
+        this.httpClient = httpClient;
+        this.adaptiveTimeouts = adaptiveTimeouts;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    @Override
+    public List<RoomDTO> getRecommendedRooms() {
+        return call("getRecommendedRooms", Request.HttpMethod.GET, "/recommend", stub -> stub
+                .getRecommendedRooms(RecommendedRoomsRequest.getDefaultInstance())
+                .getRoomsList().stream()
+                .map(GrpcHotelServiceClient::toDto)
+                .toList());
+    }
+
+    @Override
+    public RoomChangesDTO getRoomChanges(long sinceVersion, int limit, long afterId, long snapshotVersion) {
+        return httpClient.getRoomChanges(sinceVersion, limit, afterId, snapshotVersion);
+    }
+
+    @Override
+    public Boolean confirmAvailability(Long id, AvailabilityRequestDTO request) {
+        ConfirmAvailabilityRequest.Builder message = ConfirmAvailabilityRequest.newBuilder().setRoomId(id);
+        if (request.getStartDate() != null) {
+            message.setStartEpochDay(request.getStartDate().toEpochDay());
+        }
+        if (request.getEndDate() != null) {
+            message.setEndEpochDay(request.getEndDate().toEpochDay());
+        }
+        if (request.getCorrelationId() != null) {
+            message.setCorrelationId(request.getCorrelationId());
+        }
+        return call("confirmAvailability", Request.HttpMethod.POST, "/" + id + "/confirm-availability",
+                stub -> stub.confirmAvailability(message.build()).getAvailable());
+    }
+
+    @Override
+    public void releaseTemporaryLock(Long id, String correlationId) {
+        call("releaseTemporaryLock", Request.HttpMethod.POST, "/" + id + "/release",
+                stub -> stub.releaseTemporaryLock(toMessage(id, correlationId)));
+    }
+
+    @Override
+    public Integer releaseTemporaryLocks(List<RoomReleaseDTO> releases) {
+        ReleaseBatchRequest.Builder batch = ReleaseBatchRequest.newBuilder();
+        releases.forEach(release -> batch.addReleases(toMessage(release.getRoomId(), release.getCorrelationId())));
+        return call("releaseTemporaryLocks", Request.HttpMethod.POST, "/release-batch",
+                stub -> stub.releaseTemporaryLocks(batch.build()).getReleased());
+    }
+
+    // The deadline follows the same per-method adaptive timeout as the HTTP client.
+    private <T> T call(String name, Request.HttpMethod method, String path,
+                       Function<HotelRoomsGrpc.HotelRoomsBlockingStub, T> rpc) {
+        long timeoutMillis = adaptiveTimeouts.timeoutMillis(name, deadlineMillis);
+        long started = System.nanoTime();
+        try {
+            T result = rpc.apply(stub.withDeadlineAfter(timeoutMillis, TimeUnit.MILLISECONDS));
+            adaptiveTimeouts.recordLatency(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return result;
+        } catch (StatusRuntimeException e) {
+            if (e.getStatus().getCode() == Status.Code.DEADLINE_EXCEEDED) {
+                adaptiveTimeouts.recordTimeout(name, timeoutMillis);
+            }
+            throw toFeignException(method, path, e);
+        }
+    }
+
+    static FeignException toFeignException(Request.HttpMethod method, String path, StatusRuntimeException e) {
+        int status = switch (e.getStatus().getCode()) {
+            case UNAUTHENTICATED -> 401;
+            case PERMISSION_DENIED -> 403;
+            case NOT_FOUND -> 404;
+            case INVALID_ARGUMENT, FAILED_PRECONDITION, OUT_OF_RANGE -> 400;
+            case ALREADY_EXISTS, ABORTED -> 409;
+            case RESOURCE_EXHAUSTED -> 429;
+            case UNIMPLEMENTED -> 501;
+            case UNAVAILABLE -> 503;
+            case DEADLINE_EXCEEDED -> 504;
+            default -> 500;
+        };
+        log.warn("gRPC call {} {} failed: {}", method, path, e.getStatus());
+        Request request = Request.create(method, BASE_URL + path, Map.of(), null, StandardCharsets.UTF_8, null);
+        String reason = e.getStatus().getDescription() != null ? e.getStatus().getDescription() : e.getStatus().getCode().name();
+        Response response = Response.builder()
+                .status(status)
+                .reason(reason)
+                .request(request)
+                .headers(Map.of())
+                .build();
+        FeignException exception = FeignException.errorStatus("HotelServiceClient#" + path, response);
+        exception.initCause(e);
+        return exception;
+    }
+
+    private static ReleaseRequest toMessage(Long roomId, String correlationId) {
+        ReleaseRequest.Builder message = ReleaseRequest.newBuilder();
+        if (roomId != null) {
+            message.setRoomId(roomId);
+        }
+        if (correlationId != null) {
+            message.setCorrelationId(correlationId);
+        }
+        return message.build();
+    }
+
+    private static RoomDTO toDto(Room room) {
+        return RoomDTO.builder()
+                .id(room.getId())
+                .number(room.getNumber())
+                .available(room.getAvailable())
+                .timesBooked(room.getTimesBooked())
+                .hotelId(room.getHotelId())
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        channel.shutdown();
+        if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+            channel.shutdownNow();
+        }
+    }
+}
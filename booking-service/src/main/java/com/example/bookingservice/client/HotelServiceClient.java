@@ -1,8 +1,11 @@
 package com.example.bookingservice.client;
 
 import com.example.bookingservice.config.FeignConfig;
+import com.example.bookingservice.config.HotelServiceFeignConfig;
 import com.example.bookingservice.dto.AvailabilityRequestDTO;
+import com.example.bookingservice.dto.RoomChangesDTO;
 import com.example.bookingservice.dto.RoomDTO;
+import com.example.bookingservice.dto.RoomReleaseDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
@@ -10,17 +13,26 @@ import java.util.List;
 
 @FeignClient(
         name = "hotel-service",
+        qualifiers = "hotelServiceFeignClient",
+        primary = false,
         path = "/api/rooms",
-        configuration = FeignConfig.class
+        configuration = {FeignConfig.class, HotelServiceFeignConfig.class}
 )
 public interface HotelServiceClient {
 
     @GetMapping("/recommend")
     List<RoomDTO> getRecommendedRooms();
 
+    @GetMapping("/changes")
+    RoomChangesDTO getRoomChanges(@RequestParam long sinceVersion, @RequestParam int limit,
+                                  @RequestParam long afterId, @RequestParam long snapshotVersion);
+
     @PostMapping("/{id}/confirm-availability")
     Boolean confirmAvailability(@PathVariable Long id, @RequestBody AvailabilityRequestDTO request);
 
     @PostMapping("/{id}/release")
     void releaseTemporaryLock(@PathVariable Long id, @RequestParam String correlationId);
+
+    @PostMapping("/release-batch")
+    Integer releaseTemporaryLocks(@RequestBody List<RoomReleaseDTO> releases);
 }
\ No newline at end of file
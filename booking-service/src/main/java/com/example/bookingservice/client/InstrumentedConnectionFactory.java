@@ -0,0 +1,78 @@
+package com.example.bookingservice.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.io.ManagedHttpClientConnection;
+import org.apache.hc.core5.http.io.HttpConnectionFactory;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connection factory for a pooled HC5 client that times each connection: {@code connect} from creation to the first
+ * request it carries (DNS, TCP and TLS handshake), {@code lifetime} from creation until the pool closes it.
+ */
+public class InstrumentedConnectionFactory implements HttpConnectionFactory<ManagedHttpClientConnection> {
+
+    private final HttpConnectionFactory<ManagedHttpClientConnection> delegate;
+    private final Timer connectTimer;
+    private final Timer lifetimeTimer;
+
+    public InstrumentedConnectionFactory(MeterRegistry meterRegistry, String clientName) {
+        this(ManagedHttpClientConnectionFactory.INSTANCE, meterRegistry, clientName);
+    }
+
+    InstrumentedConnectionFactory(HttpConnectionFactory<ManagedHttpClientConnection> delegate,
+                                  MeterRegistry meterRegistry, String clientName) {
+        this.delegate = delegate;
+        this.connectTimer = Timer.builder("http.client.connection.connect")
+                .description("Time to open a pooled connection, up to its first request")
+                .tag("client", clientName)
+                .register(meterRegistry);
+        this.lifetimeTimer = Timer.builder("http.client.connection.lifetime")
+                .description("How long pooled connections stayed open")
+                .tag("client", clientName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ManagedHttpClientConnection createConnection(Socket socket) throws IOException {
+        ManagedHttpClientConnection connection = delegate.createConnection(socket);
+        long createdAt = System.nanoTime();
+        AtomicBoolean connected = new AtomicBoolean();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        return (ManagedHttpClientConnection) Proxy.newProxyInstance(
+                ManagedHttpClientConnection.class.getClassLoader(),
+                new Class<?>[]{ManagedHttpClientConnection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "sendRequestHeader" -> {
+                            if (connected.compareAndSet(false, true)) {
+                                connectTimer.record(System.nanoTime() - createdAt, TimeUnit.NANOSECONDS);
+                            }
+                        }
+                        case "close" -> {
+                            if (closed.compareAndSet(false, true)) {
+                                lifetimeTimer.record(System.nanoTime() - createdAt, TimeUnit.NANOSECONDS);
+                            }
+                        }
+                        case "toString" -> {
+                            return connection.toString();
+                        }
+                        default -> {
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.bookingservice.client;
+
+import java.util.Arrays;
+
+/**
+ * Latency histogram over a sliding time window. The window is a ring of {@code slots} sub-histograms, each covering
+ * {@code windowMillis / slots}; a slot is cleared when the ring comes back to it, so old samples age out in steps.
+ * Buckets grow by 20%, so a percentile is reported as the upper bound of its bucket and is never under-estimated.
+ */
+final class LatencyWindow {
+
+    private static final long[] BOUNDS = bounds(120_000);
+
+    private final long slotMillis;
+    private final long[][] counts;
+    private final long[] slotEpochs;
+
+    LatencyWindow(long windowMillis, int slots) {
+        this.slotMillis = Math.max(1, windowMillis / slots);
+        this.counts = new long[slots][BOUNDS.length];
+        this.slotEpochs = new long[slots];
+        Arrays.fill(slotEpochs, Long.MIN_VALUE);
+    }
+
+    synchronized void record(long millis, long now) {
+        long epoch = now / slotMillis;
+        int slot = (int) Math.floorMod(epoch, (long) counts.length);
+        if (slotEpochs[slot] != epoch) {
+            Arrays.fill(counts[slot], 0);
+            slotEpochs[slot] = epoch;
+        }
+        counts[slot][bucket(millis)]++;
+    }
+
+    synchronized long count(long now) {
+        long total = 0;
+        for (long count : merged(now)) {
+            total += count;
+        }
+        return total;
+    }
+
+    /** Upper bound of the bucket holding the given quantile, or 0 when the window is empty. */
+    synchronized long percentile(double quantile, long now) {
+        long[] merged = merged(now);
+        long total = 0;
+        for (long count : merged) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < merged.length; i++) {
+            seen += merged[i];
+            if (seen >= rank) {
+                return BOUNDS[i];
+            }
+        }
+        return BOUNDS[BOUNDS.length - 1];
+    }
+
+    private long[] merged(long now) {
+        long oldest = now / slotMillis - counts.length + 1;
+        long[] merged = new long[BOUNDS.length];
+        for (int slot = 0; slot < counts.length; slot++) {
+            if (slotEpochs[slot] >= oldest) {
+                for (int i = 0; i < merged.length; i++) {
+                    merged[i] += counts[slot][i];
+                }
+            }
+        }
+        return merged;
+    }
+
+    private static int bucket(long millis) {
+        int index = Arrays.binarySearch(BOUNDS, millis);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Math.min(index, BOUNDS.length - 1);
+    }
+
+    private static long[] bounds(long max) {
+        long[] bounds = new long[128];
+        int size = 0;
+        for (long bound = 1; bound < max; bound = Math.max(bound + 1, (long) Math.ceil(bound * 1.2))) {
+            bounds[size++] = bound;
+        }
+        bounds[size++] = max;
+        return Arrays.copyOf(bounds, size);
+    }
+}
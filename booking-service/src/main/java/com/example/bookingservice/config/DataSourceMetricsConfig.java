@@ -0,0 +1,31 @@
+package com.example.bookingservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DataSourceMetricsConfig {
+
+    // Spring Boot already publishes hikaricp.connections.usage (hold time) and .acquire; this adds active/max per pool.
+    @Bean
+    public MeterBinder connectionPoolUtilisation(ObjectProvider<HikariDataSource> dataSources) {
+        return registry -> dataSources.orderedStream().forEach(dataSource ->
+                Gauge.builder("hikaricp.connections.utilisation", dataSource, DataSourceMetricsConfig::utilisation)
+                        .description("Share of the pool's maximum size currently checked out")
+                        .tag("pool", String.valueOf(dataSource.getPoolName()))
+                        .register(registry));
+    }
+
+    private static double utilisation(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0;
+        }
+        return (double) pool.getActiveConnections() / dataSource.getMaximumPoolSize();
+    }
+}
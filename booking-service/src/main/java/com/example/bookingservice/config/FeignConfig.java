@@ -1,7 +1,9 @@
 package com.example.bookingservice.config;
 
+import com.example.bookingservice.service.JwtService;
 import feign.RequestInterceptor;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -11,7 +13,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 public class FeignConfig {
 
     @Bean
-    public RequestInterceptor authorizationHeaderInterceptor() {
+    public RequestInterceptor authorizationHeaderInterceptor(ObjectProvider<JwtService> jwtService) {
         return requestTemplate -> {
             try {
                 ServletRequestAttributes requestAttributes =
@@ -24,13 +26,19 @@ public class FeignConfig {
                     if (authorizationHeader != null && !authorizationHeader.isEmpty()) {
                         requestTemplate.header("Authorization", authorizationHeader);
                         System.out.println("Feign: Added Authorization header: " + authorizationHeader.substring(0, Math.min(20, authorizationHeader.length())) + "...");
-                    } else {
-                        System.out.println("Feign: No Authorization header found");
+                        return;
                     }
+                    System.out.println("Feign: No Authorization header found");
+                }
+
+                // No user request to forward (e.g. the outbox relay), so call as the service itself.
+                JwtService service = jwtService.getIfAvailable();
+                if (service != null) {
+                    requestTemplate.header("Authorization", "Bearer " + service.generateServiceToken());
                 }
             } catch (Exception e) {
                 System.err.println("Feign: INFO setting Authorization header: " + e.getMessage());
             }
         };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package com.example.bookingservice.config;
+
+import com.example.bookingservice.client.AdaptiveTimeoutClient;
+import com.example.bookingservice.client.AdaptiveTimeouts;
+import com.example.bookingservice.client.InstrumentedConnectionFactory;
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalancedRetryFactory;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.LoadBalancerFeignRequestTransformer;
+import org.springframework.cloud.openfeign.loadbalancer.RetryableFeignBlockingLoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+
+/**
+ * Transport for {@code HotelServiceClient} only: a pooled Apache HttpClient 5 in place of Feign's HttpURLConnection,
+ * sized by {@code app.hotel-client.http.*}. Not a {@code @Configuration}, so it is picked up through the client's
+ * {@code configuration} attribute alone and other downstreams can get their own pool.
+ */
+public class HotelServiceFeignConfig {
+
+    static final String CLIENT_NAME = "hotel-service";
+
+    @Bean
+    public PoolingHttpClientConnectionManager hotelServiceConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${app.hotel-client.http.max-connections:50}") int maxConnections,
+            @Value("${app.hotel-client.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${app.hotel-client.http.time-to-live-ms:300000}") long timeToLiveMillis,
+            @Value("${app.hotel-client.http.validate-after-inactivity-ms:2000}") long validateAfterInactivityMillis) {
+        return connectionManager(meterRegistry, maxConnections, maxConnectionsPerRoute, timeToLiveMillis,
+                validateAfterInactivityMillis);
+    }
+
+    @Bean
+    public CloseableHttpClient hotelServiceHttpClient(
+            PoolingHttpClientConnectionManager hotelServiceConnectionManager,
+            @Value("${app.hotel-client.http.connection-request-timeout-ms:1000}") long connectionRequestTimeoutMillis,
+            @Value("${app.hotel-client.http.idle-timeout-ms:30000}") long idleTimeoutMillis) {
+        return httpClient(hotelServiceConnectionManager, connectionRequestTimeoutMillis, idleTimeoutMillis);
+    }
+
+    // Same wrapping the OpenFeign auto-configuration applies, so instances still come from the load balancer.
+    // Each attempt against an instance gets its method's adaptive read timeout.
+    @Bean
+    public Client feignClient(CloseableHttpClient hotelServiceHttpClient,
+                              AdaptiveTimeouts adaptiveTimeouts,
+                              LoadBalancerClient loadBalancerClient,
+                              LoadBalancerClientFactory loadBalancerClientFactory,
+                              ObjectProvider<LoadBalancedRetryFactory> retryFactory,
+                              List<LoadBalancerFeignRequestTransformer> transformers) {
+        Client delegate = new AdaptiveTimeoutClient(new ApacheHttp5Client(hotelServiceHttpClient), adaptiveTimeouts);
+        LoadBalancedRetryFactory retries = retryFactory.getIfAvailable();
+        if (retries != null) {
+            return new RetryableFeignBlockingLoadBalancerClient(delegate, loadBalancerClient, retries,
+                    loadBalancerClientFactory, transformers);
+        }
+        return new FeignBlockingLoadBalancerClient(delegate, loadBalancerClient, loadBalancerClientFactory, transformers);
+    }
+
+    static PoolingHttpClientConnectionManager connectionManager(MeterRegistry meterRegistry, int maxConnections,
+                                                                int maxConnectionsPerRoute, long timeToLiveMillis,
+                                                                long validateAfterInactivityMillis) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMillis))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMillis))
+                        .build())
+                .setConnectionFactory(new InstrumentedConnectionFactory(meterRegistry, CLIENT_NAME))
+                .build();
+        // httpcomponents.httpclient.pool.total.max/.total.connections{state}/.total.pending/.route.max.default
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, CLIENT_NAME).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    // Connect and read timeouts come from Feign's options on every request; only the pool wait is set here.
+    static CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager,
+                                          long connectionRequestTimeoutMillis, long idleTimeoutMillis) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMillis))
+                        .build())
+                .disableCookieManagement()
+                .disableAutomaticRetries()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeoutMillis))
+                .build();
+    }
+}
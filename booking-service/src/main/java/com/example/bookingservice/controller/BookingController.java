@@ -4,6 +4,7 @@ import com.example.bookingservice.dto.BookingDTO;
 import com.example.bookingservice.dto.BookingRequestDTO;
 import com.example.bookingservice.dto.UserShortDTO;
 import com.example.bookingservice.service.BookingService;
+import com.example.bookingservice.service.IdempotencyStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -16,20 +17,32 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final BookingService bookingService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
     @PreAuthorize("hasRole('USER')")
     public BookingDTO createBooking(
             @RequestBody BookingRequestDTO request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal UserShortDTO user) {
-        return bookingService.createBooking(request, user.getId());
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return bookingService.createBooking(request, user.getId());
+        }
+        return idempotencyStore.execute(user.getId(), idempotencyKey, request,
+                () -> bookingService.createBooking(request, user.getId()));
     }
 
     @GetMapping
     @PreAuthorize("hasRole('USER')")
     public List<BookingDTO> getUserBookings(
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             @AuthenticationPrincipal UserShortDTO user) {
+        if (includeArchived) {
+            return bookingService.getUserBookingsIncludingArchived(user.getId());
+        }
         return bookingService.getUserBookings(user.getId());
     }
 
@@ -0,0 +1,20 @@
+package com.example.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingRequestedDTO {
+    private String correlationId;
+    private Long bookingId;
+    private Long roomId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
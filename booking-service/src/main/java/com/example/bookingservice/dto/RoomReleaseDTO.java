@@ -0,0 +1,15 @@
+package com.example.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomReleaseDTO {
+    private Long roomId;
+    private String correlationId;
+}
@@ -14,7 +14,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_room_status_dates", columnList = "room_id, status, start_date, end_date"),
+        @Index(name = "idx_bookings_user_created", columnList = "user_id, created_at DESC"),
+        @Index(name = "idx_bookings_correlation_id", columnList = "correlation_id"),
+        @Index(name = "idx_bookings_status_hold_expires", columnList = "status, hold_expires_at"),
+        @Index(name = "idx_bookings_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_bookings_end_date", columnList = "end_date")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -45,6 +52,10 @@ public class Booking {
     @Column(name = "correlation_id")
     private String correlationId;
 
+    // Lease on a PENDING booking's hotel-side hold; HoldReaper cancels the booking once it lapses.
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     public enum BookingStatus {
         PENDING, CONFIRMED, CANCELLED
     }
@@ -0,0 +1,179 @@
+package com.example.bookingservice.journal;
+
+import com.example.bookingservice.entity.Booking;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory view of confirmed stays per room, rebuilt on startup. Once marked authoritative it holds every
+ * confirmed stay that has not ended, so a miss lets the caller skip the database conflict check; the conditional
+ * confirm still guards against anything committed since. Until then, or after a change failed to journal, it
+ * answers nothing and callers fall back to the database.
+ */
+@Component
+public class BookingConflictIndex {
+
+    private final Map<Long, RoomStays> rooms = new HashMap<>();
+    private final Map<Long, Stay> byBooking = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean authoritative;
+
+    /** True only if the index is authoritative and holds no stay overlapping [startDate, endDate). */
+    public boolean isDefinitelyFree(Long roomId, LocalDate startDate, LocalDate endDate) {
+        return authoritative && !hasConflict(roomId, startDate, endDate);
+    }
+
+    public boolean hasConflict(Long roomId, LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            RoomStays roomStays = rooms.get(roomId);
+            if (roomStays == null) {
+                return false;
+            }
+
+            long from = startDate.toEpochDay();
+            long to = endDate.toEpochDay();
+            // Any stay overlapping [from, to) starts before `to` and no earlier than `from - longest stay`.
+            for (List<Stay> stays : roomStays.byStart.subMap(from - roomStays.maxLength, false, to, false).values()) {
+                for (Stay stay : stays) {
+                    if (stay.startDay() < to && stay.endDay() > from) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isAuthoritative() {
+        return authoritative;
+    }
+
+    public void markAuthoritative() {
+        authoritative = true;
+    }
+
+    public void markStale() {
+        authoritative = false;
+    }
+
+    public void apply(JournalRecord record) {
+        lock.writeLock().lock();
+        try {
+            if (record.status() == Booking.BookingStatus.CONFIRMED) {
+                add(new Stay(record.bookingId(), record.roomId(),
+                        record.startDate().toEpochDay(), record.endDate().toEpochDay()));
+            } else {
+                remove(record.bookingId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void restore(Collection<Stay> stays) {
+        lock.writeLock().lock();
+        try {
+            rooms.clear();
+            byBooking.clear();
+            stays.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAll(Collection<Long> bookingIds) {
+        lock.writeLock().lock();
+        try {
+            bookingIds.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops stays that ended on or before {@code today}; bookings cannot start in the past, so they never conflict. */
+    public int pruneEndedBy(LocalDate today) {
+        long day = today.toEpochDay();
+        lock.writeLock().lock();
+        try {
+            List<Long> ended = byBooking.values().stream()
+                    .filter(stay -> stay.endDay() <= day)
+                    .map(Stay::bookingId)
+                    .toList();
+            ended.forEach(this::remove);
+            return ended.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Stay> stays() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(byBooking.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byBooking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Stay stay) {
+        remove(stay.bookingId());
+        RoomStays roomStays = rooms.computeIfAbsent(stay.roomId(), id -> new RoomStays());
+        roomStays.byStart.computeIfAbsent(stay.startDay(), day -> new ArrayList<>(1)).add(stay);
+        roomStays.maxLength = Math.max(roomStays.maxLength, stay.endDay() - stay.startDay());
+        byBooking.put(stay.bookingId(), stay);
+    }
+
+    private void remove(long bookingId) {
+        Stay stay = byBooking.remove(bookingId);
+        if (stay == null) {
+            return;
+        }
+
+        RoomStays roomStays = rooms.get(stay.roomId());
+        List<Stay> stays = roomStays.byStart.get(stay.startDay());
+        stays.remove(stay);
+        if (stays.isEmpty()) {
+            roomStays.byStart.remove(stay.startDay());
+        }
+        if (roomStays.byStart.isEmpty()) {
+            rooms.remove(stay.roomId());
+        }
+    }
+
+    public record Stay(long bookingId, long roomId, long startDay, long endDay) {
+
+        public static Stay of(Booking booking) {
+            return new Stay(booking.getId(), booking.getRoomId(),
+                    booking.getStartDate().toEpochDay(), booking.getEndDate().toEpochDay());
+        }
+    }
+
+    private static class RoomStays {
+        // maxLength only grows, which keeps the lookup window conservative after removals.
+        private final NavigableMap<Long, List<Stay>> byStart = new TreeMap<>();
+        private long maxLength;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.bookingservice.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal split into fixed-size memory-mapped segments named after their first sequence number.
+ * Each entry is {@code [int payloadLength][int crc32(payload)][payload]}; the length is written last, so a
+ * zero length marks the end of the data and a CRC mismatch at the tail marks a torn write from a crash.
+ */
+@Slf4j
+public class BookingJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int ENTRY_HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private Path currentSegment;
+    private long lastSequence;
+
+    private BookingJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the journal in {@code directory}, passing every record with a sequence above {@code afterSequence}
+     * to {@code replay} in order, and positions the writer right after the last intact record.
+     */
+    public static BookingJournal open(Path directory, int segmentSize, long afterSequence,
+                                      Consumer<JournalRecord> replay) throws IOException {
+        Files.createDirectories(directory);
+        BookingJournal journal = new BookingJournal(directory, segmentSize);
+        journal.lastSequence = afterSequence;
+
+        List<Path> segments = journal.segments();
+        for (int i = 0; i < segments.size(); i++) {
+            boolean last = i == segments.size() - 1;
+            journal.replaySegment(segments.get(i), last, afterSequence, replay);
+        }
+
+        if (journal.buffer == null) {
+            journal.openSegment(journal.lastSequence + 1);
+        }
+        return journal;
+    }
+
+    public synchronized JournalRecord append(JournalRecord record) throws IOException {
+        JournalRecord sequenced = record.withSequence(lastSequence + 1);
+        int payloadSize = sequenced.payloadSize();
+        if (ENTRY_HEADER_BYTES + payloadSize > segmentSize) {
+            throw new IllegalArgumentException("Journal record of " + payloadSize + " bytes does not fit a segment");
+        }
+        if (buffer.remaining() < ENTRY_HEADER_BYTES + payloadSize) {
+            rollSegment(sequenced.sequence());
+        }
+
+        int start = buffer.position();
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(start + ENTRY_HEADER_BYTES);
+        sequenced.writeTo(payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(start + ENTRY_HEADER_BYTES).limit(start + ENTRY_HEADER_BYTES + payloadSize));
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, payloadSize);
+        buffer.position(start + ENTRY_HEADER_BYTES + payloadSize);
+
+        lastSequence = sequenced.sequence();
+        return sequenced;
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    /**
+     * Deletes closed segments whose records all have sequence numbers at or below {@code sequence},
+     * i.e. segments fully covered by a snapshot. The segment being written is never deleted.
+     */
+    public synchronized int deleteSegmentsCoveredBy(long sequence) throws IOException {
+        List<Path> segments = segments();
+        int deleted = 0;
+        for (int i = 0; i < segments.size() - 1; i++) {
+            Path segment = segments.get(i);
+            if (segment.equals(currentSegment) || firstSequence(segments.get(i + 1)) > sequence + 1) {
+                break;
+            }
+            Files.deleteIfExists(segment);
+            deleted++;
+        }
+        return deleted;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void replaySegment(Path segment, boolean last, long afterSequence,
+                               Consumer<JournalRecord> replay) throws IOException {
+        FileChannel segmentChannel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer segmentBuffer = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentChannel.size());
+
+        int position = 0;
+        while (position + ENTRY_HEADER_BYTES <= segmentBuffer.limit()) {
+            int length = segmentBuffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+
+            JournalRecord record = readEntry(segmentBuffer, position, length);
+            if (record == null) {
+                if (!last) {
+                    segmentChannel.close();
+                    throw new IllegalStateException("Corrupt journal entry at offset " + position + " in " + segment);
+                }
+                log.warn("Discarding torn journal tail at offset {} in {}", position, segment);
+                zeroFrom(segmentBuffer, position);
+                break;
+            }
+
+            if (record.sequence() > afterSequence) {
+                replay.accept(record);
+            }
+            lastSequence = Math.max(lastSequence, record.sequence());
+            position += ENTRY_HEADER_BYTES + length;
+        }
+
+        if (last) {
+            channel = segmentChannel;
+            buffer = segmentBuffer;
+            buffer.position(position);
+            currentSegment = segment;
+        } else {
+            segmentChannel.close();
+        }
+    }
+
+    private JournalRecord readEntry(MappedByteBuffer segmentBuffer, int position, int length) {
+        int payloadStart = position + ENTRY_HEADER_BYTES;
+        if (length < 0 || payloadStart + length > segmentBuffer.limit()) {
+            return null;
+        }
+
+        ByteBuffer payload = segmentBuffer.duplicate().position(payloadStart).limit(payloadStart + length);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != segmentBuffer.getInt(position + 4)) {
+            return null;
+        }
+        return JournalRecord.readFrom(payload);
+    }
+
+    private void rollSegment(long firstSequence) throws IOException {
+        buffer.force();
+        channel.close();
+        openSegment(firstSequence);
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        currentSegment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        channel = FileChannel.open(currentSegment,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        log.info("Opened journal segment {}", currentSegment.getFileName());
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList());
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void zeroFrom(MappedByteBuffer segmentBuffer, int position) {
+        for (int i = position; i < segmentBuffer.limit(); i++) {
+            if (segmentBuffer.get(i) != 0) {
+                segmentBuffer.put(i, (byte) 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.bookingservice.journal;
+
+import com.example.bookingservice.repository.BookingRepository;
+import com.example.bookingservice.service.BookingStatusChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@link BookingConflictIndex} durable across restarts: committed status changes are appended to the
+ * journal, and a periodic snapshot bounds how much of it has to be replayed on startup.
+ * The database remains the source of truth. The index is rebuilt from it instead of the journal when the
+ * journal cannot be trusted: outside the {@code durable} profile the database is recreated on every start, and
+ * after a failed append the journal misses a change.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.journal.enabled", havingValue = "true")
+public class BookingJournalService {
+
+    private static final String STALE_MARKER = "index.stale";
+
+    private final BookingConflictIndex conflictIndex;
+    private final BookingRepository bookingRepository;
+    private final boolean durableDatabase;
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+    private final long snapshotEveryRecords;
+    private final BookingSnapshotStore snapshotStore;
+
+    private BookingJournal journal;
+    private long snapshotSequence;
+
+    public BookingJournalService(Environment environment,
+                                 BookingConflictIndex conflictIndex,
+                                 BookingRepository bookingRepository,
+                                 @Value("${app.journal.dir:./data/journal}") String directory,
+                                 @Value("${app.journal.segment-size-bytes:16777216}") int segmentSize,
+                                 @Value("${app.journal.force-on-append:false}") boolean forceOnAppend,
+                                 @Value("${app.journal.snapshot-every-records:10000}") long snapshotEveryRecords) {
+        this.conflictIndex = conflictIndex;
+        this.bookingRepository = bookingRepository;
+        this.durableDatabase = environment.acceptsProfiles(Profiles.of("durable"));
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.forceOnAppend = forceOnAppend;
+        this.snapshotEveryRecords = snapshotEveryRecords;
+        this.snapshotStore = new BookingSnapshotStore(this.directory);
+    }
+
+    @PostConstruct
+    public void recover() throws IOException {
+        long started = System.currentTimeMillis();
+
+        if (!durableDatabase || Files.exists(directory.resolve(STALE_MARKER))) {
+            rebuildFromDatabase();
+        } else {
+            replayJournal();
+        }
+        int pruned = conflictIndex.pruneEndedBy(LocalDate.now());
+        conflictIndex.markAuthoritative();
+
+        log.info("Recovered booking conflict index in {} ms: {} confirmed stays, {} ended stays pruned",
+                System.currentTimeMillis() - started, conflictIndex.size(), pruned);
+    }
+
+    // Only committed changes reach the journal, so a rolled-back booking never shows up after a restart.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(BookingStatusChangedEvent event) {
+        try {
+            synchronized (journal) {
+                JournalRecord record = journal.append(JournalRecord.of(event));
+                if (forceOnAppend) {
+                    journal.force();
+                }
+                conflictIndex.apply(record);
+            }
+        } catch (IOException e) {
+            // The booking is already committed but the index and journal now miss it: stop trusting both until the
+            // next start rebuilds them from the database.
+            conflictIndex.markStale();
+            markJournalStale();
+            log.error("Failed to journal status change of booking {}, conflict index disabled", event.bookingId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.journal.snapshot-interval-ms:60000}")
+    public void snapshotIfNeeded() {
+        conflictIndex.pruneEndedBy(LocalDate.now());
+        if (journal.lastSequence() - snapshotSequence >= snapshotEveryRecords) {
+            snapshot();
+        }
+    }
+
+    public synchronized void snapshot() {
+        long sequence;
+        List<BookingConflictIndex.Stay> stays;
+        // Appends apply to the index under the journal lock, so the sequence and the index copy describe the same point in time.
+        synchronized (journal) {
+            sequence = journal.lastSequence();
+            stays = conflictIndex.stays();
+        }
+        if (sequence == snapshotSequence) {
+            return;
+        }
+
+        try {
+            journal.force();
+            Path written = snapshotStore.write(sequence, stays);
+            snapshotSequence = sequence;
+            int deleted = journal.deleteSegmentsCoveredBy(sequence);
+            log.info("Wrote booking snapshot {} with {} stays, deleted {} journal segments",
+                    written.getFileName(), stays.size(), deleted);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write booking snapshot", e);
+        }
+    }
+
+    private void replayJournal() throws IOException {
+        BookingSnapshotStore.Snapshot snapshot = snapshotStore.loadLatest()
+                .orElse(new BookingSnapshotStore.Snapshot(0, List.of()));
+        conflictIndex.restore(snapshot.stays());
+        snapshotSequence = snapshot.lastSequence();
+
+        long[] replayed = {0};
+        journal = BookingJournal.open(directory, segmentSize, snapshot.lastSequence(), record -> {
+            conflictIndex.apply(record);
+            replayed[0]++;
+        });
+        log.info("Replayed booking journal: snapshot at sequence {}, {} records replayed",
+                snapshot.lastSequence(), replayed[0]);
+    }
+
+    // The marker is written first and removed last, so a crash halfway through rebuilds again on the next start.
+    private void rebuildFromDatabase() throws IOException {
+        Files.createDirectories(directory);
+        Path marker = directory.resolve(STALE_MARKER);
+        if (!Files.exists(marker)) {
+            Files.createFile(marker);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> !file.equals(marker)).toList()) {
+                Files.delete(file);
+            }
+        }
+
+        List<BookingConflictIndex.Stay> stays = bookingRepository.findConfirmedEndingAfter(LocalDate.now()).stream()
+                .map(BookingConflictIndex.Stay::of)
+                .toList();
+        conflictIndex.restore(stays);
+        snapshotStore.write(0, stays);
+        snapshotSequence = 0;
+        journal = BookingJournal.open(directory, segmentSize, 0, record -> { });
+
+        Files.delete(marker);
+        log.info("Rebuilt booking conflict index from the database");
+    }
+
+    private void markJournalStale() {
+        try {
+            Path marker = directory.resolve(STALE_MARKER);
+            if (!Files.exists(marker)) {
+                Files.createFile(marker);
+            }
+        } catch (IOException e) {
+            log.error("Failed to mark booking journal as stale", e);
+        }
+    }
+
+    public long lastSequence() {
+        return journal.lastSequence();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        snapshot();
+        journal.close();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.bookingservice.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Point-in-time copy of the confirmed stays, written next to the journal so recovery only replays the tail.
+ * A snapshot is written to a temp file and atomically renamed; the previous one is kept as a fallback.
+ */
+@Slf4j
+public class BookingSnapshotStore {
+
+    private static final int MAGIC = 0x424B534E; // "BKSN"
+    private static final int VERSION = 1;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int SNAPSHOTS_TO_KEEP = 2;
+
+    private final Path directory;
+
+    public BookingSnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path write(long lastSequence, Collection<BookingConflictIndex.Stay> stays) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, lastSequence, SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+        CRC32 crc = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lastSequence);
+            out.writeInt(stays.size());
+            for (BookingConflictIndex.Stay stay : stays) {
+                out.writeLong(stay.bookingId());
+                out.writeLong(stay.roomId());
+                out.writeLong(stay.startDay());
+                out.writeLong(stay.endDay());
+            }
+            out.flush();
+            // The checksum covers everything above and is appended outside the checked stream.
+            new DataOutputStream(file).writeLong(crc.getValue());
+        }
+
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        deleteOldSnapshots();
+        return target;
+    }
+
+    /**
+     * Returns the newest snapshot that passes its checksum, skipping damaged ones.
+     */
+    public Optional<Snapshot> loadLatest() throws IOException {
+        List<Path> snapshots = snapshots();
+        Collections.reverse(snapshots);
+        for (Path path : snapshots) {
+            try {
+                return Optional.of(read(path));
+            } catch (IOException | IllegalStateException e) {
+                log.warn("Skipping unreadable snapshot {}: {}", path.getFileName(), e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Snapshot read(Path path) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path))) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(file, crc));
+            if (in.readInt() != MAGIC) {
+                throw new IllegalStateException("Not a booking snapshot");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported snapshot version " + version);
+            }
+            long lastSequence = in.readLong();
+            int count = in.readInt();
+            List<BookingConflictIndex.Stay> stays = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                stays.add(new BookingConflictIndex.Stay(in.readLong(), in.readLong(), in.readLong(), in.readLong()));
+            }
+            long expected = crc.getValue();
+            if (new DataInputStream(file).readLong() != expected) {
+                throw new IllegalStateException("Snapshot checksum mismatch");
+            }
+            return new Snapshot(lastSequence, stays);
+        }
+    }
+
+    private void deleteOldSnapshots() throws IOException {
+        List<Path> snapshots = snapshots();
+        for (int i = 0; i < snapshots.size() - SNAPSHOTS_TO_KEEP; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+
+    private List<Path> snapshots() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                    .toList());
+        }
+    }
+
+    public record Snapshot(long lastSequence, List<BookingConflictIndex.Stay> stays) {
+    }
+}
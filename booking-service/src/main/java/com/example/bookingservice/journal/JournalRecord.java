@@ -0,0 +1,101 @@
+package com.example.bookingservice.journal;
+
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.service.BookingStatusChangedEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * One booking state change as stored in the journal. The payload layout is fixed:
+ * sequence, bookingId, roomId, userId (8 bytes each), start and end epoch day (4 bytes each),
+ * status code (1 byte), timestamp millis (8 bytes), then a 2-byte length and the UTF-8 correlation id.
+ */
+public record JournalRecord(long sequence,
+                            long bookingId,
+                            long roomId,
+                            long userId,
+                            LocalDate startDate,
+                            LocalDate endDate,
+                            Booking.BookingStatus status,
+                            long timestampMillis,
+                            String correlationId) {
+
+    private static final int FIXED_PAYLOAD_BYTES = 8 + 8 + 8 + 8 + 4 + 4 + 1 + 8 + 2;
+
+    public static JournalRecord of(BookingStatusChangedEvent event) {
+        return new JournalRecord(0,
+                valueOrZero(event.bookingId()),
+                valueOrZero(event.roomId()),
+                valueOrZero(event.userId()),
+                event.startDate(),
+                event.endDate(),
+                event.status(),
+                System.currentTimeMillis(),
+                event.correlationId());
+    }
+
+    public JournalRecord withSequence(long newSequence) {
+        return new JournalRecord(newSequence, bookingId, roomId, userId, startDate, endDate, status, timestampMillis, correlationId);
+    }
+
+    int payloadSize() {
+        return FIXED_PAYLOAD_BYTES + correlationIdBytes().length;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        byte[] correlation = correlationIdBytes();
+        buffer.putLong(sequence);
+        buffer.putLong(bookingId);
+        buffer.putLong(roomId);
+        buffer.putLong(userId);
+        buffer.putInt(Math.toIntExact(startDate.toEpochDay()));
+        buffer.putInt(Math.toIntExact(endDate.toEpochDay()));
+        buffer.put(encode(status));
+        buffer.putLong(timestampMillis);
+        buffer.putShort((short) correlation.length);
+        buffer.put(correlation);
+    }
+
+    static JournalRecord readFrom(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        long bookingId = buffer.getLong();
+        long roomId = buffer.getLong();
+        long userId = buffer.getLong();
+        LocalDate startDate = LocalDate.ofEpochDay(buffer.getInt());
+        LocalDate endDate = LocalDate.ofEpochDay(buffer.getInt());
+        Booking.BookingStatus status = decode(buffer.get());
+        long timestampMillis = buffer.getLong();
+        byte[] correlation = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(correlation);
+        return new JournalRecord(sequence, bookingId, roomId, userId, startDate, endDate, status, timestampMillis,
+                correlation.length == 0 ? null : new String(correlation, StandardCharsets.UTF_8));
+    }
+
+    private byte[] correlationIdBytes() {
+        return correlationId == null ? new byte[0] : correlationId.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Explicit codes so reordering the enum never changes what old journals mean.
+    private static byte encode(Booking.BookingStatus status) {
+        return switch (status) {
+            case PENDING -> 1;
+            case CONFIRMED -> 2;
+            case CANCELLED -> 3;
+        };
+    }
+
+    private static Booking.BookingStatus decode(byte code) {
+        return switch (code) {
+            case 1 -> Booking.BookingStatus.PENDING;
+            case 2 -> Booking.BookingStatus.CONFIRMED;
+            case 3 -> Booking.BookingStatus.CANCELLED;
+            default -> throw new IllegalStateException("Unknown booking status code in journal: " + code);
+        };
+    }
+
+    private static long valueOrZero(Long value) {
+        return value == null ? 0L : value;
+    }
+}
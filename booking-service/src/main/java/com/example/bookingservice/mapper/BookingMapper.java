@@ -2,6 +2,7 @@ package com.example.bookingservice.mapper;
 
 import com.example.bookingservice.dto.BookingDTO;
 import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.BookingArchive;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -15,6 +16,8 @@ public interface BookingMapper {
     @Mapping(source = "user.id", target = "userId")
     BookingDTO toDto(Booking booking);
 
+    BookingDTO fromArchive(BookingArchive bookingArchive);
+
     @Mapping(source = "userId", target = "user.id")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "correlationId", ignore = true)
@@ -0,0 +1,23 @@
+package com.example.bookingservice.messaging;
+
+import com.example.bookingservice.dto.AvailabilityReplyDTO;
+import com.example.bookingservice.service.BookingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.stereotype.Component;
+
+// Bookings whose request or reply is lost are cancelled by HoldReaper once their hold lease runs out.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.saga.enabled", havingValue = "true")
+public class BookingSagaCoordinator {
+
+    private final BookingService bookingService;
+
+    @JmsListener(destination = "${app.saga.reply-queue:booking.availability.replies}",
+            concurrency = "${app.saga.concurrency:1-4}")
+    public void onAvailabilityReply(AvailabilityReplyDTO reply) {
+        bookingService.completeBookingSaga(reply);
+    }
+}
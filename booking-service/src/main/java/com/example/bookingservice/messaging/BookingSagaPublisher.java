@@ -0,0 +1,36 @@
+package com.example.bookingservice.messaging;
+
+import com.example.bookingservice.dto.BookingRequestedDTO;
+import com.example.bookingservice.entity.Booking;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.saga.enabled", havingValue = "true")
+public class BookingSagaPublisher {
+
+    private final JmsTemplate jmsTemplate;
+    private final String requestQueue;
+
+    public BookingSagaPublisher(JmsTemplate jmsTemplate,
+                                @Value("${app.saga.request-queue:booking.availability.requests}") String requestQueue) {
+        this.jmsTemplate = jmsTemplate;
+        this.requestQueue = requestQueue;
+    }
+
+    public void requestAvailability(Booking booking) {
+        jmsTemplate.convertAndSend(requestQueue, BookingRequestedDTO.builder()
+                .correlationId(booking.getCorrelationId())
+                .bookingId(booking.getId())
+                .roomId(booking.getRoomId())
+                .startDate(booking.getStartDate())
+                .endDate(booking.getEndDate())
+                .build());
+        log.info("Published BookingRequested for room {} with correlationId: {}",
+                booking.getRoomId(), booking.getCorrelationId());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.bookingservice.messaging;
+
+import com.example.bookingservice.dto.AvailabilityReplyDTO;
+import com.example.bookingservice.dto.BookingRequestedDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.jms.support.converter.MessageType;
+
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "app.saga.enabled", havingValue = "true")
+public class SagaMessagingConfig {
+
+    // Logical type ids instead of class names, because each service has its own copy of the message classes.
+    public static final String BOOKING_REQUESTED = "BookingRequested";
+    public static final String AVAILABILITY_REPLY = "AvailabilityReply";
+
+    @Bean
+    public MessageConverter sagaMessageConverter(ObjectMapper objectMapper) {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        converter.setTargetType(MessageType.TEXT);
+        converter.setTypeIdPropertyName("_type");
+        converter.setTypeIdMappings(Map.of(
+                BOOKING_REQUESTED, BookingRequestedDTO.class,
+                AVAILABILITY_REPLY, AvailabilityReplyDTO.class));
+        return converter;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.bookingservice.repository;
+
+import com.example.bookingservice.entity.BookingArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingArchiveRepository extends JpaRepository<BookingArchive, Long> {
+
+    List<BookingArchive> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO bookings_archive " +
+            "(id, user_id, room_id, start_date, end_date, status, created_at, correlation_id, archived_at) " +
+            "SELECT b.id, b.user_id, b.room_id, b.start_date, b.end_date, b.status, b.created_at, b.correlation_id, :archivedAt " +
+            "FROM bookings b WHERE b.id IN (:ids)", nativeQuery = true)
+    int copyFromBookings(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
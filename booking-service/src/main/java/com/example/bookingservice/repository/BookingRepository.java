@@ -1,22 +1,55 @@
 package com.example.bookingservice.repository;
 
 import com.example.bookingservice.entity.Booking;
-import feign.Param;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    // EXISTS stops at the first overlapping row found through idx_bookings_room_status_dates instead of counting all of them.
+    String EXISTS_CONFLICTING_BOOKING_SQL = "SELECT EXISTS (SELECT 1 FROM bookings b WHERE " +
+            "b.room_id = :roomId AND " +
+            "b.status = 'CONFIRMED' AND " +
+            "b.start_date < :endDate AND b.end_date > :startDate)";
+
+    // Confirms a PENDING booking only if no other confirmed stay overlaps it, in a single statement.
+    String CONFIRM_IF_NO_CONFLICT_SQL = "UPDATE bookings SET status = 'CONFIRMED' WHERE " +
+            "id = :id AND status = 'PENDING' AND NOT EXISTS (SELECT 1 FROM bookings b WHERE " +
+            "b.room_id = :roomId AND " +
+            "b.status = 'CONFIRMED' AND " +
+            "b.id <> :id AND " +
+            "b.start_date < :endDate AND b.end_date > :startDate)";
+
     List<Booking> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     Optional<Booking> findByIdAndUserId(Long id, Long userId);
 
+    // Row lock so a duplicate saga reply waits for the first one and then sees the booking is no longer PENDING.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Booking> findWithLockByCorrelationId(String correlationId);
+
+    // Walks idx_bookings_status_hold_expires: equality on status, then the lease range already in expiry order.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE " +
+            "b.status = 'PENDING' AND b.holdExpiresAt < :now " +
+            "ORDER BY b.holdExpiresAt")
+    List<Booking> findExpiredHoldsForUpdate(@Param("now") LocalDateTime now, Limit limit);
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = 'PENDING' AND b.holdExpiresAt < :now")
+    long countExpiredHolds(@Param("now") LocalDateTime now);
+
     List<Booking> findByRoomIdAndStatus(Long roomId, Booking.BookingStatus status);
 
     List<Booking> findByRoomIdAndStatusAndEndDateAfterAndStartDateBefore(
@@ -25,10 +58,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             LocalDate startDate,
             LocalDate endDate);
 
-    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE " +
-            "b.roomId = :roomId AND " +
-            "b.status = 'CONFIRMED' AND " +
-            "(:startDate < b.endDate AND :endDate > b.startDate)")
+    @Query(value = EXISTS_CONFLICTING_BOOKING_SQL, nativeQuery = true)
     boolean existsConflictingBooking(@Param("roomId") Long roomId,
                                      @Param("startDate") LocalDate startDate,
                                      @Param("endDate") LocalDate endDate);
@@ -40,4 +70,29 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findConflictingBookings(@Param("roomId") Long roomId,
                                           @Param("startDate") LocalDate startDate,
                                           @Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+
+    // Clears the persistence context so the managed entity's stale PENDING status is not flushed back over it.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = CONFIRM_IF_NO_CONFLICT_SQL, nativeQuery = true)
+    int confirmIfNoConflict(@Param("id") Long id,
+                            @Param("roomId") Long roomId,
+                            @Param("startDate") LocalDate startDate,
+                            @Param("endDate") LocalDate endDate);
+
+    // Rebuilds the in-memory conflict index when the booking journal cannot be replayed.
+    @Query("SELECT b FROM Booking b WHERE b.status = 'CONFIRMED' AND b.endDate > :today")
+    List<Booking> findConfirmedEndingAfter(@Param("today") LocalDate today);
+
+    // Archival is split in two so each half is a range scan on its own index: (status, created_at) here,
+    // end_date below. The second query leaves out what the first one already returns.
+    @Query("SELECT b.id FROM Booking b WHERE b.status = 'CANCELLED' AND b.createdAt < :cancelledBefore " +
+            "ORDER BY b.createdAt")
+    List<Long> findArchivableCancelledIds(@Param("cancelledBefore") LocalDateTime cancelledBefore, Limit limit);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.endDate < :finishedBefore " +
+            "AND NOT (b.status = 'CANCELLED' AND b.createdAt < :cancelledBefore) " +
+            "ORDER BY b.endDate")
+    List<Long> findArchivableFinishedIds(@Param("finishedBefore") LocalDate finishedBefore,
+                                         @Param("cancelledBefore") LocalDateTime cancelledBefore,
+                                         Limit limit);
+}
@@ -0,0 +1,115 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.journal.BookingConflictIndex;
+import com.example.bookingservice.repository.BookingArchiveRepository;
+import com.example.bookingservice.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+public class BookingArchivalService {
+
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final BookingConflictIndex conflictIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final long throttleMillis;
+    private final int maxChunksPerRun;
+
+    public BookingArchivalService(BookingRepository bookingRepository,
+                                  BookingArchiveRepository bookingArchiveRepository,
+                                  BookingConflictIndex conflictIndex,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.archival.enabled:true}") boolean enabled,
+                                  @Value("${app.archival.retention-days:90}") int retentionDays,
+                                  @Value("${app.archival.chunk-size:500}") int chunkSize,
+                                  @Value("${app.archival.throttle-ms:200}") long throttleMillis,
+                                  @Value("${app.archival.max-chunks-per-run:1000}") int maxChunksPerRun) {
+        this.bookingRepository = bookingRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
+        this.conflictIndex = conflictIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.throttleMillis = throttleMillis;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Scheduled(cron = "${app.archival.cron:0 30 3 * * *}")
+    public void archiveOnSchedule() {
+        if (!enabled) {
+            return;
+        }
+        archiveFinishedBookings();
+    }
+
+    // Each chunk is its own short transaction and the job sleeps between chunks,
+    // so booking writes never wait long on rows locked by the archiver.
+    public int archiveFinishedBookings() {
+        LocalDateTime cancelledBefore = LocalDateTime.now().minusDays(retentionDays);
+        LocalDate finishedBefore = LocalDate.now().minusDays(retentionDays);
+        log.info("Archiving bookings cancelled before {} or finished before {}", cancelledBefore, finishedBefore);
+
+        int archived = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            List<Long> moved = transactionTemplate.execute(status -> archiveChunk(cancelledBefore, finishedBefore));
+            if (moved == null || moved.isEmpty()) {
+                break;
+            }
+            // Only after the commit: an archived booking must not keep blocking its dates in the conflict index.
+            conflictIndex.removeAll(moved);
+            archived += moved.size();
+
+            if (moved.size() < chunkSize || !throttle()) {
+                break;
+            }
+        }
+
+        log.info("Archived {} bookings", archived);
+        return archived;
+    }
+
+    private List<Long> archiveChunk(LocalDateTime cancelledBefore, LocalDate finishedBefore) {
+        List<Long> ids = new ArrayList<>(bookingRepository.findArchivableCancelledIds(cancelledBefore, Limit.of(chunkSize)));
+        if (ids.size() < chunkSize) {
+            ids.addAll(bookingRepository.findArchivableFinishedIds(finishedBefore, cancelledBefore,
+                    Limit.of(chunkSize - ids.size())));
+        }
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        bookingArchiveRepository.copyFromBookings(ids, LocalDateTime.now());
+        bookingRepository.deleteAllByIdInBatch(ids);
+        return ids;
+    }
+
+    private boolean throttle() {
+        if (throttleMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(throttleMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Booking archival interrupted, stopping early");
+            return false;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.entity.OutboxEvent;
+
+import java.util.List;
+
+public interface BookingEventSink {
+
+    // Delivery is at-least-once: a batch that fails, or whose acknowledgement is lost, is published again.
+    void publish(List<OutboxEvent> events);
+}
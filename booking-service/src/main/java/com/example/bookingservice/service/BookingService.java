@@ -1,28 +1,47 @@
 package com.example.bookingservice.service;
 
 import com.example.bookingservice.client.HotelServiceClient;
+import com.example.bookingservice.dto.AvailabilityReplyDTO;
 import com.example.bookingservice.dto.AvailabilityRequestDTO;
 import com.example.bookingservice.dto.BookingDTO;
 import com.example.bookingservice.dto.BookingRequestDTO;
 import com.example.bookingservice.dto.RoomDTO;
 import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.BookingArchive;
+import com.example.bookingservice.entity.OutboxEvent;
 import com.example.bookingservice.entity.User;
 import com.example.bookingservice.exception.BookingConflictException;
 import com.example.bookingservice.exception.BookingNotFoundException;
+import com.example.bookingservice.journal.BookingConflictIndex;
 import com.example.bookingservice.mapper.BookingMapper;
+import com.example.bookingservice.messaging.BookingSagaPublisher;
+import com.example.bookingservice.repository.BookingArchiveRepository;
 import com.example.bookingservice.repository.BookingRepository;
+import com.example.bookingservice.repository.OutboxEventRepository;
 import com.example.bookingservice.repository.UserRepository;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -30,31 +49,47 @@ import java.util.UUID;
 @Transactional
 public class BookingService {
 
+    private static final int AUTO_SELECT_CANDIDATES = 5;
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final HotelServiceClient hotelServiceClient;
     private final BookingMapper bookingMapper;
-
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final BookingConflictIndex conflictIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectProvider<BookingSagaPublisher> sagaPublisher;
+    private final RoomCatalogReplica roomCatalog;
+    private final RecommendedRoomsCache recommendedRoomsCache;
+
+    @Value("${app.holds.lease-ms:60000}")
+    private long holdLeaseMillis;
+
+    // No transaction spans the whole flow: each database step runs in its own short transaction, so no
+    // connection is checked out while hotel-service is being called.
     @Retryable(
             value = {FeignException.class},
             maxAttempts = 3,
             backoff = @Backoff(delay = 1000, multiplier = 2)
     )
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingDTO createBooking(BookingRequestDTO request, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = inTransaction(true, () -> userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found")));
 
         validateBookingDates(request.getStartDate(), request.getEndDate());
 
-        Long roomId = request.getRoomId();
+        List<Long> roomIds;
         if (Boolean.TRUE.equals(request.getAutoSelect())) {
             try {
-                List<RoomDTO> recommendedRooms = hotelServiceClient.getRecommendedRooms();
+                List<RoomDTO> recommendedRooms = roomCatalog.recommendedRooms()
+                        .orElseGet(recommendedRoomsCache::get);
                 if (recommendedRooms.isEmpty()) {
                     throw new RuntimeException("No available rooms found");
                 }
-                roomId = recommendedRooms.get(0).getId();
-                log.info("Auto-selected room ID: {}", roomId);
+                roomIds = autoSelectCandidates(recommendedRooms);
             } catch (FeignException.Unauthorized e) {
                 log.error("Unauthorized access to hotel service", e);
                 throw new RuntimeException("Authentication error with hotel service");
@@ -65,67 +100,89 @@ public class BookingService {
                 log.error("Communication error with hotel service", e);
                 throw new RuntimeException("Hotel service temporarily unavailable");
             }
+        } else {
+            if (roomCatalog.isFresh()) {
+                validateRoom(request.getRoomId());
+            }
+            roomIds = List.of(request.getRoomId());
         }
 
-        checkForBookingConflicts(roomId, request.getStartDate(), request.getEndDate());
-
-        String correlationId = UUID.randomUUID().toString();
-
-        Booking booking = Booking.builder()
-                .user(user)
-                .roomId(roomId)
-                .startDate(request.getStartDate())
-                .endDate(request.getEndDate())
-                .status(Booking.BookingStatus.PENDING)
-                .correlationId(correlationId)
-                .build();
+        // A room taken since the ranking was read falls through to the next candidate.
+        for (int i = 0; ; i++) {
+            Long roomId = roomIds.get(i);
+            try {
+                return bookRoom(user, roomId, request);
+            } catch (BookingConflictException e) {
+                if (i == roomIds.size() - 1) {
+                    throw e;
+                }
+                log.info("Auto-selected room {} is taken, trying the next candidate", roomId);
+            }
+        }
+    }
 
-        booking = bookingRepository.save(booking);
-        log.info("Created booking in PENDING status with correlationId: {}", correlationId);
+    // Every caller reads the same cached or replicated ranking, so picks start at a random one of the top
+    // candidates and wrap around instead of all landing on the first room.
+    private List<Long> autoSelectCandidates(List<RoomDTO> recommendedRooms) {
+        int size = Math.min(recommendedRooms.size(), AUTO_SELECT_CANDIDATES);
+        int offset = ThreadLocalRandom.current().nextInt(size);
+        List<Long> roomIds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            roomIds.add(recommendedRooms.get((offset + i) % size).getId());
+        }
+        return roomIds;
+    }
 
-        try {
-            AvailabilityRequestDTO availabilityRequest = new AvailabilityRequestDTO();
-            availabilityRequest.setStartDate(request.getStartDate());
-            availabilityRequest.setEndDate(request.getEndDate());
-            availabilityRequest.setCorrelationId(correlationId);
-
-            boolean available = hotelServiceClient.confirmAvailability(roomId, availabilityRequest);
-
-            if (available) {
-                if (hasBookingConflicts(roomId, request.getStartDate(), request.getEndDate(), booking.getId())) {
-                    booking.setStatus(Booking.BookingStatus.CANCELLED);
-                    bookingRepository.save(booking);
-                    log.warn("Booking cancelled due to conflict detected before confirmation, correlationId: {}", correlationId);
-                    throw new BookingConflictException("Room is no longer available for selected dates");
-                }
+    private BookingDTO bookRoom(User user, Long roomId, BookingRequestDTO request) {
+        // A clean miss in the authoritative index skips the query; the conditional confirm still catches a stay
+        // committed since.
+        if (!conflictIndex.isDefinitelyFree(roomId, request.getStartDate(), request.getEndDate())) {
+            inTransaction(true, () -> {
+                checkForBookingConflicts(roomId, request.getStartDate(), request.getEndDate());
+                return null;
+            });
+        }
 
-                booking.setStatus(Booking.BookingStatus.CONFIRMED);
-                bookingRepository.save(booking);
-                log.info("Booking confirmed with correlationId: {}", correlationId);
-            } else {
-                booking.setStatus(Booking.BookingStatus.CANCELLED);
-                bookingRepository.save(booking);
-                log.info("Booking cancelled - room not available, correlationId: {}", correlationId);
-                throw new RuntimeException("Room not available");
-            }
+        String correlationId = UUID.randomUUID().toString();
 
-        } catch (FeignException e) {
-            booking.setStatus(Booking.BookingStatus.CANCELLED);
-            bookingRepository.save(booking);
+        BookingSagaPublisher saga = sagaPublisher.getIfAvailable();
+        if (saga != null) {
+            return requestThroughSaga(saga, user, roomId, request, correlationId);
+        }
 
-            try {
-                hotelServiceClient.releaseTemporaryLock(roomId, correlationId);
-            } catch (Exception ex) {
-                log.warn("Failed to release temporary lock for correlationId: {}", correlationId, ex);
-            }
+        // The PENDING row and its lease commit before hotel-service is asked for the hold: if this instance dies
+        // in between, HoldReaper cancels the row and the outbox releases the hold.
+        Booking pending = inTransaction(false, () -> insertPending(user, roomId, request, correlationId));
+        try {
+            holdRoom(roomId, request.getStartDate(), request.getEndDate(), correlationId);
+        } catch (RuntimeException e) {
+            cancelPending(pending);
+            throw e;
+        }
 
-            log.error("Booking failed due to communication error, correlationId: {}", correlationId, e);
-            throw new RuntimeException("Booking failed due to service unavailability");
+        Booking booking = inTransaction(false, () -> confirmPending(pending));
+        if (booking == null) {
+            throw new BookingConflictException("Room is no longer available for selected dates");
         }
+        log.info("Booking confirmed with correlationId: {}", correlationId);
 
         return bookingMapper.toDto(booking);
     }
 
+    // Answers from the local replica what hotel-service would only refuse after a round trip. A room the replica
+    // has not seen may simply be newer than its last refresh, so a miss is left to hotel-service to decide.
+    private void validateRoom(Long roomId) {
+        RoomDTO room = roomCatalog.findRoom(roomId).orElse(null);
+        if (room == null) {
+            log.debug("Room {} not in the replica, deferring to hotel-service", roomId);
+            return;
+        }
+        if (!Boolean.TRUE.equals(room.getAvailable())) {
+            log.info("Booking rejected - room {} not available in the replica", roomId);
+            throw new RuntimeException("Room not available");
+        }
+    }
+
     private void validateBookingDates(LocalDate startDate, LocalDate endDate) {
         if (startDate == null || endDate == null) {
             throw new IllegalArgumentException("Start date and end date are required");
@@ -162,11 +219,134 @@ public class BookingService {
         }
     }
 
-    private boolean hasBookingConflicts(Long roomId, LocalDate startDate, LocalDate endDate, Long excludeBookingId) {
-        List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(roomId, startDate, endDate);
+    // Saga mode: the booking is answered as PENDING and settled later by completeBookingSaga, so nothing waits on
+    // hotel-service here.
+    private BookingDTO requestThroughSaga(BookingSagaPublisher saga, User user, Long roomId,
+                                          BookingRequestDTO request, String correlationId) {
+        Booking booking = inTransaction(false, () -> insertPending(user, roomId, request, correlationId));
+        try {
+            saga.requestAvailability(booking);
+        } catch (RuntimeException e) {
+            log.error("Booking failed due to messaging error, correlationId: {}", correlationId, e);
+            cancelPending(booking);
+            throw new RuntimeException("Booking failed due to service unavailability");
+        }
+        return bookingMapper.toDto(booking);
+    }
+
+    public void completeBookingSaga(AvailabilityReplyDTO reply) {
+        Booking booking = bookingRepository.findWithLockByCorrelationId(reply.getCorrelationId()).orElse(null);
+        if (booking == null) {
+            log.warn("No booking found for availability reply with correlationId: {}", reply.getCorrelationId());
+            return;
+        }
+
+        if (booking.getStatus() != Booking.BookingStatus.PENDING) {
+            // A redelivered reply, or one that arrived after the lease ran out: a hold granted that late is released again.
+            if (reply.isAvailable() && booking.getStatus() == Booking.BookingStatus.CANCELLED) {
+                recordStatusChange(booking);
+            }
+            log.info("Ignoring availability reply for booking {} in status {}", booking.getId(), booking.getStatus());
+            return;
+        }
+
+        if (!reply.isAvailable()) {
+            log.warn("Room {} rejected booking with correlationId: {}", booking.getRoomId(), booking.getCorrelationId());
+            changeStatus(booking, Booking.BookingStatus.CANCELLED);
+            return;
+        }
+
+        int confirmed = bookingRepository.confirmIfNoConflict(
+                booking.getId(), booking.getRoomId(), booking.getStartDate(), booking.getEndDate());
+        if (confirmed == 0) {
+            // Cancelling puts the hold back through the outbox relay.
+            log.warn("Booking rejected due to conflict detected before confirmation, correlationId: {}",
+                    booking.getCorrelationId());
+            changeStatus(booking, Booking.BookingStatus.CANCELLED);
+            return;
+        }
+
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        recordStatusChange(booking);
+        log.info("Booking confirmed with correlationId: {}", booking.getCorrelationId());
+    }
+
+    // The rows stay locked until commit, so a saga reply for one of them waits and then finds it CANCELLED.
+    public int cancelExpiredHolds(LocalDateTime now, int limit) {
+        List<Booking> expired = bookingRepository.findExpiredHoldsForUpdate(now, Limit.of(limit));
+        for (Booking booking : expired) {
+            log.warn("Hold lease expired for booking {} (correlationId: {}), cancelling",
+                    booking.getId(), booking.getCorrelationId());
+            booking.setStatus(Booking.BookingStatus.CANCELLED);
+            recordStatusChange(booking);
+        }
+        return expired.size();
+    }
+
+    private Booking insertPending(User user, Long roomId, BookingRequestDTO request, String correlationId) {
+        Booking booking = bookingRepository.save(Booking.builder()
+                .user(user)
+                .roomId(roomId)
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .status(Booking.BookingStatus.PENDING)
+                .correlationId(correlationId)
+                .holdExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(holdLeaseMillis)))
+                .build());
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking));
+        log.info("Created booking in PENDING status with correlationId: {}", correlationId);
+        return booking;
+    }
+
+    // One conditional UPDATE re-checks conflicts and confirms; if it misses, the booking is cancelled in the same
+    // transaction and its outbox row gives the hold back.
+    private Booking confirmPending(Booking booking) {
+        int confirmed = bookingRepository.confirmIfNoConflict(
+                booking.getId(), booking.getRoomId(), booking.getStartDate(), booking.getEndDate());
+        if (confirmed == 0) {
+            log.warn("Booking rejected due to conflict detected before confirmation, correlationId: {}",
+                    booking.getCorrelationId());
+            changeStatus(booking, Booking.BookingStatus.CANCELLED);
+            return null;
+        }
+
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        recordStatusChange(booking);
+        return booking;
+    }
+
+    // Also written when the hold was refused: releasing a correlationId hotel-service never held is a no-op there.
+    private void cancelPending(Booking booking) {
+        inTransaction(false, () -> {
+            changeStatus(booking, Booking.BookingStatus.CANCELLED);
+            return null;
+        });
+    }
 
-        return conflictingBookings.stream()
-                .anyMatch(booking -> !booking.getId().equals(excludeBookingId));
+    private <T> T inTransaction(boolean readOnly, Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    private void holdRoom(Long roomId, LocalDate startDate, LocalDate endDate, String correlationId) {
+        AvailabilityRequestDTO availabilityRequest = new AvailabilityRequestDTO();
+        availabilityRequest.setStartDate(startDate);
+        availabilityRequest.setEndDate(endDate);
+        availabilityRequest.setCorrelationId(correlationId);
+
+        boolean available;
+        try {
+            available = hotelServiceClient.confirmAvailability(roomId, availabilityRequest);
+        } catch (FeignException e) {
+            log.error("Booking failed due to communication error, correlationId: {}", correlationId, e);
+            throw new RuntimeException("Booking failed due to service unavailability");
+        }
+
+        if (!available) {
+            log.info("Booking rejected - room not available, correlationId: {}", correlationId);
+            throw new BookingConflictException("Room not available");
+        }
     }
 
     @Transactional(readOnly = true)
@@ -174,6 +354,26 @@ public class BookingService {
         return bookingMapper.toDtoList(bookingRepository.findByUserIdOrderByCreatedAtDesc(userId));
     }
 
+    @Transactional(readOnly = true)
+    public List<BookingDTO> getUserBookingsIncludingArchived(Long userId) {
+        List<Booking> hot = bookingRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        List<BookingArchive> archived = bookingArchiveRepository.findByUserIdOrderByCreatedAtDesc(userId);
+
+        // Both lists are already sorted newest first, so a single merge pass keeps the combined history ordered.
+        List<BookingDTO> merged = new ArrayList<>(hot.size() + archived.size());
+        int i = 0;
+        int j = 0;
+        while (i < hot.size() || j < archived.size()) {
+            if (j == archived.size()
+                    || (i < hot.size() && !isBefore(hot.get(i).getCreatedAt(), archived.get(j).getCreatedAt()))) {
+                merged.add(bookingMapper.toDto(hot.get(i++)));
+            } else {
+                merged.add(bookingMapper.fromArchive(archived.get(j++)));
+            }
+        }
+        return merged;
+    }
+
     @Transactional(readOnly = true)
     public BookingDTO getBooking(Long id, Long userId) {
         Booking booking = bookingRepository.findByIdAndUserId(id, userId)
@@ -181,15 +381,38 @@ public class BookingService {
         return bookingMapper.toDto(booking);
     }
 
+    private boolean isBefore(LocalDateTime left, LocalDateTime right) {
+        if (left == null) {
+            return right != null;
+        }
+        return right != null && left.isBefore(right);
+    }
+
     public void cancelBooking(Long id, Long userId) {
         Booking booking = bookingRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(BookingNotFoundException::new);
 
         if (booking.getStatus() == Booking.BookingStatus.CONFIRMED) {
-            booking.setStatus(Booking.BookingStatus.CANCELLED);
-            bookingRepository.save(booking);
+            changeStatus(booking, Booking.BookingStatus.CANCELLED);
 
             log.info("Booking {} cancelled by user {}", id, userId);
         }
     }
-}
\ No newline at end of file
+
+    private void changeStatus(Booking booking, Booking.BookingStatus status) {
+        booking.setStatus(status);
+        bookingRepository.save(booking);
+        recordStatusChange(booking);
+    }
+
+    // The outbox row commits or rolls back together with the status change; OutboxRelay delivers it afterwards.
+    private void recordStatusChange(Booking booking) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .bookingId(booking.getId())
+                .roomId(booking.getRoomId())
+                .correlationId(booking.getCorrelationId())
+                .status(booking.getStatus())
+                .build());
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking));
+    }
+}
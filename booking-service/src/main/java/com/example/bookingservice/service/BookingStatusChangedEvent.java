@@ -0,0 +1,25 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.entity.Booking;
+
+import java.time.LocalDate;
+
+public record BookingStatusChangedEvent(Long bookingId,
+                                        Long roomId,
+                                        Long userId,
+                                        LocalDate startDate,
+                                        LocalDate endDate,
+                                        Booking.BookingStatus status,
+                                        String correlationId) {
+
+    public static BookingStatusChangedEvent of(Booking booking) {
+        return new BookingStatusChangedEvent(
+                booking.getId(),
+                booking.getRoomId(),
+                booking.getUser() != null ? booking.getUser().getId() : null,
+                booking.getStartDate(),
+                booking.getEndDate(),
+                booking.getStatus(),
+                booking.getCorrelationId());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cancels PENDING bookings whose hold lease has run out, e.g. because booking-service died before confirming
+ * or the saga reply never came. The cancellations go through the outbox, so the relay releases the
+ * hotel-side locks in bulk.
+ */
+@Slf4j
+@Component
+public class HoldReaper {
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter reaped;
+    private final Timer batchTimer;
+
+    public HoldReaper(BookingService bookingService,
+                      BookingRepository bookingRepository,
+                      MeterRegistry meterRegistry,
+                      @Value("${app.holds.reaper-enabled:true}") boolean enabled,
+                      @Value("${app.holds.reaper-batch-size:100}") int batchSize,
+                      @Value("${app.holds.reaper-max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+
+        Gauge.builder("booking.holds.reaper.backlog", backlog, AtomicLong::get)
+                .description("PENDING bookings whose hold lease has expired and that are not reaped yet")
+                .register(meterRegistry);
+        this.reaped = Counter.builder("booking.holds.reaper.reaped")
+                .description("PENDING bookings cancelled after their hold lease expired")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("booking.holds.reaper.batch")
+                .description("Time to cancel one batch of expired holds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.holds.reaper-interval-ms:5000}")
+    public void reapOnSchedule() {
+        if (enabled) {
+            reapExpiredHolds();
+        }
+    }
+
+    // Small batches, each in its own transaction, so the row locks taken here are held only briefly.
+    public int reapExpiredHolds() {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            LocalDateTime now = LocalDateTime.now();
+            Integer cancelled = batchTimer.record(() -> bookingService.cancelExpiredHolds(now, batchSize));
+            if (cancelled == null || cancelled == 0) {
+                break;
+            }
+            reaped.increment(cancelled);
+            total += cancelled;
+            if (cancelled < batchSize) {
+                break;
+            }
+        }
+
+        backlog.set(bookingRepository.countExpiredHolds(LocalDateTime.now()));
+        if (total > 0) {
+            log.warn("Reaped {} PENDING bookings with expired holds, {} still expired", total, backlog.get());
+        }
+        return total;
+    }
+
+    public long getBacklog() {
+        return backlog.get();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.client.HotelServiceClient;
+import com.example.bookingservice.dto.RoomReleaseDTO;
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "hotel-service", matchIfMissing = true)
+public class HotelServiceEventSink implements BookingEventSink {
+
+    private final HotelServiceClient hotelServiceClient;
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        // Hotel-service already counted the stay when it reserved the dates, so only cancellations need a call.
+        // All of a batch's cancellations share one, with repeated releases of the same hold coalesced.
+        Map<String, RoomReleaseDTO> releasesByCorrelationId = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            if (event.getStatus() == Booking.BookingStatus.CANCELLED && event.getCorrelationId() != null) {
+                releasesByCorrelationId.putIfAbsent(event.getCorrelationId(),
+                        new RoomReleaseDTO(event.getRoomId(), event.getCorrelationId()));
+            }
+        }
+        List<RoomReleaseDTO> releases = new ArrayList<>(releasesByCorrelationId.values());
+        if (!releases.isEmpty()) {
+            hotelServiceClient.releaseTemporaryLocks(releases);
+            log.debug("Released {} rooms for cancelled bookings", releases.size());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.exception.IdempotencyKeyReusedException;
+import com.example.bookingservice.exception.IdempotencyRequestInProgressException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of a request per user and Idempotency-Key, so a retried request gets the first response
+ * back instead of running again. A duplicate that arrives while the original is still running waits for it.
+ * Entries expire after the TTL, and the oldest completed ones are dropped once the store is full; an entry still in
+ * flight is never evicted, so its duplicates cannot run the request a second time.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long waitTimeoutMillis;
+    private final Clock clock;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(@Value("${app.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${app.idempotency.ttl-ms:86400000}") long ttlMillis,
+                            @Value("${app.idempotency.wait-timeout-ms:30000}") long waitTimeoutMillis) {
+        this(maxEntries, ttlMillis, waitTimeoutMillis, Clock.systemUTC());
+    }
+
+    IdempotencyStore(int maxEntries, long ttlMillis, long waitTimeoutMillis, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.clock = clock;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Long userId, String idempotencyKey, Object request, Supplier<T> action) {
+        Key key = new Key(userId, idempotencyKey);
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            long now = clock.millis();
+            entry = entries.get(key);
+            if (entry == null || now - entry.createdAt() >= ttlMillis) {
+                // Re-inserting keeps insertion order equal to age, so eviction always drops the oldest key.
+                entries.remove(key);
+                entry = new Entry(request, new CompletableFuture<>(), now);
+                entries.put(key, entry);
+                evictCompleted();
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            if (!Objects.equals(entry.request(), request)) {
+                throw new IdempotencyKeyReusedException();
+            }
+            log.info("Replaying response for idempotency key {} of user {}", idempotencyKey, userId);
+            return (T) await(entry.result());
+        }
+
+        try {
+            T value = action.get();
+            entry.result().complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Failures are not replayed: the key is freed, so the client's next retry runs the request again.
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // Drops the oldest completed entries; if everything older is still in flight the store briefly exceeds its bound.
+    private void evictCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            if (iterator.next().result().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyRequestInProgressException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyRequestInProgressException();
+        }
+    }
+
+    private record Key(Long userId, String idempotencyKey) {
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> result, long createdAt) {
+    }
+}
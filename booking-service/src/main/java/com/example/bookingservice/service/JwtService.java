@@ -1,6 +1,7 @@
 package com.example.bookingservice.service;
 
 import com.example.bookingservice.dto.UserShortDTO;
+import com.example.bookingservice.entity.Role;
 import com.example.bookingservice.entity.User;
 import com.example.bookingservice.mapper.UserMapper;
 import com.example.bookingservice.repository.UserRepository;
@@ -30,6 +31,12 @@ public class JwtService {
     @Value("${jwt.expiration:3600000}")
     private Long expiration;
 
+    @Value("${jwt.service-token-expiration:60000}")
+    private Long serviceTokenExpiration;
+
+    @Value("${spring.application.name}")
+    private String serviceName;
+
     private final UserRepository userRepository;
     private SecretKey secretKey;
 
@@ -58,6 +65,17 @@ public class JwtService {
                 .compact();
     }
 
+    // Used for calls made outside an HTTP request (scheduled jobs), where there is no user token to forward.
+    public String generateServiceToken() {
+        return Jwts.builder()
+                .setSubject(serviceName)
+                .claim("role", Role.USER.name())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + serviceTokenExpiration))
+                .signWith(secretKey)
+                .compact();
+    }
+
     public Optional<UserShortDTO> extractUser(String token) {
         try {
             Claims claims = Jwts.parserBuilder()
@@ -0,0 +1,20 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.entity.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "log")
+public class LoggingEventSink implements BookingEventSink {
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        events.forEach(event -> log.info("Booking {} changed to {} (room {}, correlationId {})",
+                event.getBookingId(), event.getStatus(), event.getRoomId(), event.getCorrelationId()));
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.entity.OutboxEvent;
+import com.example.bookingservice.repository.OutboxEventRepository;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final BookingEventSink eventSink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int retentionHours;
+    private final long backoffInitialMillis;
+    private final long backoffMaxMillis;
+    private final int maxAttempts;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final DistributionSummary batchSizes;
+    private final Counter published;
+    private final Counter failures;
+    private final Counter deadLettered;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       BookingEventSink eventSink,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.enabled:true}") boolean enabled,
+                       @Value("${app.outbox.batch-size:100}") int batchSize,
+                       @Value("${app.outbox.retention-hours:24}") int retentionHours,
+                       @Value("${app.outbox.backoff-initial-ms:1000}") long backoffInitialMillis,
+                       @Value("${app.outbox.backoff-max-ms:60000}") long backoffMaxMillis,
+                       @Value("${app.outbox.max-attempts:10}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventSink = eventSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.retentionHours = retentionHours;
+        this.backoffInitialMillis = backoffInitialMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        this.maxAttempts = maxAttempts;
+
+        Gauge.builder("booking.outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest unpublished booking event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("booking.outbox.relay.batch.size")
+                .description("Events delivered per relay batch")
+                .register(meterRegistry);
+        this.published = Counter.builder("booking.outbox.relay.published").register(meterRegistry);
+        this.failures = Counter.builder("booking.outbox.relay.failures").register(meterRegistry);
+        this.deadLettered = Counter.builder("booking.outbox.relay.dead-lettered")
+                .description("Events parked after the sink rejected them for good or too many times")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-ms:1000}")
+    public void relayOnSchedule() {
+        if (enabled) {
+            relayPending();
+        }
+    }
+
+    @Scheduled(cron = "${app.outbox.purge-cron:0 0 * * * *}")
+    public void purgeOnSchedule() {
+        if (enabled) {
+            purgePublished();
+        }
+    }
+
+    public int relayPending() {
+        int relayed = 0;
+        int delivered;
+        do {
+            delivered = relayBatch();
+            relayed += Math.max(delivered, 0);
+        } while (delivered == batchSize);
+
+        updateLag();
+        return relayed;
+    }
+
+    public int purgePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours)));
+        return deleted == null ? 0 : deleted;
+    }
+
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+
+    // Returns the number of events delivered, or -1 if the sink failed and the batch was put back with a backoff.
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findDue(now, Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            eventSink.publish(events);
+        } catch (Exception e) {
+            failures.increment();
+            if (events.size() > 1 && !isRetryable(e)) {
+                // The sink rejected something in the batch; send the events one by one so only the culprit is parked.
+                return relayOneByOne(events, now);
+            }
+            retryOrPark(events, now, e);
+            return -1;
+        }
+
+        markPublished(events);
+        return events.size();
+    }
+
+    private int relayOneByOne(List<OutboxEvent> events, LocalDateTime now) {
+        List<OutboxEvent> delivered = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            try {
+                eventSink.publish(List.of(event));
+                delivered.add(event);
+            } catch (Exception e) {
+                retryOrPark(List.of(event), now, e);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            markPublished(delivered);
+        }
+        return delivered.size();
+    }
+
+    private void markPublished(List<OutboxEvent> events) {
+        List<Long> ids = events.stream().map(OutboxEvent::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.markPublished(ids, LocalDateTime.now()));
+        batchSizes.record(events.size());
+        published.increment(events.size());
+    }
+
+    private void retryOrPark(List<OutboxEvent> events, LocalDateTime now, Exception e) {
+        List<Long> ids = events.stream().map(OutboxEvent::getId).toList();
+        int attempts = events.stream().mapToInt(OutboxEvent::getAttempts).max().orElse(0) + 1;
+        if (!isRetryable(e) || attempts >= maxAttempts) {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deadLetter(ids, now));
+            deadLettered.increment(events.size());
+            log.error("Parked {} booking events starting at id {} after attempt {}: {}",
+                    events.size(), ids.get(0), attempts, e.getMessage());
+            return;
+        }
+
+        LocalDateTime nextAttemptAt = now.plus(backoff(attempts));
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.scheduleRetry(ids, nextAttemptAt));
+        log.warn("Failed to relay {} booking events starting at id {} (attempt {}), retrying at {}: {}",
+                events.size(), ids.get(0), attempts, nextAttemptAt, e.getMessage());
+    }
+
+    // A 4xx answer will not change on retry; 401, 408 and 429 are the exceptions (token refresh, timeout, throttling).
+    static boolean isRetryable(Exception e) {
+        if (!(e instanceof FeignException feign) || feign.status() < 400 || feign.status() >= 500) {
+            return true;
+        }
+        return feign.status() == 401 || feign.status() == 408 || feign.status() == 429;
+    }
+
+    // Doubles per failed attempt up to the cap; a failing batch is deferred and later events are not held behind it.
+    Duration backoff(int attempts) {
+        long delay = backoffInitialMillis << Math.min(attempts - 1, 30);
+        return Duration.ofMillis(Math.min(Math.max(delay, backoffInitialMillis), backoffMaxMillis));
+    }
+
+    private void updateLag() {
+        lagMillis.set(outboxEventRepository.findFirstByPublishedAtIsNullAndDeadLetteredAtIsNullOrderByIdAsc()
+                .map(oldest -> Math.max(0, Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis()))
+                .orElse(0L));
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.client.HotelServiceClient;
+import com.example.bookingservice.dto.RoomDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Short-lived copy of hotel-service's recommended rooms. At most one fetch is in flight: concurrent callers that
+ * find the cache empty or expired all wait for the same call. Once an entry is older than {@code ttl - refresh-ahead},
+ * callers still get it while a background fetch replaces it, so under steady load nobody waits on hotel-service.
+ */
+@Slf4j
+@Component
+public class RecommendedRoomsCache {
+
+    private final HotelServiceClient hotelServiceClient;
+    private final long ttlMillis;
+    private final long refreshAfterMillis;
+    private final Clock clock;
+    private final Executor refreshExecutor;
+
+    private final AtomicReference<CompletableFuture<Entry>> inFlight = new AtomicReference<>();
+    private volatile Entry current;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshFailures;
+
+    @Autowired
+    public RecommendedRoomsCache(HotelServiceClient hotelServiceClient,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.recommendations.cache-ttl-ms:2000}") long ttlMillis,
+                                 @Value("${app.recommendations.refresh-ahead-ms:500}") long refreshAheadMillis) {
+        this(hotelServiceClient, meterRegistry, ttlMillis, refreshAheadMillis, Clock.systemUTC(),
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "recommended-rooms-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    RecommendedRoomsCache(HotelServiceClient hotelServiceClient, MeterRegistry meterRegistry, long ttlMillis,
+                          long refreshAheadMillis, Clock clock, Executor refreshExecutor) {
+        this.hotelServiceClient = hotelServiceClient;
+        this.ttlMillis = ttlMillis;
+        this.refreshAfterMillis = Math.max(0, ttlMillis - refreshAheadMillis);
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+
+        this.hits = Counter.builder("booking.recommendations.cache")
+                .description("Auto-select lookups of recommended rooms")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("booking.recommendations.cache")
+                .description("Auto-select lookups of recommended rooms")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("booking.recommendations.cache.refresh.failures")
+                .description("Background refreshes of recommended rooms that failed")
+                .register(meterRegistry);
+    }
+
+    public List<RoomDTO> get() {
+        Entry entry = current;
+        long age = entry == null ? Long.MAX_VALUE : clock.millis() - entry.loadedAt();
+        if (age < ttlMillis) {
+            hits.increment();
+            if (age >= refreshAfterMillis) {
+                refreshInBackground();
+            }
+            return entry.rooms();
+        }
+
+        misses.increment();
+        // The caller that starts the fetch runs it on its own thread, so the user's token is forwarded as usual.
+        return await(load(Runnable::run, false)).rooms();
+    }
+
+    private void refreshInBackground() {
+        load(refreshExecutor, true);
+    }
+
+    private CompletableFuture<Entry> load(Executor executor, boolean background) {
+        CompletableFuture<Entry> promise = new CompletableFuture<>();
+        CompletableFuture<Entry> running = inFlight.compareAndExchange(null, promise);
+        if (running != null) {
+            return running;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    List<RoomDTO> rooms = hotelServiceClient.getRecommendedRooms();
+                    Entry loaded = new Entry(rooms == null ? List.of() : List.copyOf(rooms), clock.millis());
+                    current = loaded;
+                    promise.complete(loaded);
+                } catch (Throwable e) {
+                    if (background) {
+                        refreshFailures.increment();
+                        log.warn("Background refresh of recommended rooms failed: {}", e.getMessage());
+                    }
+                    promise.completeExceptionally(e);
+                } finally {
+                    inFlight.set(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.set(null);
+            promise.completeExceptionally(e);
+        }
+        return promise;
+    }
+
+    private static Entry await(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private record Entry(List<RoomDTO> rooms, long loadedAt) {
+    }
+}
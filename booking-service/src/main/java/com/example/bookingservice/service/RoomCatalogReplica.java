@@ -0,0 +1,166 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.client.HotelServiceClient;
+import com.example.bookingservice.dto.RoomChangeDTO;
+import com.example.bookingservice.dto.RoomChangesDTO;
+import com.example.bookingservice.dto.RoomDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local read replica of hotel-service's rooms, kept current by polling the {@code /api/rooms/changes} feed from
+ * the last seen version. Auto-select and room validation are answered from memory; while the replica is cold
+ * or has not synced within the staleness bound, callers get nothing back and go to hotel-service instead.
+ */
+@Slf4j
+@Component
+public class RoomCatalogReplica {
+
+    private static final Comparator<RoomChangeDTO> RECOMMENDATION_ORDER =
+            Comparator.comparing(RoomChangeDTO::getTimesBooked).thenComparing(RoomChangeDTO::getId);
+
+    private final HotelServiceClient hotelServiceClient;
+    private final boolean enabled;
+    private final int pageSize;
+    private final int maxPagesPerRefresh;
+    private final long maxStalenessMillis;
+    private final Clock clock;
+
+    private final Map<Long, RoomChangeDTO> rooms = new ConcurrentHashMap<>();
+    private volatile List<RoomDTO> recommended = List.of();
+    private volatile long cursor;
+    private volatile long snapshotAfterId;
+    private volatile long snapshotVersion;
+    private volatile boolean ready;
+    private volatile long lastSyncedAt;
+
+    @Autowired
+    public RoomCatalogReplica(HotelServiceClient hotelServiceClient,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.room-replica.enabled:false}") boolean enabled,
+                              @Value("${app.room-replica.page-size:500}") int pageSize,
+                              @Value("${app.room-replica.max-pages-per-refresh:20}") int maxPagesPerRefresh,
+                              @Value("${app.room-replica.max-staleness-ms:30000}") long maxStalenessMillis) {
+        this(hotelServiceClient, meterRegistry, enabled, pageSize, maxPagesPerRefresh, maxStalenessMillis,
+                Clock.systemUTC());
+    }
+
+    RoomCatalogReplica(HotelServiceClient hotelServiceClient, MeterRegistry meterRegistry, boolean enabled,
+                       int pageSize, int maxPagesPerRefresh, long maxStalenessMillis, Clock clock) {
+        this.hotelServiceClient = hotelServiceClient;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.maxPagesPerRefresh = maxPagesPerRefresh;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.clock = clock;
+
+        Gauge.builder("booking.room.replica.size", rooms, Map::size)
+                .description("Rooms held in the local replica of the hotel catalog")
+                .register(meterRegistry);
+        Gauge.builder("booking.room.replica.staleness", this, replica -> replica.stalenessMillis())
+                .description("Milliseconds since the room replica last caught up with hotel-service")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.room-replica.refresh-interval-ms:1000}")
+    public void refreshOnSchedule() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Room replica refresh failed at version {}: {}", cursor, e.getMessage());
+        }
+    }
+
+    // Drains the feed page by page; a cursor of 0 pages through the whole catalog by room id, any later one fetches
+    // only what changed. A snapshot longer than one refresh resumes where it stopped.
+    public synchronized int refresh() {
+        int applied = 0;
+        for (int page = 0; page < maxPagesPerRefresh; page++) {
+            RoomChangesDTO changes = hotelServiceClient.getRoomChanges(cursor, pageSize, snapshotAfterId, snapshotVersion);
+            if (changes.isResyncRequired()) {
+                log.info("Room replica version {} is no longer served by hotel-service, reloading the catalog",
+                        cursor > 0 ? cursor : snapshotVersion);
+                ready = false;
+                rooms.clear();
+                cursor = 0;
+                snapshotAfterId = 0;
+                snapshotVersion = 0;
+                continue;
+            }
+
+            changes.getRooms().forEach(room -> rooms.put(room.getId(), room));
+            changes.getDeletedRoomIds().forEach(rooms::remove);
+            applied += changes.getRooms().size() + changes.getDeletedRoomIds().size();
+            if (changes.getSnapshotAfterId() != null) {
+                snapshotAfterId = changes.getSnapshotAfterId();
+                snapshotVersion = changes.getLatestVersion();
+            } else {
+                cursor = changes.getLatestVersion();
+                snapshotAfterId = 0;
+                snapshotVersion = 0;
+            }
+
+            if (!changes.isHasMore()) {
+                if (applied > 0 || !ready) {
+                    recommended = rooms.values().stream()
+                            .filter(room -> Boolean.TRUE.equals(room.getAvailable()))
+                            .sorted(RECOMMENDATION_ORDER)
+                            .map(RoomCatalogReplica::toRoomDto)
+                            .toList();
+                }
+                lastSyncedAt = clock.millis();
+                ready = true;
+                break;
+            }
+        }
+        return applied;
+    }
+
+    /** Available rooms, least booked first, or empty if the replica cannot be trusted right now. */
+    public Optional<List<RoomDTO>> recommendedRooms() {
+        return isFresh() ? Optional.of(recommended) : Optional.empty();
+    }
+
+    /** The room as last seen in the feed. Only meaningful while {@link #isFresh()} holds. */
+    public Optional<RoomDTO> findRoom(Long roomId) {
+        return Optional.ofNullable(rooms.get(roomId)).map(RoomCatalogReplica::toRoomDto);
+    }
+
+    public boolean isFresh() {
+        return enabled && ready && stalenessMillis() <= maxStalenessMillis;
+    }
+
+    long cursor() {
+        return cursor;
+    }
+
+    private long stalenessMillis() {
+        return ready ? clock.millis() - lastSyncedAt : 0;
+    }
+
+    private static RoomDTO toRoomDto(RoomChangeDTO room) {
+        return RoomDTO.builder()
+                .id(room.getId())
+                .number(room.getNumber())
+                .available(room.getAvailable())
+                .timesBooked(room.getTimesBooked())
+                .hotelId(room.getHotelId())
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.bookingservice.util;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Registered through {@code hibernate.session.events.auto}, so Hibernate creates one per session.
+ * Counts prepared statements and times JDBC prepare/execute calls into {@link SqlStatementStats}.
+ */
+public class SqlStatementListener implements SessionEventListener {
+
+    private long prepareStart;
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        prepareStart = System.nanoTime();
+        SqlStatementStats.recordStatement();
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        SqlStatementStats.recordTime(System.nanoTime() - prepareStart);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementStats.recordTime(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementStats.recordTime(System.nanoTime() - batchStart);
+    }
+}
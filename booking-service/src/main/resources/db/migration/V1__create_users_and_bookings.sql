@@ -0,0 +1,27 @@
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE bookings (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id        BIGINT       NOT NULL,
+    room_id        BIGINT       NOT NULL,
+    start_date     DATE         NOT NULL,
+    end_date       DATE         NOT NULL,
+    status         VARCHAR(255) NOT NULL,
+    created_at     TIMESTAMP(6),
+    correlation_id VARCHAR(255)
+);
+
+-- Conflict check: equality on room_id and status, then a range on start_date; end_date is covered so no row lookup is needed.
+CREATE INDEX idx_bookings_room_status_dates ON bookings (room_id, status, start_date, end_date);
+
+-- Booking history: equality on user_id, rows come out already in created_at DESC order so no sort is needed.
+CREATE INDEX idx_bookings_user_created ON bookings (user_id, created_at DESC);
+
+ALTER TABLE bookings ADD CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users (id);
@@ -0,0 +1,13 @@
+CREATE TABLE bookings_archive (
+    id             BIGINT       PRIMARY KEY,
+    user_id        BIGINT       NOT NULL,
+    room_id        BIGINT       NOT NULL,
+    start_date     DATE         NOT NULL,
+    end_date       DATE         NOT NULL,
+    status         VARCHAR(255) NOT NULL,
+    created_at     TIMESTAMP(6),
+    correlation_id VARCHAR(255),
+    archived_at    TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_bookings_archive_user_created ON bookings_archive (user_id, created_at DESC);
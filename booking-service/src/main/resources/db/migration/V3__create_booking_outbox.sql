@@ -0,0 +1,13 @@
+CREATE TABLE booking_outbox (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id     BIGINT       NOT NULL,
+    room_id        BIGINT       NOT NULL,
+    correlation_id VARCHAR(255),
+    status         VARCHAR(255) NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    published_at   TIMESTAMP(6),
+    attempts       INTEGER      NOT NULL
+);
+
+-- The relay reads unpublished rows (published_at IS NULL) in id order.
+CREATE INDEX idx_booking_outbox_unpublished ON booking_outbox (published_at, id);
@@ -0,0 +1,2 @@
+-- Saga replies and expiry look bookings up by correlation_id.
+CREATE INDEX idx_bookings_correlation_id ON bookings (correlation_id);
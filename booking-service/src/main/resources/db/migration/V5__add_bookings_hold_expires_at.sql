@@ -0,0 +1,4 @@
+ALTER TABLE bookings ADD COLUMN hold_expires_at TIMESTAMP(6);
+
+-- Hold reaper: equality on status = 'PENDING', then a range scan over hold_expires_at in expiry order.
+CREATE INDEX idx_bookings_status_hold_expires ON bookings (status, hold_expires_at);
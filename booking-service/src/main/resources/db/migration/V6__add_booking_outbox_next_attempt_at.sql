@@ -0,0 +1,2 @@
+-- Failed deliveries are retried with backoff; the relay skips rows until next_attempt_at has passed.
+ALTER TABLE booking_outbox ADD COLUMN next_attempt_at TIMESTAMP(6);
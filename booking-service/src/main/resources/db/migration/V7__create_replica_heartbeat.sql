@@ -0,0 +1,5 @@
+-- Written to the primary by ReplicaLagMonitor and read back from the replica to measure replication lag.
+CREATE TABLE replica_heartbeat (
+    id          INT PRIMARY KEY,
+    beat_millis BIGINT NOT NULL
+);
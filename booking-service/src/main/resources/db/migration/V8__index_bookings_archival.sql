@@ -0,0 +1,3 @@
+-- Archival: each half of the archivable predicate gets its own range scan instead of a full scan for the OR.
+CREATE INDEX idx_bookings_status_created ON bookings (status, created_at);
+CREATE INDEX idx_bookings_end_date ON bookings (end_date);
@@ -0,0 +1,2 @@
+-- Events the sink keeps rejecting are parked here instead of being retried forever.
+ALTER TABLE booking_outbox ADD COLUMN dead_lettered_at TIMESTAMP(6);
@@ -0,0 +1,105 @@
+package com.example.bookingservice.client;
+
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+import feign.Retryer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveTimeoutClientTest {
+
+    private final List<Request.Options> sentOptions = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveTimeouts adaptiveTimeouts;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adaptiveTimeouts = new AdaptiveTimeouts(meterRegistry, true, 0.99, 3.0, 200, 5000, 1, 60_000, 6, 0,
+                Clock.systemUTC());
+    }
+
+    @Test
+    void execute_ReplacesReadTimeoutWithMethodTimeout() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            adaptiveTimeouts.recordLatency("releaseTemporaryLock", 400);
+        }
+        HotelServiceClient client = client((request, options) -> ok(request));
+
+        // Act
+        client.releaseTemporaryLock(1L, "corr-1");
+
+        // Assert
+        Request.Options options = sentOptions.get(0);
+        assertEquals(1332, options.readTimeoutMillis());
+        assertEquals(2000, options.connectTimeoutMillis());
+    }
+
+    @Test
+    void execute_RecordsLatencyUnderMethodName() {
+        // Arrange
+        HotelServiceClient client = client((request, options) -> ok(request));
+
+        // Act
+        client.releaseTemporaryLock(1L, "corr-1");
+        client.releaseTemporaryLock(2L, "corr-2");
+
+        // Assert
+        assertEquals(200.0, meterRegistry.get("booking.hotel.client.timeout")
+                .tag("method", "releaseTemporaryLock").gauge().value());
+        assertEquals(200, sentOptions.get(1).readTimeoutMillis());
+    }
+
+    @Test
+    void execute_ReadTimeout_IsRecordedAndRethrown() {
+        // Arrange
+        HotelServiceClient client = client((request, options) -> {
+            throw new SocketTimeoutException("Read timed out");
+        });
+
+        // Act
+        assertThrows(RetryableException.class, () -> client.releaseTemporaryLock(1L, "corr-1"));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("booking.hotel.client.timeouts")
+                .tag("method", "releaseTemporaryLock").counter().count());
+    }
+
+    private HotelServiceClient client(Client transport) {
+        Client recording = (request, options) -> {
+            sentOptions.add(options);
+            return transport.execute(request, options);
+        };
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .client(new AdaptiveTimeoutClient(recording, adaptiveTimeouts))
+                .options(new Request.Options(2, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(HotelServiceClient.class, "http://hotel-service/api/rooms");
+    }
+
+    private static Response ok(Request request) {
+        return Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Map.of())
+                .body(new byte[0])
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.bookingservice.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveTimeoutsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private AdaptiveTimeouts timeouts;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock();
+        timeouts = new AdaptiveTimeouts(meterRegistry, true, 0.99, 3.0, 200, 5000, 100, 60_000, 6, 1000, clock);
+    }
+
+    @Test
+    void timeoutMillis_TooFewSamples_UsesCeiling() {
+        // Arrange
+        record("confirmAvailability", 40, 99);
+
+        // Act
+        long timeout = timeouts.timeoutMillis("confirmAvailability", 5000);
+
+        // Assert
+        assertEquals(5000, timeout);
+    }
+
+    @Test
+    void timeoutMillis_FollowsPercentileTimesFactor() {
+        // Arrange
+        record("confirmAvailability", 400, 100);
+
+        // Act
+        long timeout = timeouts.timeoutMillis("confirmAvailability", 5000);
+
+        // Assert
+        assertEquals(1332, timeout);
+        assertEquals(1332.0, meterRegistry.get("booking.hotel.client.timeout")
+                .tag("method", "confirmAvailability").gauge().value());
+    }
+
+    @Test
+    void timeoutMillis_IsKeptWithinFloorAndCeiling() {
+        // Arrange
+        record("getRecommendedRooms", 5, 100);
+        record("releaseTemporaryLocks", 2000, 100);
+
+        // Act & Assert
+        assertEquals(200, timeouts.timeoutMillis("getRecommendedRooms", 5000));
+        assertEquals(5000, timeouts.timeoutMillis("releaseTemporaryLocks", 5000));
+    }
+
+    @Test
+    void timeoutMillis_MethodsAreIndependent() {
+        // Arrange
+        record("confirmAvailability", 400, 100);
+        record("getRecommendedRooms", 40, 100);
+
+        // Act & Assert
+        assertEquals(1332, timeouts.timeoutMillis("confirmAvailability", 5000));
+        assertEquals(200, timeouts.timeoutMillis("getRecommendedRooms", 5000));
+    }
+
+    @Test
+    void timeoutMillis_RecomputedOnlyAfterInterval() {
+        // Arrange
+        record("confirmAvailability", 400, 100);
+        timeouts.timeoutMillis("confirmAvailability", 5000);
+        record("confirmAvailability", 1000, 100);
+
+        // Act
+        long beforeInterval = timeouts.timeoutMillis("confirmAvailability", 5000);
+        clock.advance(Duration.ofMillis(1000));
+        long afterInterval = timeouts.timeoutMillis("confirmAvailability", 5000);
+
+        // Assert
+        assertEquals(1332, beforeInterval);
+        assertEquals(3321, afterInterval);
+    }
+
+    @Test
+    void timeoutMillis_OldSamplesAgeOutOfWindow() {
+        // Arrange
+        record("confirmAvailability", 1000, 100);
+        clock.advance(Duration.ofSeconds(30));
+        record("confirmAvailability", 40, 100);
+        clock.advance(Duration.ofSeconds(31));
+
+        // Act
+        long timeout = timeouts.timeoutMillis("confirmAvailability", 5000);
+
+        // Assert
+        assertEquals(200, timeout);
+    }
+
+    @Test
+    void recordTimeout_PushesTimeoutUpAndIsCounted() {
+        // Arrange
+        record("confirmAvailability", 40, 100);
+        long tight = timeouts.timeoutMillis("confirmAvailability", 5000);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            timeouts.recordTimeout("confirmAvailability", tight);
+        }
+        clock.advance(Duration.ofMillis(1000));
+        long relaxed = timeouts.timeoutMillis("confirmAvailability", 5000);
+
+        // Assert
+        assertEquals(200, tight);
+        assertEquals(639, relaxed);
+        assertEquals(5.0, meterRegistry.get("booking.hotel.client.timeouts")
+                .tag("method", "confirmAvailability").counter().count());
+    }
+
+    @Test
+    void timeoutMillis_Disabled_ReturnsFallback() {
+        // Arrange
+        AdaptiveTimeouts disabled = new AdaptiveTimeouts(meterRegistry, false, 0.99, 3.0, 200, 5000, 100, 60_000, 6,
+                1000, clock);
+        for (int i = 0; i < 100; i++) {
+            disabled.recordLatency("confirmAvailability", 40);
+        }
+
+        // Act & Assert
+        assertEquals(7000, disabled.timeoutMillis("confirmAvailability", 7000));
+        assertTrue(meterRegistry.find("booking.hotel.client.timeout").gauges().isEmpty());
+    }
+
+    private void record(String method, long millis, int times) {
+        for (int i = 0; i < times; i++) {
+            timeouts.recordLatency(method, millis);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.bookingservice.client;
+
+import com.example.bookingservice.grpc.HotelRoomsGrpc;
+import com.example.bookingservice.grpc.RecommendedRoomsRequest;
+import com.example.bookingservice.grpc.Room;
+import com.example.bookingservice.grpc.RoomList;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DiscoveryNameResolverProviderTest {
+
+    private static final String TARGET = "discovery:///hotel-service";
+
+    @Mock
+    private ObjectProvider<DiscoveryClient> discoveryClientProvider;
+
+    @Mock
+    private DiscoveryClient discoveryClient;
+
+    private final List<Server> servers = new ArrayList<>();
+    private DiscoveryNameResolverProvider provider;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        provider = new DiscoveryNameResolverProvider(discoveryClientProvider, 9090, 30_000);
+        provider.register();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+        servers.forEach(Server::shutdownNow);
+        provider.deregister();
+    }
+
+    @Test
+    void discoveryTarget_SpreadsCallsOverRegisteredInstances() throws Exception {
+        // Arrange
+        when(discoveryClientProvider.getIfAvailable()).thenReturn(discoveryClient);
+        when(discoveryClient.getInstances("hotel-service")).thenReturn(List.of(
+                instance("hotel-1", startServer(1L)),
+                instance("hotel-2", startServer(2L))));
+        channel = channel();
+
+        // Act
+        Set<Long> answeredBy = new HashSet<>();
+        for (int i = 0; i < 50 && answeredBy.size() < 2; i++) {
+            answeredBy.add(HotelRoomsGrpc.newBlockingStub(channel)
+                    .withDeadlineAfter(5, TimeUnit.SECONDS)
+                    .getRecommendedRooms(RecommendedRoomsRequest.getDefaultInstance())
+                    .getRooms(0).getId());
+        }
+
+        // Assert
+        assertEquals(Set.of(1L, 2L), answeredBy);
+    }
+
+    @Test
+    void discoveryTarget_WithoutInstances_FailsUnavailable() {
+        // Arrange
+        when(discoveryClientProvider.getIfAvailable()).thenReturn(discoveryClient);
+        when(discoveryClient.getInstances("hotel-service")).thenReturn(List.of());
+        channel = channel();
+
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () ->
+                HotelRoomsGrpc.newBlockingStub(channel)
+                        .withDeadlineAfter(5, TimeUnit.SECONDS)
+                        .getRecommendedRooms(RecommendedRoomsRequest.getDefaultInstance()));
+
+        // Assert
+        assertEquals(Status.Code.UNAVAILABLE, exception.getStatus().getCode());
+    }
+
+    @Test
+    void addresses_WithoutGrpcPortMetadata_UsesDefaultPort() {
+        // Arrange
+        when(discoveryClientProvider.getIfAvailable()).thenReturn(discoveryClient);
+        when(discoveryClient.getInstances("hotel-service")).thenReturn(List.of(
+                new DefaultServiceInstance("hotel-1", "hotel-service", "10.0.0.5", 8081, false)));
+
+        // Act
+        List<EquivalentAddressGroup> addresses = provider.addresses("hotel-service");
+
+        // Assert
+        InetSocketAddress address = (InetSocketAddress) addresses.get(0).getAddresses().get(0);
+        assertEquals("10.0.0.5", address.getHostString());
+        assertEquals(9090, address.getPort());
+    }
+
+    private ManagedChannel channel() {
+        return NettyChannelBuilder.forTarget(TARGET)
+                .defaultLoadBalancingPolicy("round_robin")
+                .usePlaintext()
+                .build();
+    }
+
+    private int startServer(long roomId) throws Exception {
+        Server server = NettyServerBuilder.forAddress(new InetSocketAddress("localhost", 0))
+                .addService(new HotelRoomsGrpc.HotelRoomsImplBase() {
+                    @Override
+                    public void getRecommendedRooms(RecommendedRoomsRequest request, StreamObserver<RoomList> observer) {
+                        observer.onNext(RoomList.newBuilder().addRooms(Room.newBuilder().setId(roomId)).build());
+                        observer.onCompleted();
+                    }
+                })
+                .build()
+                .start();
+        servers.add(server);
+        return server.getPort();
+    }
+
+    private ServiceInstance instance(String id, int grpcPort) {
+        return new DefaultServiceInstance(id, "hotel-service", "localhost", 8081, false,
+                Map.of(DiscoveryNameResolverProvider.GRPC_PORT_METADATA, String.valueOf(grpcPort)));
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.bookingservice.client;
+
+import com.example.bookingservice.dto.AvailabilityRequestDTO;
+import com.example.bookingservice.dto.RoomChangesDTO;
+import com.example.bookingservice.dto.RoomDTO;
+import com.example.bookingservice.dto.RoomReleaseDTO;
+import com.example.bookingservice.grpc.ConfirmAvailabilityReply;
+import com.example.bookingservice.grpc.ConfirmAvailabilityRequest;
+import com.example.bookingservice.grpc.HotelRoomsGrpc;
+import com.example.bookingservice.grpc.RecommendedRoomsRequest;
+import com.example.bookingservice.grpc.ReleaseBatchRequest;
+import com.example.bookingservice.grpc.ReleaseReply;
+import com.example.bookingservice.grpc.Room;
+import com.example.bookingservice.grpc.RoomList;
+import com.example.bookingservice.service.JwtService;
+import feign.FeignException;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GrpcHotelServiceClientTest {
+
+    @Mock
+    private HotelServiceClient httpClient;
+
+    @Mock
+    private ObjectProvider<JwtService> jwtServiceProvider;
+
+    @Mock
+    private JwtService jwtService;
+
+    private final FakeHotelRooms hotelRooms = new FakeHotelRooms();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveTimeouts adaptiveTimeouts = new AdaptiveTimeouts(meterRegistry, true, 0.99, 3.0, 200, 5000,
+            100, 60_000, 6, 1000, Clock.systemUTC());
+    private final AtomicReference<String> receivedAuthorization = new AtomicReference<>();
+    private Server server;
+    private GrpcHotelServiceClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        ServerInterceptor captureAuthorization = new ServerInterceptor() {
+            @Override
+            public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                               ServerCallHandler<Q, R> next) {
+                receivedAuthorization.set(headers.get(GrpcAuthorizationInterceptor.AUTHORIZATION));
+                return next.startCall(call, headers);
+            }
+        };
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(hotelRooms, captureAuthorization))
+                .build()
+                .start();
+        client = new GrpcHotelServiceClient(InProcessChannelBuilder.forName(name).directExecutor().build(),
+                httpClient, jwtServiceProvider, adaptiveTimeouts, 5000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.shutdown();
+        server.shutdownNow();
+    }
+
+    @Test
+    void getRecommendedRooms_MapsRoomsAndSendsServiceToken() {
+        // Arrange
+        when(jwtServiceProvider.getIfAvailable()).thenReturn(jwtService);
+        when(jwtService.generateServiceToken()).thenReturn("service-token");
+
+        // Act
+        List<RoomDTO> rooms = client.getRecommendedRooms();
+
+        // Assert
+        assertEquals(1, rooms.size());
+        assertEquals(1L, rooms.get(0).getId());
+        assertEquals("101", rooms.get(0).getNumber());
+        assertTrue(rooms.get(0).getAvailable());
+        assertEquals(2, rooms.get(0).getTimesBooked());
+        assertEquals(10L, rooms.get(0).getHotelId());
+        assertEquals("Bearer service-token", receivedAuthorization.get());
+    }
+
+    @Test
+    void confirmAvailability_SendsDatesAsEpochDays() {
+        // Act
+        Boolean available = client.confirmAvailability(5L, AvailabilityRequestDTO.builder()
+                .startDate(LocalDate.of(2030, 5, 1))
+                .endDate(LocalDate.of(2030, 5, 3))
+                .correlationId("corr-1")
+                .build());
+
+        // Assert
+        assertTrue(available);
+        ConfirmAvailabilityRequest sent = hotelRooms.lastConfirm;
+        assertEquals(5L, sent.getRoomId());
+        assertEquals(LocalDate.of(2030, 5, 1).toEpochDay(), sent.getStartEpochDay());
+        assertEquals(LocalDate.of(2030, 5, 3).toEpochDay(), sent.getEndEpochDay());
+        assertEquals("corr-1", sent.getCorrelationId());
+    }
+
+    @Test
+    void confirmAvailability_NoDates_LeavesRangeUnset() {
+        // Act
+        client.confirmAvailability(5L, AvailabilityRequestDTO.builder().correlationId("corr-2").build());
+
+        // Assert
+        assertFalse(hotelRooms.lastConfirm.hasStartEpochDay());
+        assertFalse(hotelRooms.lastConfirm.hasEndEpochDay());
+    }
+
+    @Test
+    void releaseTemporaryLocks_ReturnsReleasedCount() {
+        // Act
+        Integer released = client.releaseTemporaryLocks(List.of(
+                new RoomReleaseDTO(1L, "a"), new RoomReleaseDTO(2L, "b")));
+
+        // Assert
+        assertEquals(2, released);
+    }
+
+    @Test
+    void getRoomChanges_StaysOnHttp() {
+        // Arrange
+        RoomChangesDTO changes = RoomChangesDTO.builder().latestVersion(7L).build();
+        when(httpClient.getRoomChanges(3L, 100, 0L, 0L)).thenReturn(changes);
+
+        // Act
+        RoomChangesDTO result = client.getRoomChanges(3L, 100, 0L, 0L);
+
+        // Assert
+        assertSame(changes, result);
+    }
+
+    @Test
+    void call_Unauthenticated_ThrowsFeignUnauthorized() {
+        // Arrange
+        hotelRooms.failure = Status.UNAUTHENTICATED.withDescription("Invalid token");
+
+        // Act & Assert
+        assertThrows(FeignException.Unauthorized.class, () -> client.getRecommendedRooms());
+    }
+
+    @Test
+    void call_Unavailable_ThrowsFeignServiceUnavailable() {
+        // Arrange
+        hotelRooms.failure = Status.UNAVAILABLE;
+
+        // Act
+        FeignException thrown = assertThrows(FeignException.ServiceUnavailable.class,
+                () -> client.releaseTemporaryLock(1L, "corr-1"));
+
+        // Assert
+        assertEquals(503, thrown.status());
+        assertTrue(thrown.request().url().endsWith("/api/rooms/1/release"));
+    }
+
+    @Test
+    void call_DeadlineExceeded_CountsAsTimeoutForThatMethod() {
+        // Arrange
+        hotelRooms.failure = Status.DEADLINE_EXCEEDED;
+
+        // Act
+        assertThrows(FeignException.GatewayTimeout.class, () -> client.releaseTemporaryLock(1L, "corr-1"));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("booking.hotel.client.timeouts")
+                .tag("method", "releaseTemporaryLock").counter().count());
+        assertEquals(5000.0, meterRegistry.get("booking.hotel.client.timeout")
+                .tag("method", "releaseTemporaryLock").gauge().value());
+    }
+
+    @Test
+    void toFeignException_DeadlineExceeded_IsGatewayTimeout() {
+        // Act
+        FeignException thrown = GrpcHotelServiceClient.toFeignException(feign.Request.HttpMethod.GET, "/recommend",
+                Status.DEADLINE_EXCEEDED.asRuntimeException());
+
+        // Assert
+        assertInstanceOf(FeignException.GatewayTimeout.class, thrown);
+    }
+
+    private static class FakeHotelRooms extends HotelRoomsGrpc.HotelRoomsImplBase {
+
+        private volatile Status failure;
+        private volatile ConfirmAvailabilityRequest lastConfirm;
+
+        @Override
+        public void getRecommendedRooms(RecommendedRoomsRequest request, StreamObserver<RoomList> responseObserver) {
+            if (fail(responseObserver)) {
+                return;
+            }
+            responseObserver.onNext(RoomList.newBuilder()
+                    .addRooms(Room.newBuilder().setId(1L).setNumber("101").setAvailable(true)
+                            .setTimesBooked(2).setHotelId(10L))
+                    .build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void confirmAvailability(ConfirmAvailabilityRequest request,
+                                        StreamObserver<ConfirmAvailabilityReply> responseObserver) {
+            lastConfirm = request;
+            responseObserver.onNext(ConfirmAvailabilityReply.newBuilder().setAvailable(true).build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void releaseTemporaryLock(com.example.bookingservice.grpc.ReleaseRequest request,
+                                         StreamObserver<ReleaseReply> responseObserver) {
+            if (fail(responseObserver)) {
+                return;
+            }
+            responseObserver.onNext(ReleaseReply.getDefaultInstance());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void releaseTemporaryLocks(ReleaseBatchRequest request, StreamObserver<ReleaseReply> responseObserver) {
+            responseObserver.onNext(ReleaseReply.newBuilder().setReleased(request.getReleasesCount()).build());
+            responseObserver.onCompleted();
+        }
+
+        private boolean fail(StreamObserver<?> responseObserver) {
+            if (failure == null) {
+                return false;
+            }
+            responseObserver.onError(failure.asRuntimeException());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.bookingservice.client;
+
+import com.example.bookingservice.dto.AvailabilityRequestDTO;
+import com.example.bookingservice.dto.RoomDTO;
+import com.example.bookingservice.grpc.ConfirmAvailabilityReply;
+import com.example.bookingservice.grpc.ConfirmAvailabilityRequest;
+import com.example.bookingservice.grpc.HotelRoomsGrpc;
+import com.example.bookingservice.grpc.RecommendedRoomsRequest;
+import com.example.bookingservice.grpc.Room;
+import com.example.bookingservice.grpc.RoomList;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.optionals.OptionalDecoder;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Latency and throughput of the recommend and confirm calls over Feign (JSON over HTTP/1.1) against the gRPC client
+ * (protobuf over HTTP/2), each talking to a stub hotel-service on loopback that answers without doing any work,
+ * so only encoding and transport are compared.
+ * Run with: mvn test -pl booking-service -Dbenchmark=true -Dtest=HotelClientTransportBenchmarkTest
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class HotelClientTransportBenchmarkTest {
+
+    private static final int ROOMS = 20;
+    private static final int WARMUP = 5_000;
+    private static final int CALLS = 20_000;
+    private static final int THREADS = 16;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<RoomDTO> recommended = LongStream.rangeClosed(1, ROOMS)
+            .mapToObj(id -> RoomDTO.builder().id(id).number("R" + id).available(true).timesBooked((int) id).hotelId(1L).build())
+            .toList();
+
+    private HttpServer httpServer;
+    private Server grpcServer;
+    private ExecutorService serverThreads;
+    private HotelServiceClient feignClient;
+    private GrpcHotelServiceClient grpcClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Without it the JDK server's separate header and body writes meet delayed ACKs: ~40 ms per call.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        serverThreads = Executors.newFixedThreadPool(THREADS);
+        httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        httpServer.setExecutor(serverThreads);
+        httpServer.createContext("/api/rooms/recommend", exchange -> reply(exchange, recommended));
+        httpServer.createContext("/api/rooms/", exchange -> {
+            objectMapper.readValue(exchange.getRequestBody(), AvailabilityRequestDTO.class);
+            reply(exchange, true);
+        });
+        httpServer.start();
+
+        grpcServer = NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", 0))
+                .executor(serverThreads)
+                .addService(new StubHotelRooms())
+                .build()
+                .start();
+
+        HttpMessageConverters converters = new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper));
+        feignClient = Feign.builder()
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(() -> converters))
+                .decoder(new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(() -> converters))))
+                .target(HotelServiceClient.class, "http://127.0.0.1:" + httpServer.getAddress().getPort() + "/api/rooms");
+
+        @SuppressWarnings("unchecked")
+        ObjectProvider<com.example.bookingservice.service.JwtService> noToken = mock(ObjectProvider.class);
+        ManagedChannel channel = NettyChannelBuilder.forAddress("127.0.0.1", grpcServer.getPort()).usePlaintext().build();
+        AdaptiveTimeouts fixedTimeouts = new AdaptiveTimeouts(new SimpleMeterRegistry(), false, 0.99, 3.0, 200, 5000,
+                100, 60_000, 6, 1000, Clock.systemUTC());
+        grpcClient = new GrpcHotelServiceClient(channel, feignClient, noToken, fixedTimeouts, 5000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        grpcClient.shutdown();
+        grpcServer.shutdownNow();
+        httpServer.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void feignVersusGrpc() throws Exception {
+        compare("recommend (20 rooms)", HotelServiceClient::getRecommendedRooms);
+        compare("confirm-availability", client -> client.confirmAvailability(42L, AvailabilityRequestDTO.builder()
+                .startDate(LocalDate.of(2030, 5, 1))
+                .endDate(LocalDate.of(2030, 5, 3))
+                .correlationId("8a1f3c52-0d6e-4f7b-9a2c-5e4d3b2a1f00")
+                .build()));
+    }
+
+    private void compare(String operation, Call call) throws Exception {
+        assertEquals(call.invoke(feignClient), call.invoke(grpcClient));
+        for (HotelServiceClient client : List.of(feignClient, grpcClient)) {
+            for (int i = 0; i < WARMUP; i++) {
+                call.invoke(client);
+            }
+        }
+        report(operation, "feign", feignClient, call);
+        report(operation, "grpc ", grpcClient, call);
+    }
+
+    private void report(String operation, String transport, HotelServiceClient client, Call call) throws Exception {
+        long[] latencies = new long[CALLS];
+        for (int i = 0; i < CALLS; i++) {
+            long started = System.nanoTime();
+            call.invoke(client);
+            latencies[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(latencies);
+
+        ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(callers.submit(() -> {
+                for (int i = 0; i < CALLS / THREADS; i++) {
+                    call.invoke(client);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get(5, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        callers.shutdown();
+
+        System.out.printf("%-22s %s  p50 %6.1f us  p99 %7.1f us  %,8.0f calls/s with %d threads%n",
+                operation, transport, latencies[CALLS / 2] / 1e3, latencies[CALLS * 99 / 100] / 1e3,
+                (CALLS / THREADS * THREADS) / seconds, THREADS);
+    }
+
+    private void reply(HttpExchange exchange, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Object invoke(HotelServiceClient client);
+    }
+
+    private class StubHotelRooms extends HotelRoomsGrpc.HotelRoomsImplBase {
+
+        @Override
+        public void getRecommendedRooms(RecommendedRoomsRequest request, StreamObserver<RoomList> responseObserver) {
+            RoomList.Builder rooms = RoomList.newBuilder();
+            recommended.forEach(room -> rooms.addRooms(Room.newBuilder()
+                    .setId(room.getId()).setNumber(room.getNumber()).setAvailable(room.getAvailable())
+                    .setTimesBooked(room.getTimesBooked()).setHotelId(room.getHotelId())));
+            responseObserver.onNext(rooms.build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void confirmAvailability(ConfirmAvailabilityRequest request,
+                                        StreamObserver<ConfirmAvailabilityReply> responseObserver) {
+            responseObserver.onNext(ConfirmAvailabilityReply.newBuilder().setAvailable(true).build());
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.bookingservice.config;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.io.CloseMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotelServiceFeignConfigTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private Client client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/rooms/recommend", exchange -> {
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        connectionManager = HotelServiceFeignConfig.connectionManager(meterRegistry, 8, 4, 300_000, 2000);
+        httpClient = HotelServiceFeignConfig.httpClient(connectionManager, 1000, 30_000);
+        client = new ApacheHttp5Client(httpClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close(CloseMode.IMMEDIATE);
+        server.stop(0);
+    }
+
+    @Test
+    void sequentialCalls_ReuseOnePooledConnection() throws IOException {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            call();
+        }
+
+        // Assert
+        assertEquals(1, meterRegistry.get("http.client.connection.connect").tag("client", "hotel-service").timer().count());
+        assertEquals(1.0, poolGauge("httpcomponents.httpclient.pool.total.connections", "available"));
+        assertEquals(0.0, poolGauge("httpcomponents.httpclient.pool.total.connections", "leased"));
+        assertEquals(0.0, meterRegistry.get("httpcomponents.httpclient.pool.total.pending")
+                .tag("httpclient", "hotel-service").gauge().value());
+    }
+
+    @Test
+    void poolLimits_AreExposed() {
+        // Assert
+        assertEquals(8.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "hotel-service").gauge().value());
+        assertEquals(4.0, meterRegistry.get("httpcomponents.httpclient.pool.route.max.default")
+                .tag("httpclient", "hotel-service").gauge().value());
+    }
+
+    @Test
+    void closedConnection_RecordsLifetime() throws IOException {
+        // Arrange
+        call();
+
+        // Act
+        connectionManager.close(CloseMode.GRACEFUL);
+
+        // Assert
+        assertEquals(1, meterRegistry.get("http.client.connection.lifetime").tag("client", "hotel-service").timer().count());
+        assertTrue(meterRegistry.get("http.client.connection.lifetime").timer().totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    private void call() throws IOException {
+        Request request = Request.create(Request.HttpMethod.GET,
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/api/rooms/recommend",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        try (Response response = client.execute(request, new Request.Options(1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, false))) {
+            assertEquals(200, response.status());
+            response.body().asInputStream().readAllBytes();
+        }
+    }
+
+    private double poolGauge(String name, String state) {
+        return meterRegistry.get(name).tag("httpclient", "hotel-service").tag("state", state).gauge().value();
+    }
+}
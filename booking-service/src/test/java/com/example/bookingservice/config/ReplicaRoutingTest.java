@@ -0,0 +1,151 @@
+package com.example.bookingservice.config;
+
+import com.example.bookingservice.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:booking-routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:booking-routing-replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.max-lag-ms=1000",
+        "app.datasource.replica.heartbeat-interval-ms=3600000"
+})
+class ReplicaRoutingTest {
+
+    private static final String REPLICA_ONLY_USER = "replica-only";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        // The second H2 instance plays the replica: same schema, but only the rows we put there.
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+        replica.execute("CREATE TABLE IF NOT EXISTS users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "username VARCHAR(255) NOT NULL UNIQUE, password VARCHAR(255) NOT NULL, role VARCHAR(255) NOT NULL, " +
+                "created_at TIMESTAMP(6))");
+        replica.update("DELETE FROM users");
+        replica.update("INSERT INTO users (username, password, role) VALUES (?, 'secret', 'USER')", REPLICA_ONLY_USER);
+        replicateHeartbeat(System.currentTimeMillis());
+    }
+
+    @Test
+    void primaryDataSource_BindsHikariProperties() {
+        // Assert
+        assertEquals(7, ((HikariDataSource) primaryDataSource).getMaximumPoolSize());
+        assertEquals(2000, ((HikariDataSource) primaryDataSource).getLeakDetectionThreshold());
+    }
+
+    @Test
+    void readOnlyTransaction_WithFreshReplica_ReadsFromReplica() {
+        // Act
+        replicaLagMonitor.checkLag();
+        boolean foundOnReplica = inTransaction(true, () -> userRepository.findByUsername(REPLICA_ONLY_USER).isPresent());
+
+        // Assert
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        assertTrue(foundOnReplica);
+    }
+
+    @Test
+    void readWriteTransaction_WithFreshReplica_UsesPrimary() {
+        // Act
+        replicaLagMonitor.checkLag();
+        boolean foundReplicaUser = inTransaction(false, () -> userRepository.findByUsername(REPLICA_ONLY_USER).isPresent());
+        boolean foundPrimaryUser = inTransaction(false, () -> userRepository.findByUsername("admin").isPresent());
+
+        // Assert
+        assertFalse(foundReplicaUser);
+        assertTrue(foundPrimaryUser);
+    }
+
+    @Test
+    void readOnlyTransaction_WithLaggingReplica_FallsBackToPrimary() {
+        // Arrange
+        replicateHeartbeat(System.currentTimeMillis() - 60_000);
+
+        // Act
+        replicaLagMonitor.checkLag();
+        boolean foundReplicaUser = inTransaction(true, () -> userRepository.findByUsername(REPLICA_ONLY_USER).isPresent());
+        boolean foundPrimaryUser = inTransaction(true, () -> userRepository.findByUsername("admin").isPresent());
+
+        // Assert
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertTrue(replicaLagMonitor.getLagMillis() >= 60_000);
+        assertFalse(foundReplicaUser);
+        assertTrue(foundPrimaryUser);
+    }
+
+    @Test
+    void checkLag_WhenReplicaHasNoHeartbeat_FallsBackToPrimary() {
+        // Arrange
+        replica.update("DELETE FROM replica_heartbeat");
+
+        // Act
+        replicaLagMonitor.checkLag();
+
+        // Assert
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertTrue(inTransaction(true, () -> userRepository.findByUsername("admin").isPresent()));
+    }
+
+    @Test
+    void heartbeat_WritesBeatToPrimary() {
+        // Act
+        long before = System.currentTimeMillis();
+        replicaLagMonitor.heartbeat();
+
+        // Assert
+        Long beat = new JdbcTemplate(primaryDataSource)
+                .queryForObject("SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+        assertNotNull(beat);
+        assertTrue(beat >= before);
+    }
+
+    private void replicateHeartbeat(long beatMillis) {
+        if (replica.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", beatMillis) == 0) {
+            replica.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)", beatMillis);
+        }
+    }
+
+    private boolean inTransaction(boolean readOnly, Supplier<Boolean> action) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return Boolean.TRUE.equals(template.execute(status -> action.get()));
+    }
+}
@@ -77,6 +77,51 @@ class BookingControllerTest {
         verify(bookingService).createBooking(any(BookingRequestDTO.class), eq(USER_ID));
     }
 
+    @Test
+    void createBooking_SameIdempotencyKey_ReplaysFirstResponse() throws Exception {
+        BookingRequestDTO request = createBookingRequestDTO();
+
+        when(bookingService.createBooking(any(BookingRequestDTO.class), eq(USER_ID)))
+                .thenReturn(createBookingDTO());
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/bookings")
+                            .header("Idempotency-Key", "retry-key")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpectAll(
+                            status().isOk(),
+                            jsonPath("$.id").value(BOOKING_ID)
+                    );
+        }
+
+        verify(bookingService, times(1)).createBooking(any(BookingRequestDTO.class), eq(USER_ID));
+    }
+
+    @Test
+    void createBooking_IdempotencyKeyReusedForOtherRequest_ShouldReturnUnprocessableEntity() throws Exception {
+        BookingRequestDTO request = createBookingRequestDTO();
+        BookingRequestDTO otherRequest = createBookingRequestDTO();
+        otherRequest.setRoomId(ROOM_ID + 1);
+
+        when(bookingService.createBooking(any(BookingRequestDTO.class), eq(USER_ID)))
+                .thenReturn(createBookingDTO());
+
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(otherRequest)))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(bookingService, times(1)).createBooking(any(BookingRequestDTO.class), eq(USER_ID));
+    }
+
     @Test
     void getUserBookings_ShouldReturnBookingsList() throws Exception {
         List<BookingDTO> expectedBookings = List.of(createBookingDTO());
@@ -97,6 +142,24 @@ class BookingControllerTest {
         verify(bookingService).getUserBookings(eq(USER_ID));
     }
 
+    @Test
+    void getUserBookings_WithIncludeArchived_ShouldMergeArchive() throws Exception {
+        List<BookingDTO> expectedBookings = List.of(createBookingDTO());
+
+        when(bookingService.getUserBookingsIncludingArchived(eq(USER_ID)))
+                .thenReturn(expectedBookings);
+
+        mockMvc.perform(get("/api/bookings").param("includeArchived", "true"))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.length()").value(1),
+                        jsonPath("$[0].id").value(BOOKING_ID)
+                );
+
+        verify(bookingService).getUserBookingsIncludingArchived(eq(USER_ID));
+        verify(bookingService, never()).getUserBookings(any());
+    }
+
     @Test
     void getBooking_ShouldReturnBooking() throws Exception {
         BookingDTO expectedBooking = createBookingDTO();
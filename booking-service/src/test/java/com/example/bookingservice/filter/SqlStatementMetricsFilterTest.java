@@ -0,0 +1,165 @@
+package com.example.bookingservice.filter;
+
+import com.example.bookingservice.client.HotelServiceClient;
+import com.example.bookingservice.dto.AvailabilityRequestDTO;
+import com.example.bookingservice.dto.BookingRequestDTO;
+import com.example.bookingservice.dto.UserShortDTO;
+import com.example.bookingservice.entity.Role;
+import com.example.bookingservice.entity.User;
+import com.example.bookingservice.repository.BookingRepository;
+import com.example.bookingservice.repository.OutboxEventRepository;
+import com.example.bookingservice.repository.UserRepository;
+import com.example.bookingservice.util.QueryBudget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "app.outbox.enabled=false",
+        "app.sql-stats.debug-header-enabled=true"
+})
+class SqlStatementMetricsFilterTest {
+
+    private static final String BOOKINGS_URI = "/api/bookings";
+    private static final Long ROOM_ID = 101L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @MockitoBean
+    private HotelServiceClient hotelServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .username("sql-stats-user")
+                .password("secret")
+                .role(Role.USER)
+                .build());
+        UserShortDTO principal = UserShortDTO.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .role(Role.USER)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        bookingRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createBooking_StaysWithinBudgetAndReportsItInDebugHeader() throws Exception {
+        // Arrange
+        when(hotelServiceClient.confirmAvailability(eq(ROOM_ID), any(AvailabilityRequestDTO.class))).thenReturn(true);
+        LocalDate startDate = LocalDate.now().plusDays(10);
+        BookingRequestDTO request = BookingRequestDTO.builder()
+                .roomId(ROOM_ID)
+                .startDate(startDate)
+                .endDate(startDate.plusDays(3))
+                .build();
+        String body = objectMapper.writeValueAsString(request);
+
+        // Act
+        MvcResult result = QueryBudget.assertAtMost(5, () -> perform(post(BOOKINGS_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .header(SqlStatementMetricsFilter.DEBUG_HEADER, "true")));
+
+        // Assert: user lookup, conflict pre-check, insert, conditional confirm, outbox insert
+        assertEquals(200, result.getResponse().getStatus());
+        assertEquals("5", result.getResponse().getHeader(SqlStatementMetricsFilter.STATEMENTS_HEADER));
+        assertNotNull(result.getResponse().getHeader(SqlStatementMetricsFilter.TIME_HEADER));
+    }
+
+    @Test
+    void getUserBookings_ReadsHistoryInOneStatement() throws Exception {
+        MvcResult result = QueryBudget.assertAtMost(1, () -> perform(get(BOOKINGS_URI)));
+
+        assertEquals(200, result.getResponse().getStatus());
+    }
+
+    @Test
+    void withoutDebugHeader_OmitsHeaders() throws Exception {
+        mockMvc.perform(get(BOOKINGS_URI))
+                .andExpectAll(
+                        status().isOk(),
+                        header().doesNotExist(SqlStatementMetricsFilter.STATEMENTS_HEADER)
+                );
+    }
+
+    @Test
+    void request_RecordsMetricsTaggedByEndpoint() throws Exception {
+        DistributionSummary summary = meterRegistry.find("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", BOOKINGS_URI)
+                .summary();
+        long before = summary == null ? 0 : summary.count();
+
+        mockMvc.perform(get(BOOKINGS_URI))
+                .andExpect(status().isOk());
+
+        summary = meterRegistry.get("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", BOOKINGS_URI)
+                .summary();
+        assertEquals(before + 1, summary.count());
+        assertNotNull(meterRegistry.get("http.server.requests.sql.time")
+                .tags("method", "GET", "uri", BOOKINGS_URI)
+                .timer());
+    }
+
+    private MvcResult perform(RequestBuilder request) {
+        try {
+            return mockMvc.perform(request).andReturn();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
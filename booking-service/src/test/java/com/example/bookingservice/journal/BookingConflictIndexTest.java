@@ -0,0 +1,116 @@
+package com.example.bookingservice.journal;
+
+import com.example.bookingservice.entity.Booking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingConflictIndexTest {
+
+    private static final LocalDate START = LocalDate.of(2030, 5, 1);
+
+    private BookingConflictIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingConflictIndex();
+    }
+
+    @Test
+    void hasConflict_OverlappingConfirmedStay_ReturnsTrue() {
+        // Arrange
+        index.apply(record(1L, 101L, START, START.plusDays(5), Booking.BookingStatus.CONFIRMED));
+
+        // Act & Assert
+        assertTrue(index.hasConflict(101L, START.plusDays(4), START.plusDays(6)));
+        assertTrue(index.hasConflict(101L, START.minusDays(1), START.plusDays(1)));
+        assertTrue(index.hasConflict(101L, START.plusDays(1), START.plusDays(2)));
+    }
+
+    @Test
+    void hasConflict_AdjacentStayOrOtherRoom_ReturnsFalse() {
+        // Arrange
+        index.apply(record(1L, 101L, START, START.plusDays(5), Booking.BookingStatus.CONFIRMED));
+
+        // Act & Assert
+        assertFalse(index.hasConflict(101L, START.plusDays(5), START.plusDays(7)));
+        assertFalse(index.hasConflict(101L, START.minusDays(3), START));
+        assertFalse(index.hasConflict(102L, START, START.plusDays(5)));
+    }
+
+    @Test
+    void hasConflict_LongStayStartingEarlier_ReturnsTrue() {
+        // Arrange
+        index.apply(record(1L, 101L, START, START.plusDays(30), Booking.BookingStatus.CONFIRMED));
+        index.apply(record(2L, 101L, START.plusDays(40), START.plusDays(41), Booking.BookingStatus.CONFIRMED));
+
+        // Act & Assert
+        assertTrue(index.hasConflict(101L, START.plusDays(25), START.plusDays(26)));
+        assertFalse(index.hasConflict(101L, START.plusDays(30), START.plusDays(40)));
+    }
+
+    @Test
+    void apply_CancelledBooking_RemovesStay() {
+        // Arrange
+        index.apply(record(1L, 101L, START, START.plusDays(5), Booking.BookingStatus.CONFIRMED));
+
+        // Act
+        index.apply(record(1L, 101L, START, START.plusDays(5), Booking.BookingStatus.CANCELLED));
+
+        // Assert
+        assertEquals(0, index.size());
+        assertFalse(index.hasConflict(101L, START, START.plusDays(5)));
+    }
+
+    @Test
+    void restore_ReplacesContents() {
+        // Arrange
+        index.apply(record(1L, 101L, START, START.plusDays(5), Booking.BookingStatus.CONFIRMED));
+
+        // Act
+        index.restore(List.of(new BookingConflictIndex.Stay(2L, 102L, START.toEpochDay(), START.plusDays(2).toEpochDay())));
+
+        // Assert
+        assertEquals(1, index.size());
+        assertFalse(index.hasConflict(101L, START, START.plusDays(5)));
+        assertTrue(index.hasConflict(102L, START.plusDays(1), START.plusDays(3)));
+    }
+
+    @Test
+    void pruneEndedBy_DropsStaysThatEndedOnOrBeforeToday() {
+        // Arrange
+        index.apply(record(1L, 101L, START, START.plusDays(2), Booking.BookingStatus.CONFIRMED));
+        index.apply(record(2L, 101L, START.plusDays(2), START.plusDays(4), Booking.BookingStatus.CONFIRMED));
+
+        // Act
+        int pruned = index.pruneEndedBy(START.plusDays(2));
+
+        // Assert
+        assertEquals(1, pruned);
+        assertEquals(List.of(2L), index.stays().stream().map(BookingConflictIndex.Stay::bookingId).toList());
+    }
+
+    @Test
+    void isDefinitelyFree_OnlyAnswersOnceAuthoritative() {
+        // Act & Assert
+        assertFalse(index.isDefinitelyFree(101L, START, START.plusDays(1)));
+
+        index.markAuthoritative();
+        assertTrue(index.isDefinitelyFree(101L, START, START.plusDays(1)));
+
+        index.apply(record(1L, 101L, START, START.plusDays(2), Booking.BookingStatus.CONFIRMED));
+        assertFalse(index.isDefinitelyFree(101L, START, START.plusDays(1)));
+
+        index.markStale();
+        assertFalse(index.isDefinitelyFree(102L, START, START.plusDays(1)));
+    }
+
+    private JournalRecord record(long bookingId, long roomId, LocalDate startDate, LocalDate endDate,
+                                 Booking.BookingStatus status) {
+        return new JournalRecord(0, bookingId, roomId, 7L, startDate, endDate, status, 0L, "corr-" + bookingId);
+    }
+}
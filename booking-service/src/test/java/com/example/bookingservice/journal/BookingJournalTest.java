@@ -0,0 +1,280 @@
+package com.example.bookingservice.journal;
+
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.repository.BookingRepository;
+import com.example.bookingservice.service.BookingStatusChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+    private static final LocalDate START = LocalDate.of(2030, 5, 1);
+
+    @TempDir
+    Path directory;
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+
+    @Test
+    void append_ThenReopen_ReplaysRecordsInOrder() throws IOException {
+        // Arrange
+        try (BookingJournal journal = BookingJournal.open(directory, SEGMENT_SIZE, 0, record -> { })) {
+            journal.append(record(1L, Booking.BookingStatus.PENDING));
+            journal.append(record(1L, Booking.BookingStatus.CONFIRMED));
+            journal.append(record(2L, Booking.BookingStatus.CANCELLED));
+        }
+
+        // Act
+        List<JournalRecord> replayed = new ArrayList<>();
+        try (BookingJournal journal = BookingJournal.open(directory, SEGMENT_SIZE, 0, replayed::add)) {
+            // Assert
+            assertEquals(3, journal.lastSequence());
+            assertEquals(List.of(1L, 2L, 3L), replayed.stream().map(JournalRecord::sequence).toList());
+            assertEquals(Booking.BookingStatus.CONFIRMED, replayed.get(1).status());
+            assertEquals("corr-2", replayed.get(2).correlationId());
+            assertEquals(START.plusDays(2), replayed.get(2).startDate());
+
+            assertEquals(4, journal.append(record(3L, Booking.BookingStatus.PENDING)).sequence());
+        }
+    }
+
+    @Test
+    void open_AfterSequence_SkipsRecordsCoveredBySnapshot() throws IOException {
+        // Arrange
+        try (BookingJournal journal = BookingJournal.open(directory, SEGMENT_SIZE, 0, record -> { })) {
+            for (long i = 1; i <= 5; i++) {
+                journal.append(record(i, Booking.BookingStatus.CONFIRMED));
+            }
+        }
+
+        // Act
+        List<JournalRecord> replayed = new ArrayList<>();
+        BookingJournal.open(directory, SEGMENT_SIZE, 3, replayed::add).close();
+
+        // Assert
+        assertEquals(List.of(4L, 5L), replayed.stream().map(JournalRecord::sequence).toList());
+    }
+
+    @Test
+    void open_TornTail_DiscardsPartialRecordAndKeepsAppending() throws IOException {
+        // Arrange
+        try (BookingJournal journal = BookingJournal.open(directory, SEGMENT_SIZE, 0, record -> { })) {
+            journal.append(record(1L, Booking.BookingStatus.CONFIRMED));
+            journal.append(record(2L, Booking.BookingStatus.CONFIRMED));
+        }
+        corruptLastPayloadByte(onlySegment());
+
+        // Act
+        List<JournalRecord> replayed = new ArrayList<>();
+        try (BookingJournal journal = BookingJournal.open(directory, SEGMENT_SIZE, 0, replayed::add)) {
+            JournalRecord appended = journal.append(record(3L, Booking.BookingStatus.CONFIRMED));
+
+            // Assert
+            assertEquals(1, replayed.size());
+            assertEquals(2, appended.sequence());
+        }
+
+        List<JournalRecord> afterRepair = new ArrayList<>();
+        BookingJournal.open(directory, SEGMENT_SIZE, 0, afterRepair::add).close();
+        assertEquals(List.of(1L, 3L), afterRepair.stream().map(JournalRecord::bookingId).toList());
+    }
+
+    @Test
+    void append_SegmentFull_RollsToNewSegmentAndDeletesCoveredOnes() throws IOException {
+        // Arrange
+        int recordsPerSegment;
+        try (BookingJournal journal = BookingJournal.open(directory, 256, 0, record -> { })) {
+            for (long i = 1; i <= 20; i++) {
+                journal.append(record(i, Booking.BookingStatus.CONFIRMED));
+            }
+            recordsPerSegment = (int) (20 / segments().size());
+
+            // Act
+            int deleted = journal.deleteSegmentsCoveredBy(recordsPerSegment * 2L);
+
+            // Assert
+            assertTrue(deleted >= 1);
+            assertTrue(segments().size() > 1);
+        }
+
+        List<JournalRecord> replayed = new ArrayList<>();
+        BookingJournal.open(directory, 256, recordsPerSegment * 2L, replayed::add).close();
+        assertEquals(20, replayed.get(replayed.size() - 1).sequence());
+        assertTrue(replayed.stream().allMatch(record -> record.sequence() > recordsPerSegment * 2L));
+    }
+
+    @Test
+    void snapshotStore_WriteThenLoad_ReturnsLatestStays() throws IOException {
+        // Arrange
+        BookingSnapshotStore store = new BookingSnapshotStore(directory);
+        store.write(5, List.of(new BookingConflictIndex.Stay(1L, 101L, 100, 103)));
+        store.write(9, List.of(new BookingConflictIndex.Stay(2L, 102L, 200, 201),
+                new BookingConflictIndex.Stay(3L, 102L, 201, 205)));
+
+        // Act
+        BookingSnapshotStore.Snapshot snapshot = store.loadLatest().orElseThrow();
+
+        // Assert
+        assertEquals(9, snapshot.lastSequence());
+        assertEquals(2, snapshot.stays().size());
+        assertEquals(205, snapshot.stays().get(1).endDay());
+    }
+
+    @Test
+    void snapshotStore_DamagedLatest_FallsBackToPrevious() throws IOException {
+        // Arrange
+        BookingSnapshotStore store = new BookingSnapshotStore(directory);
+        store.write(5, List.of(new BookingConflictIndex.Stay(1L, 101L, 100, 103)));
+        Path latest = store.write(9, List.of(new BookingConflictIndex.Stay(2L, 102L, 200, 201)));
+        byte[] bytes = Files.readAllBytes(latest);
+        bytes[bytes.length - 12] ^= 0x7F;
+        Files.write(latest, bytes);
+
+        // Act
+        BookingSnapshotStore.Snapshot snapshot = store.loadLatest().orElseThrow();
+
+        // Assert
+        assertEquals(5, snapshot.lastSequence());
+        assertEquals(1L, snapshot.stays().get(0).bookingId());
+    }
+
+    @Test
+    void journalService_Restart_RebuildsIndexFromSnapshotAndTail() throws IOException {
+        // Arrange
+        BookingConflictIndex index = new BookingConflictIndex();
+        BookingJournalService service = new BookingJournalService(durable(), index, bookingRepository, directory.toString(), SEGMENT_SIZE, false, 1);
+        service.recover();
+        service.onStatusChanged(event(1L, 101L, Booking.BookingStatus.CONFIRMED));
+        service.onStatusChanged(event(2L, 102L, Booking.BookingStatus.CONFIRMED));
+        service.snapshot();
+        service.onStatusChanged(event(2L, 102L, Booking.BookingStatus.CANCELLED));
+        service.onStatusChanged(event(3L, 103L, Booking.BookingStatus.CONFIRMED));
+        // No close(): the process "crashes" and the last two records exist only in the journal tail.
+
+        // Act
+        BookingConflictIndex recovered = new BookingConflictIndex();
+        BookingJournalService restarted = new BookingJournalService(durable(), recovered, bookingRepository, directory.toString(), SEGMENT_SIZE, false, 1);
+        restarted.recover();
+
+        // Assert
+        assertEquals(4, restarted.lastSequence());
+        assertEquals(2, recovered.size());
+        assertTrue(recovered.hasConflict(101L, START, START.plusDays(1)));
+        assertFalse(recovered.hasConflict(102L, START, START.plusDays(1)));
+        assertTrue(recovered.hasConflict(103L, START, START.plusDays(1)));
+        restarted.close();
+    }
+
+    @Test
+    void journalService_WithoutDurableProfile_RebuildsIndexFromDatabase() throws IOException {
+        // Arrange: a journal left over from a previous run whose in-memory database is gone
+        BookingJournalService previous = new BookingJournalService(durable(), new BookingConflictIndex(),
+                bookingRepository, directory.toString(), SEGMENT_SIZE, false, 1);
+        previous.recover();
+        previous.onStatusChanged(event(1L, 101L, Booking.BookingStatus.CONFIRMED));
+        previous.close();
+        when(bookingRepository.findConfirmedEndingAfter(any())).thenReturn(List.of(booking(5L, 105L)));
+
+        // Act
+        BookingConflictIndex index = new BookingConflictIndex();
+        BookingJournalService service = new BookingJournalService(new MockEnvironment(), index, bookingRepository,
+                directory.toString(), SEGMENT_SIZE, false, 1);
+        service.recover();
+
+        // Assert
+        assertTrue(index.isAuthoritative());
+        assertFalse(index.hasConflict(101L, START, START.plusDays(1)));
+        assertTrue(index.hasConflict(105L, START, START.plusDays(1)));
+        assertEquals(0, service.lastSequence());
+        service.close();
+    }
+
+    @Test
+    void journalService_StaleMarker_RebuildsFromDatabaseInsteadOfReplaying() throws IOException {
+        // Arrange
+        BookingJournalService previous = new BookingJournalService(durable(), new BookingConflictIndex(),
+                bookingRepository, directory.toString(), SEGMENT_SIZE, false, 1);
+        previous.recover();
+        previous.onStatusChanged(event(1L, 101L, Booking.BookingStatus.CONFIRMED));
+        previous.close();
+        Files.createFile(directory.resolve("index.stale"));
+        when(bookingRepository.findConfirmedEndingAfter(any())).thenReturn(List.of());
+
+        // Act
+        BookingConflictIndex index = new BookingConflictIndex();
+        BookingJournalService service = new BookingJournalService(durable(), index, bookingRepository,
+                directory.toString(), SEGMENT_SIZE, false, 1);
+        service.recover();
+
+        // Assert
+        assertEquals(0, index.size());
+        assertFalse(Files.exists(directory.resolve("index.stale")));
+        service.close();
+    }
+
+    private Booking booking(long bookingId, long roomId) {
+        return Booking.builder()
+                .id(bookingId)
+                .roomId(roomId)
+                .startDate(START)
+                .endDate(START.plusDays(3))
+                .status(Booking.BookingStatus.CONFIRMED)
+                .build();
+    }
+
+    private MockEnvironment durable() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("durable");
+        return environment;
+    }
+
+    private JournalRecord record(long bookingId, Booking.BookingStatus status) {
+        return JournalRecord.of(new BookingStatusChangedEvent(bookingId, 100L + bookingId, 7L,
+                START.plusDays(bookingId), START.plusDays(bookingId + 2), status, "corr-" + bookingId));
+    }
+
+    private BookingStatusChangedEvent event(long bookingId, long roomId, Booking.BookingStatus status) {
+        return new BookingStatusChangedEvent(bookingId, roomId, 7L, START, START.plusDays(3), status, "corr-" + bookingId);
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = segments();
+        assertEquals(1, segments.size());
+        return segments.get(0);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    // Flips a byte inside the second record's payload, as if the process died halfway through writing it.
+    private void corruptLastPayloadByte(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            channel.read(header, 0);
+            int secondRecord = 8 + header.flip().getInt();
+            ByteBuffer corrupt = ByteBuffer.wrap(new byte[]{(byte) 0xFF});
+            channel.write(corrupt, secondRecord + 8 + 20);
+        }
+    }
+}
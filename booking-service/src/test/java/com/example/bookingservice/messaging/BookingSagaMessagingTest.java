@@ -0,0 +1,142 @@
+package com.example.bookingservice.messaging;
+
+import com.example.bookingservice.client.HotelServiceClient;
+import com.example.bookingservice.dto.AvailabilityReplyDTO;
+import com.example.bookingservice.dto.BookingDTO;
+import com.example.bookingservice.dto.BookingRequestDTO;
+import com.example.bookingservice.dto.BookingRequestedDTO;
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.Role;
+import com.example.bookingservice.entity.User;
+import com.example.bookingservice.repository.BookingRepository;
+import com.example.bookingservice.repository.OutboxEventRepository;
+import com.example.bookingservice.repository.UserRepository;
+import com.example.bookingservice.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// The test plays hotel-service: it takes BookingRequested off the embedded broker and sends the reply itself.
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "app.outbox.enabled=false",
+        "app.saga.enabled=true",
+        "spring.artemis.mode=embedded",
+        "spring.jms.template.receive-timeout=5000"
+})
+class BookingSagaMessagingTest {
+
+    private static final Long ROOM_ID = 101L;
+    private static final String REQUEST_QUEUE = "booking.availability.requests";
+    private static final String REPLY_QUEUE = "booking.availability.replies";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JmsTemplate jmsTemplate;
+
+    @MockitoBean
+    private HotelServiceClient hotelServiceClient;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("saga-user")
+                .password("secret")
+                .role(Role.USER)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        bookingRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createBooking_AvailabilityConfirmed_BookingBecomesConfirmed() throws InterruptedException {
+        // Act
+        BookingDTO pending = bookingService.createBooking(request(), user.getId());
+
+        // Assert
+        assertEquals(Booking.BookingStatus.PENDING, pending.getStatus());
+        verify(hotelServiceClient, never()).confirmAvailability(any(), any());
+
+        BookingRequestedDTO requested = (BookingRequestedDTO) jmsTemplate.receiveAndConvert(REQUEST_QUEUE);
+        assertNotNull(requested);
+        assertEquals(pending.getId(), requested.getBookingId());
+        assertEquals(ROOM_ID, requested.getRoomId());
+
+        jmsTemplate.convertAndSend(REPLY_QUEUE, reply(requested, true));
+
+        assertEquals(Booking.BookingStatus.CONFIRMED, awaitSettled(pending.getId()));
+    }
+
+    @Test
+    void createBooking_AvailabilityRejected_BookingBecomesCancelled() throws InterruptedException {
+        // Act
+        BookingDTO pending = bookingService.createBooking(request(), user.getId());
+        BookingRequestedDTO requested = (BookingRequestedDTO) jmsTemplate.receiveAndConvert(REQUEST_QUEUE);
+        assertNotNull(requested);
+
+        jmsTemplate.convertAndSend(REPLY_QUEUE, reply(requested, false));
+
+        // Assert
+        assertEquals(Booking.BookingStatus.CANCELLED, awaitSettled(pending.getId()));
+    }
+
+    private Booking.BookingStatus awaitSettled(Long bookingId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        Booking.BookingStatus status = bookingRepository.findById(bookingId).orElseThrow().getStatus();
+        while (status == Booking.BookingStatus.PENDING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            status = bookingRepository.findById(bookingId).orElseThrow().getStatus();
+        }
+        return status;
+    }
+
+    private AvailabilityReplyDTO reply(BookingRequestedDTO requested, boolean available) {
+        return AvailabilityReplyDTO.builder()
+                .correlationId(requested.getCorrelationId())
+                .roomId(requested.getRoomId())
+                .available(available)
+                .build();
+    }
+
+    private BookingRequestDTO request() {
+        LocalDate startDate = LocalDate.now().plusDays(10);
+        return BookingRequestDTO.builder()
+                .roomId(ROOM_ID)
+                .startDate(startDate)
+                .endDate(startDate.plusDays(3))
+                .autoSelect(false)
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.bookingservice.repository;
+
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.BookingArchive;
+import com.example.bookingservice.entity.Role;
+import com.example.bookingservice.entity.User;
+import com.example.bookingservice.journal.BookingConflictIndex;
+import com.example.bookingservice.service.BookingArchivalService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({BookingArchivalService.class, BookingConflictIndex.class})
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.archival.retention-days=30",
+        "app.archival.chunk-size=2",
+        "app.archival.throttle-ms=0",
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+class BookingArchivalTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingArchivalService bookingArchivalService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingArchiveRepository bookingArchiveRepository;
+
+    @Autowired
+    private BookingConflictIndex conflictIndex;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder()
+                .username("archived-user")
+                .password("secret")
+                .role(Role.USER)
+                .build());
+    }
+
+    @Test
+    void archiveFinishedBookings_MovesOnlyOldFinishedOrCancelledBookings() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        Long oldCancelled = persist(Booking.BookingStatus.CANCELLED, today.plusDays(10), now.minusDays(60), "old-cancelled");
+        persist(Booking.BookingStatus.CANCELLED, today.plusDays(10), now.minusDays(1), "fresh-cancelled");
+        Long longFinished = persist(Booking.BookingStatus.CONFIRMED, today.minusDays(40), now.minusDays(45), "long-finished");
+        persist(Booking.BookingStatus.CONFIRMED, today.minusDays(5), now.minusDays(45), "recently-finished");
+        Long stalePending = persist(Booking.BookingStatus.PENDING, today.minusDays(31), now.minusDays(35), "stale-pending");
+        persist(Booking.BookingStatus.CONFIRMED, today.plusDays(3), now.minusDays(2), "upcoming");
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        int archived = bookingArchivalService.archiveFinishedBookings();
+        entityManager.clear();
+
+        // Assert
+        assertEquals(3, archived);
+        assertEquals(3, bookingRepository.count());
+        assertTrue(bookingRepository.findAllById(List.of(oldCancelled, longFinished, stalePending)).isEmpty());
+
+        BookingArchive archivedCancellation = bookingArchiveRepository.findById(oldCancelled).orElseThrow();
+        assertEquals(Booking.BookingStatus.CANCELLED, archivedCancellation.getStatus());
+        assertEquals(user.getId(), archivedCancellation.getUserId());
+        assertEquals("old-cancelled", archivedCancellation.getCorrelationId());
+        assertNotNull(archivedCancellation.getArchivedAt());
+    }
+
+    @Test
+    void archiveFinishedBookings_RemovesArchivedBookingsFromConflictIndex() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Booking cancelled = entityManager.persist(booking(Booking.BookingStatus.CANCELLED, LocalDate.now().plusDays(10),
+                now.minusDays(60), "old-cancelled"));
+        Booking upcoming = entityManager.persist(booking(Booking.BookingStatus.CONFIRMED, LocalDate.now().plusDays(3),
+                now.minusDays(2), "upcoming"));
+        entityManager.flush();
+        conflictIndex.restore(List.of(BookingConflictIndex.Stay.of(cancelled), BookingConflictIndex.Stay.of(upcoming)));
+
+        // Act
+        bookingArchivalService.archiveFinishedBookings();
+
+        // Assert
+        assertEquals(List.of(upcoming.getId()), conflictIndex.stays().stream().map(BookingConflictIndex.Stay::bookingId).toList());
+    }
+
+    @Test
+    void archiveFinishedBookings_WhenNothingToArchive_ReturnsZero() {
+        // Arrange
+        persist(Booking.BookingStatus.CONFIRMED, LocalDate.now().plusDays(3), LocalDateTime.now(), "upcoming");
+        entityManager.flush();
+
+        // Act
+        int archived = bookingArchivalService.archiveFinishedBookings();
+
+        // Assert
+        assertEquals(0, archived);
+        assertEquals(0, bookingArchiveRepository.count());
+    }
+
+    @Test
+    void findByUserIdOrderByCreatedAtDesc_ReturnsArchivedHistoryNewestFirst() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        persist(Booking.BookingStatus.CANCELLED, LocalDate.now().minusDays(100), now.minusDays(120), "older");
+        persist(Booking.BookingStatus.CONFIRMED, LocalDate.now().minusDays(50), now.minusDays(60), "newer");
+        entityManager.flush();
+        entityManager.clear();
+        bookingArchivalService.archiveFinishedBookings();
+
+        // Act
+        List<BookingArchive> history = bookingArchiveRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+
+        // Assert
+        assertEquals(List.of("newer", "older"), history.stream().map(BookingArchive::getCorrelationId).toList());
+    }
+
+    private Long persist(Booking.BookingStatus status, LocalDate endDate, LocalDateTime createdAt, String correlationId) {
+        return entityManager.persist(booking(status, endDate, createdAt, correlationId)).getId();
+    }
+
+    private Booking booking(Booking.BookingStatus status, LocalDate endDate, LocalDateTime createdAt, String correlationId) {
+        return Booking.builder()
+                .user(user)
+                .roomId(101L)
+                .startDate(endDate.minusDays(2))
+                .endDate(endDate)
+                .status(status)
+                .createdAt(createdAt)
+                .correlationId(correlationId)
+                .build();
+    }
+}
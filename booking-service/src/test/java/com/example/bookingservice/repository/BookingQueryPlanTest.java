@@ -0,0 +1,139 @@
+package com.example.bookingservice.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks index usage on every build against 100k bookings; the full million takes minutes to load.
+ * Run at 1M with: mvn test -pl booking-service -Dbenchmark=true -Dtest=BookingQueryPlanTest
+ */
+@DataJpaTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+class BookingQueryPlanTest {
+
+    private static final int BOOKINGS = Boolean.getBoolean("benchmark") ? 1_000_000 : 100_000;
+    private static final int ROOMS = 1_000;
+    private static final int USERS = 100;
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void populate() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update(
+                "INSERT INTO users (username, password, role, created_at) " +
+                        "SELECT 'user' || X, 'secret', 'USER', CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + USERS + ")");
+
+        // Every room gets a chain of back-to-back three-day stays; every fifth one is cancelled.
+        jdbcTemplate.update(
+                "INSERT INTO bookings (user_id, room_id, start_date, end_date, status, created_at, correlation_id) " +
+                        "SELECT (SELECT MIN(id) FROM users) + MOD(X, " + USERS + "), " +
+                        "MOD(X, " + ROOMS + "), " +
+                        "DATEADD('DAY', (X / " + ROOMS + ") * 3, DATE '2030-01-01'), " +
+                        "DATEADD('DAY', (X / " + ROOMS + ") * 3 + 3, DATE '2030-01-01'), " +
+                        "CASE WHEN MOD(X, 5) = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END, " +
+                        "DATEADD('SECOND', X, TIMESTAMP '2030-01-01 00:00:00'), " +
+                        "'corr-' || X " +
+                        "FROM SYSTEM_RANGE(1, " + BOOKINGS + ")");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void existsConflictingBooking_UsesRoomStatusDatesIndex() {
+        String plan = explainAnalyze(BookingRepository.EXISTS_CONFLICTING_BOOKING_SQL
+                .replace(":roomId", "42")
+                .replace(":startDate", "DATE '2030-06-01'")
+                .replace(":endDate", "DATE '2030-06-05'"));
+
+        assertTrue(plan.contains("IDX_BOOKINGS_ROOM_STATUS_DATES"), plan);
+        assertTrue(maxScanCount(plan) < 1_000, plan);
+    }
+
+    @Test
+    void existsConflictingBooking_ReturnsExpectedResults() {
+        LocalDate start = LocalDate.of(2030, 6, 1);
+
+        assertTrue(bookingRepository.existsConflictingBooking(42L, start, start.plusDays(4)));
+        assertFalse(bookingRepository.existsConflictingBooking(42L, LocalDate.of(2040, 1, 1), LocalDate.of(2040, 1, 5)));
+        assertFalse(bookingRepository.existsConflictingBooking(ROOMS + 1L, start, start.plusDays(4)));
+    }
+
+    @Test
+    void userHistory_ReadsOnlyTheUsersRows() {
+        Long userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+
+        String plan = explainAnalyze("SELECT * FROM bookings b WHERE b.user_id = " + userId + " ORDER BY b.created_at DESC");
+
+        // H2 keeps its own index for the foreign key and picks it on a cost tie, so only assert the lookup is keyed by user_id.
+        assertTrue(plan.contains("USER_ID = "), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+        assertTrue(maxScanCount(plan) <= BOOKINGS / USERS + 1, plan);
+        assertEquals(BOOKINGS / USERS, bookingRepository.findByUserIdOrderByCreatedAtDesc(userId).size());
+    }
+
+    @Test
+    void archivableCancelled_UsesStatusCreatedIndex() {
+        String plan = explainAnalyze("SELECT b.id FROM bookings b WHERE b.status = 'CANCELLED' " +
+                "AND b.created_at < TIMESTAMP '2030-01-01 01:00:00' ORDER BY b.created_at FETCH FIRST 500 ROWS ONLY");
+
+        assertTrue(plan.contains("IDX_BOOKINGS_STATUS_CREATED"), plan);
+        assertTrue(maxScanCount(plan) < 10_000, plan);
+    }
+
+    @Test
+    void archivableFinished_UsesEndDateIndex() {
+        String plan = explainAnalyze("SELECT b.id FROM bookings b WHERE b.end_date < DATE '2030-01-04' " +
+                "AND NOT (b.status = 'CANCELLED' AND b.created_at < TIMESTAMP '2030-01-01 01:00:00') " +
+                "ORDER BY b.end_date FETCH FIRST 500 ROWS ONLY");
+
+        assertTrue(plan.contains("IDX_BOOKINGS_END_DATE"), plan);
+        assertTrue(maxScanCount(plan) < 10_000, plan);
+    }
+
+    private String explainAnalyze(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN ANALYZE " + sql, String.class);
+    }
+
+    private int maxScanCount(String plan) {
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        int max = 0;
+        while (matcher.find()) {
+            max = Math.max(max, Integer.parseInt(matcher.group(1)));
+        }
+        return max;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.bookingservice.repository;
+
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void findDue_SkipsPublishedAndBackingOffEvents() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent fresh = persist(null, null);
+        OutboxEvent retryDue = persist(null, now.minusSeconds(1));
+        persist(null, now.plusMinutes(1));
+        persist(now.minusMinutes(1), null);
+
+        // Act
+        List<OutboxEvent> due = outboxEventRepository.findDue(now, Limit.of(10));
+
+        // Assert
+        assertEquals(List.of(fresh.getId(), retryDue.getId()), due.stream().map(OutboxEvent::getId).toList());
+    }
+
+    @Test
+    void scheduleRetry_IncrementsAttemptsAndDefersEvent() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent event = persist(null, null);
+
+        // Act
+        outboxEventRepository.scheduleRetry(List.of(event.getId()), now.plusSeconds(30));
+        entityManager.clear();
+
+        // Assert
+        OutboxEvent reloaded = entityManager.find(OutboxEvent.class, event.getId());
+        assertEquals(1, reloaded.getAttempts());
+        assertTrue(outboxEventRepository.findDue(now, Limit.of(10)).isEmpty());
+        assertEquals(1, outboxEventRepository.findDue(now.plusSeconds(31), Limit.of(10)).size());
+    }
+
+    @Test
+    void deadLetter_ParksEventOutOfDeliveryAndLag() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent parked = persist(null, null);
+        OutboxEvent next = persist(null, null);
+
+        // Act
+        outboxEventRepository.deadLetter(List.of(parked.getId()), now);
+        entityManager.clear();
+
+        // Assert
+        OutboxEvent reloaded = entityManager.find(OutboxEvent.class, parked.getId());
+        assertEquals(1, reloaded.getAttempts());
+        assertNotNull(reloaded.getDeadLetteredAt());
+        assertEquals(List.of(next.getId()), outboxEventRepository.findDue(now, Limit.of(10)).stream()
+                .map(OutboxEvent::getId).toList());
+        assertEquals(next.getId(), outboxEventRepository.findFirstByPublishedAtIsNullAndDeadLetteredAtIsNullOrderByIdAsc()
+                .orElseThrow().getId());
+    }
+
+    private OutboxEvent persist(LocalDateTime publishedAt, LocalDateTime nextAttemptAt) {
+        OutboxEvent event = entityManager.persist(OutboxEvent.builder()
+                .bookingId(1L)
+                .roomId(101L)
+                .correlationId("corr")
+                .status(Booking.BookingStatus.CANCELLED)
+                .publishedAt(publishedAt)
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+        entityManager.flush();
+        return event;
+    }
+}
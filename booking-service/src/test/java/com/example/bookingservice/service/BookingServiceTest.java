@@ -1,16 +1,23 @@
 package com.example.bookingservice.service;
 
 import com.example.bookingservice.client.HotelServiceClient;
+import com.example.bookingservice.dto.AvailabilityReplyDTO;
 import com.example.bookingservice.dto.AvailabilityRequestDTO;
 import com.example.bookingservice.dto.BookingDTO;
 import com.example.bookingservice.dto.BookingRequestDTO;
 import com.example.bookingservice.dto.RoomDTO;
 import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.BookingArchive;
+import com.example.bookingservice.entity.OutboxEvent;
 import com.example.bookingservice.entity.User;
 import com.example.bookingservice.exception.BookingConflictException;
 import com.example.bookingservice.exception.BookingNotFoundException;
+import com.example.bookingservice.journal.BookingConflictIndex;
 import com.example.bookingservice.mapper.BookingMapper;
+import com.example.bookingservice.messaging.BookingSagaPublisher;
+import com.example.bookingservice.repository.BookingArchiveRepository;
 import com.example.bookingservice.repository.BookingRepository;
+import com.example.bookingservice.repository.OutboxEventRepository;
 import com.example.bookingservice.repository.UserRepository;
 import feign.FeignException;
 import feign.Request;
@@ -19,9 +26,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.retry.annotation.EnableRetry;
 
 import java.time.LocalDate;
@@ -53,6 +64,30 @@ class BookingServiceTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private BookingArchiveRepository bookingArchiveRepository;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private BookingConflictIndex conflictIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<BookingSagaPublisher> sagaPublisher;
+
+    @Mock
+    private RoomCatalogReplica roomCatalog;
+
+    @Mock
+    private RecommendedRoomsCache recommendedRoomsCache;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -157,7 +192,7 @@ class BookingServiceTest {
             return booking;
         });
         when(hotelServiceClient.confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class))).thenReturn(true);
-        when(bookingRepository.findConflictingBookings(101L, tomorrow, nextWeek)).thenReturn(Collections.emptyList());
+        when(bookingRepository.confirmIfNoConflict(1L, 101L, tomorrow, nextWeek)).thenReturn(1);
 
         BookingDTO bookingDTO = BookingDTO.builder()
                 .id(1L)
@@ -179,9 +214,50 @@ class BookingServiceTest {
 
         verify(userRepository, times(1)).findById(1L);
         verify(bookingRepository, times(1)).existsConflictingBooking(101L, tomorrow, nextWeek);
-        verify(bookingRepository, times(2)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).confirmIfNoConflict(1L, 101L, tomorrow, nextWeek);
         verify(hotelServiceClient, times(1)).confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class));
         verify(bookingMapper, times(1)).toDto(any(Booking.class));
+
+        ArgumentCaptor<OutboxEvent> eventCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(1)).save(eventCaptor.capture());
+        assertEquals(Booking.BookingStatus.CONFIRMED, eventCaptor.getValue().getStatus());
+        assertEquals(1L, eventCaptor.getValue().getBookingId());
+        assertEquals(101L, eventCaptor.getValue().getRoomId());
+        assertNotNull(eventCaptor.getValue().getCorrelationId());
+
+        ArgumentCaptor<BookingStatusChangedEvent> statusCaptor = ArgumentCaptor.forClass(BookingStatusChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(statusCaptor.capture());
+        assertEquals(Booking.BookingStatus.PENDING, statusCaptor.getAllValues().get(0).status());
+        assertEquals(Booking.BookingStatus.CONFIRMED, statusCaptor.getAllValues().get(1).status());
+    }
+
+    @Test
+    void createBooking_CallsHotelServiceBetweenTransactions() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(bookingRepository.existsConflictingBooking(101L, tomorrow, nextWeek)).thenReturn(false);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+        when(hotelServiceClient.confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class))).thenReturn(true);
+        when(bookingRepository.confirmIfNoConflict(1L, 101L, tomorrow, nextWeek)).thenReturn(1);
+
+        // Act
+        bookingService.createBooking(validRequest, 1L);
+
+        // Assert: the lease insert commits before the remote call, the confirm runs in a transaction after it
+        InOrder inOrder = inOrder(transactionManager, hotelServiceClient, bookingRepository);
+        inOrder.verify(transactionManager, calls(2)).commit(any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(bookingRepository).save(any(Booking.class));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(hotelServiceClient).confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class));
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(bookingRepository).confirmIfNoConflict(1L, 101L, tomorrow, nextWeek);
+        inOrder.verify(transactionManager).commit(any());
     }
 
     @Test
@@ -194,7 +270,7 @@ class BookingServiceTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(hotelServiceClient.getRecommendedRooms()).thenReturn(Arrays.asList(testRoom));
+        when(recommendedRoomsCache.get()).thenReturn(Arrays.asList(testRoom));
         when(bookingRepository.existsConflictingBooking(101L, tomorrow, nextWeek)).thenReturn(false);
         when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
@@ -202,7 +278,7 @@ class BookingServiceTest {
             return booking;
         });
         when(hotelServiceClient.confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class))).thenReturn(true);
-        when(bookingRepository.findConflictingBookings(101L, tomorrow, nextWeek)).thenReturn(Collections.emptyList());
+        when(bookingRepository.confirmIfNoConflict(1L, 101L, tomorrow, nextWeek)).thenReturn(1);
 
         BookingDTO bookingDTO = BookingDTO.builder()
                 .id(1L)
@@ -219,10 +295,68 @@ class BookingServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(hotelServiceClient, times(1)).getRecommendedRooms();
+        verify(recommendedRoomsCache, times(1)).get();
         verify(bookingRepository).existsConflictingBooking(101L, tomorrow, nextWeek);
     }
 
+    @Test
+    void createBooking_AutoSelectRoomTaken_FallsThroughToNextCandidate() {
+        // Arrange
+        BookingRequestDTO autoSelectRequest = BookingRequestDTO.builder()
+                .startDate(tomorrow)
+                .endDate(nextWeek)
+                .autoSelect(true)
+                .build();
+        RoomDTO takenRoom = RoomDTO.builder().id(102L).hotelId(1L).number("102").available(true).build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(recommendedRoomsCache.get()).thenReturn(Arrays.asList(takenRoom, testRoom));
+        // The pick starts at a random candidate, so the taken room may never be tried
+        lenient().when(bookingRepository.existsConflictingBooking(102L, tomorrow, nextWeek)).thenReturn(true);
+        lenient().when(bookingRepository.findConflictingBookings(102L, tomorrow, nextWeek)).thenReturn(List.of(testBooking));
+        when(bookingRepository.existsConflictingBooking(101L, tomorrow, nextWeek)).thenReturn(false);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+        when(hotelServiceClient.confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class))).thenReturn(true);
+        when(bookingRepository.confirmIfNoConflict(1L, 101L, tomorrow, nextWeek)).thenReturn(1);
+
+        // Act
+        bookingService.createBooking(autoSelectRequest, 1L);
+
+        // Assert
+        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository).save(bookingCaptor.capture());
+        assertEquals(101L, bookingCaptor.getValue().getRoomId());
+        verify(hotelServiceClient, never()).confirmAvailability(eq(102L), any(AvailabilityRequestDTO.class));
+    }
+
+    @Test
+    void createBooking_AutoSelectAllCandidatesTaken_ThrowsConflict() {
+        // Arrange
+        BookingRequestDTO autoSelectRequest = BookingRequestDTO.builder()
+                .startDate(tomorrow)
+                .endDate(nextWeek)
+                .autoSelect(true)
+                .build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(recommendedRoomsCache.get()).thenReturn(Arrays.asList(testRoom));
+        when(bookingRepository.existsConflictingBooking(101L, tomorrow, nextWeek)).thenReturn(false);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+        when(hotelServiceClient.confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class))).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(BookingConflictException.class, () -> bookingService.createBooking(autoSelectRequest, 1L));
+        verify(hotelServiceClient, times(1)).confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class));
+    }
+
     @Test
     void createBooking_AutoSelectNoRoomsAvailable_ThrowsException() {
         // Arrange
@@ -233,7 +367,7 @@ class BookingServiceTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(hotelServiceClient.getRecommendedRooms()).thenReturn(Collections.emptyList());
+        when(recommendedRoomsCache.get()).thenReturn(Collections.emptyList());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -241,10 +375,78 @@ class BookingServiceTest {
         });
 
         assertTrue(exception.getMessage().contains("No available rooms found"));
-        verify(hotelServiceClient, times(1)).getRecommendedRooms();
+        verify(recommendedRoomsCache, times(1)).get();
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void createBooking_AutoSelectWithFreshReplica_SkipsHotelServiceLookup() {
+        // Arrange
+        BookingRequestDTO autoSelectRequest = BookingRequestDTO.builder()
+                .startDate(tomorrow)
+                .endDate(nextWeek)
+                .autoSelect(true)
+                .build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(roomCatalog.recommendedRooms()).thenReturn(Optional.of(List.of(testRoom)));
+        when(bookingRepository.existsConflictingBooking(101L, tomorrow, nextWeek)).thenReturn(false);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+        when(hotelServiceClient.confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class))).thenReturn(true);
+        when(bookingRepository.confirmIfNoConflict(1L, 101L, tomorrow, nextWeek)).thenReturn(1);
+        when(bookingMapper.toDto(any(Booking.class))).thenReturn(BookingDTO.builder().id(1L).roomId(101L).build());
+
+        // Act
+        BookingDTO result = bookingService.createBooking(autoSelectRequest, 1L);
+
+        // Assert
+        assertEquals(101L, result.getRoomId());
+        verify(recommendedRoomsCache, never()).get();
+    }
+
+    @Test
+    void createBooking_RoomUnknownToFreshReplica_FallsThroughToHotelService() {
+        // Arrange: the room was created after the replica's last refresh
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(roomCatalog.isFresh()).thenReturn(true);
+        when(roomCatalog.findRoom(101L)).thenReturn(Optional.empty());
+        when(bookingRepository.existsConflictingBooking(101L, tomorrow, nextWeek)).thenReturn(false);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+        when(hotelServiceClient.confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class))).thenReturn(true);
+        when(bookingRepository.confirmIfNoConflict(1L, 101L, tomorrow, nextWeek)).thenReturn(1);
+
+        // Act
+        bookingService.createBooking(validRequest, 1L);
+
+        // Assert
+        verify(hotelServiceClient).confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class));
+        verify(bookingRepository).confirmIfNoConflict(1L, 101L, tomorrow, nextWeek);
+    }
+
+    @Test
+    void createBooking_RoomUnavailableInFreshReplica_ThrowsWithoutCallingHotelService() {
+        // Arrange
+        testRoom.setAvailable(false);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(roomCatalog.isFresh()).thenReturn(true);
+        when(roomCatalog.findRoom(101L)).thenReturn(Optional.of(testRoom));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> bookingService.createBooking(validRequest, 1L));
+
+        assertEquals("Room not available", exception.getMessage());
+        verifyNoInteractions(hotelServiceClient);
+    }
+
     @Test
     void createBooking_UserNotFound_ThrowsException() {
         // Arrange
@@ -276,6 +478,29 @@ class BookingServiceTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void createBooking_IndexRulesOutConflict_SkipsDatabaseCheck() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(conflictIndex.isDefinitelyFree(101L, tomorrow, nextWeek)).thenReturn(true);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+        when(hotelServiceClient.confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class))).thenReturn(true);
+        when(bookingRepository.confirmIfNoConflict(1L, 101L, tomorrow, nextWeek)).thenReturn(1);
+        when(bookingMapper.toDto(any(Booking.class))).thenReturn(BookingDTO.builder().id(1L).build());
+
+        // Act
+        BookingDTO result = bookingService.createBooking(validRequest, 1L);
+
+        // Assert
+        assertNotNull(result);
+        verify(bookingRepository, never()).existsConflictingBooking(any(), any(), any());
+        verify(bookingRepository).confirmIfNoConflict(1L, 101L, tomorrow, nextWeek);
+    }
+
     @Test
     void createBooking_InvalidDates_StartDateInPast_ThrowsException() {
         // Arrange
@@ -359,7 +584,7 @@ class BookingServiceTest {
     }
 
     @Test
-    void createBooking_RoomNotAvailable_CancelsBooking() {
+    void createBooking_RoomNotAvailable_CancelsPendingLease() {
         // Arrange
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(bookingRepository.existsConflictingBooking(101L, tomorrow, nextWeek)).thenReturn(false);
@@ -377,12 +602,11 @@ class BookingServiceTest {
 
         assertTrue(exception.getMessage().contains("Room not available"));
 
-        // Verify booking was saved with CANCELLED status
-        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
-        verify(bookingRepository, times(2)).save(bookingCaptor.capture());
-
-        // Первое сохранение - PENDING, второе - CANCELLED
-        assertEquals(Booking.BookingStatus.CANCELLED, bookingCaptor.getAllValues().get(1).getStatus());
+        // The lease row was written before the hotel call, so the refusal cancels it instead of confirming
+        verify(bookingRepository, never()).confirmIfNoConflict(any(), any(), any(), any());
+        ArgumentCaptor<OutboxEvent> eventCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(eventCaptor.capture());
+        assertEquals(Booking.BookingStatus.CANCELLED, eventCaptor.getValue().getStatus());
     }
 
     @Test
@@ -395,7 +619,7 @@ class BookingServiceTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(hotelServiceClient.getRecommendedRooms()).thenThrow(createUnauthorizedException());
+        when(recommendedRoomsCache.get()).thenThrow(createUnauthorizedException());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -416,7 +640,7 @@ class BookingServiceTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(hotelServiceClient.getRecommendedRooms()).thenThrow(createForbiddenException());
+        when(recommendedRoomsCache.get()).thenThrow(createForbiddenException());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -437,7 +661,7 @@ class BookingServiceTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(hotelServiceClient.getRecommendedRooms()).thenThrow(createBadGatewayException());
+        when(recommendedRoomsCache.get()).thenThrow(createBadGatewayException());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -449,17 +673,8 @@ class BookingServiceTest {
     }
 
     @Test
-    void createBooking_ConflictDetectedBeforeConfirmation_CancelsBooking() {
+    void createBooking_ConflictDetectedBeforeConfirmation_CancelsThroughOutbox() {
         // Arrange
-        Booking conflictingBooking = Booking.builder()
-                .id(2L)
-                .user(testUser)
-                .roomId(101L)
-                .startDate(tomorrow)
-                .endDate(nextWeek)
-                .status(Booking.BookingStatus.CONFIRMED)
-                .build();
-
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(bookingRepository.existsConflictingBooking(101L, tomorrow, nextWeek)).thenReturn(false);
         when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
@@ -468,8 +683,7 @@ class BookingServiceTest {
             return booking;
         });
         when(hotelServiceClient.confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class))).thenReturn(true);
-        when(bookingRepository.findConflictingBookings(101L, tomorrow, nextWeek))
-                .thenReturn(Arrays.asList(conflictingBooking));
+        when(bookingRepository.confirmIfNoConflict(1L, 101L, tomorrow, nextWeek)).thenReturn(0);
 
         // Act & Assert
         BookingConflictException exception = assertThrows(BookingConflictException.class, () -> {
@@ -478,26 +692,26 @@ class BookingServiceTest {
 
         assertEquals("Room is no longer available for selected dates", exception.getMessage());
 
-        // Verify booking was cancelled
-        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
-        verify(bookingRepository, times(2)).save(bookingCaptor.capture());
-        assertEquals(Booking.BookingStatus.CANCELLED, bookingCaptor.getAllValues().get(1).getStatus());
+        // The conditional update missed: the booking is cancelled and the outbox row gives the hold back
+        verify(bookingRepository, times(2)).save(any(Booking.class));
+        ArgumentCaptor<OutboxEvent> eventCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(eventCaptor.capture());
+        assertEquals(Booking.BookingStatus.CANCELLED, eventCaptor.getValue().getStatus());
+        verify(hotelServiceClient, never()).releaseTemporaryLock(anyLong(), anyString());
     }
 
     @Test
-    void createBooking_FeignExceptionDuringConfirmation_CancelsBookingAndReleasesLock() {
+    void createBooking_FeignExceptionDuringHold_CancelsThroughOutbox() {
         // Arrange
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(bookingRepository.existsConflictingBooking(101L, tomorrow, nextWeek)).thenReturn(false);
         when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
             booking.setId(1L);
-            booking.setCorrelationId("test-correlation-id");
             return booking;
         });
         when(hotelServiceClient.confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class)))
                 .thenThrow(createGenericFeignException());
-        doNothing().when(hotelServiceClient).releaseTemporaryLock(anyLong(), anyString());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -506,11 +720,12 @@ class BookingServiceTest {
 
         assertTrue(exception.getMessage().contains("Booking failed"));
 
-        // Verify booking was cancelled and lock was released
-        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
-        verify(bookingRepository, times(2)).save(bookingCaptor.capture());
-        assertEquals(Booking.BookingStatus.CANCELLED, bookingCaptor.getAllValues().get(1).getStatus());
-        verify(hotelServiceClient, times(1)).releaseTemporaryLock(eq(101L), anyString());
+        // Whether or not hotel-service took the hold, the CANCELLED outbox row releases it durably
+        ArgumentCaptor<OutboxEvent> eventCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(eventCaptor.capture());
+        assertEquals(Booking.BookingStatus.CANCELLED, eventCaptor.getValue().getStatus());
+        assertEquals(101L, eventCaptor.getValue().getRoomId());
+        verify(hotelServiceClient, never()).releaseTemporaryLock(anyLong(), anyString());
     }
 
     @Test
@@ -542,6 +757,42 @@ class BookingServiceTest {
         verify(bookingMapper, times(1)).toDtoList(bookings);
     }
 
+    @Test
+    void getUserBookingsIncludingArchived_MergesHotAndArchivedNewestFirst() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Booking recent = Booking.builder().id(3L).user(testUser).createdAt(now.minusDays(1)).build();
+        Booking cancelledLongAgo = Booking.builder().id(4L).user(testUser).createdAt(now.minusDays(200)).build();
+        BookingArchive archivedNewer = BookingArchive.builder().id(2L).userId(1L).createdAt(now.minusDays(100)).build();
+        BookingArchive archivedOlder = BookingArchive.builder().id(1L).userId(1L).createdAt(now.minusDays(300)).build();
+
+        when(bookingRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(List.of(recent, cancelledLongAgo));
+        when(bookingArchiveRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(List.of(archivedNewer, archivedOlder));
+        when(bookingMapper.toDto(any(Booking.class)))
+                .thenAnswer(invocation -> BookingDTO.builder().id(invocation.<Booking>getArgument(0).getId()).build());
+        when(bookingMapper.fromArchive(any(BookingArchive.class)))
+                .thenAnswer(invocation -> BookingDTO.builder().id(invocation.<BookingArchive>getArgument(0).getId()).build());
+
+        // Act
+        List<BookingDTO> result = bookingService.getUserBookingsIncludingArchived(1L);
+
+        // Assert
+        assertEquals(List.of(3L, 2L, 4L, 1L), result.stream().map(BookingDTO::getId).toList());
+    }
+
+    @Test
+    void getUserBookings_DoesNotTouchArchive() {
+        // Arrange
+        when(bookingRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(Collections.emptyList());
+        when(bookingMapper.toDtoList(Collections.emptyList())).thenReturn(Collections.emptyList());
+
+        // Act
+        bookingService.getUserBookings(1L);
+
+        // Assert
+        verifyNoInteractions(bookingArchiveRepository);
+    }
+
     @Test
     void getUserBookings_NoBookings_ReturnsEmptyList() {
         // Arrange
@@ -618,6 +869,11 @@ class BookingServiceTest {
         verify(bookingRepository, times(1)).findByIdAndUserId(1L, 1L);
         verify(bookingRepository, times(1)).save(confirmedBooking);
         assertEquals(Booking.BookingStatus.CANCELLED, confirmedBooking.getStatus());
+
+        ArgumentCaptor<OutboxEvent> eventCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(1)).save(eventCaptor.capture());
+        assertEquals(Booking.BookingStatus.CANCELLED, eventCaptor.getValue().getStatus());
+        assertEquals(1L, eventCaptor.getValue().getBookingId());
     }
 
     @Test
@@ -640,6 +896,7 @@ class BookingServiceTest {
         // Assert
         verify(bookingRepository, times(1)).findByIdAndUserId(1L, 1L);
         verify(bookingRepository, never()).save(any());
+        verify(outboxEventRepository, never()).save(any());
         assertEquals(Booking.BookingStatus.PENDING, pendingBooking.getStatus());
     }
 
@@ -680,6 +937,137 @@ class BookingServiceTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void createBooking_SagaEnabled_PublishesRequestAndReturnsPending() {
+        // Arrange
+        BookingSagaPublisher publisher = mock(BookingSagaPublisher.class);
+        when(sagaPublisher.getIfAvailable()).thenReturn(publisher);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(bookingRepository.existsConflictingBooking(101L, tomorrow, nextWeek)).thenReturn(false);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+        when(bookingMapper.toDto(any(Booking.class))).thenReturn(BookingDTO.builder()
+                .id(1L)
+                .status(Booking.BookingStatus.PENDING)
+                .build());
+
+        // Act
+        BookingDTO result = bookingService.createBooking(validRequest, 1L);
+
+        // Assert
+        assertEquals(Booking.BookingStatus.PENDING, result.getStatus());
+
+        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
+        verify(publisher, times(1)).requestAvailability(bookingCaptor.capture());
+        assertEquals(Booking.BookingStatus.PENDING, bookingCaptor.getValue().getStatus());
+        assertNotNull(bookingCaptor.getValue().getCorrelationId());
+
+        verify(hotelServiceClient, never()).confirmAvailability(any(), any());
+        verify(bookingRepository, never()).confirmIfNoConflict(any(), any(), any(), any());
+        verify(outboxEventRepository, never()).save(any());
+    }
+
+    @Test
+    void completeBookingSaga_Available_ConfirmsBooking() {
+        // Arrange
+        testBooking.setStatus(Booking.BookingStatus.PENDING);
+        when(bookingRepository.findWithLockByCorrelationId("test-correlation-id")).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.confirmIfNoConflict(1L, 101L, tomorrow, nextWeek)).thenReturn(1);
+
+        // Act
+        bookingService.completeBookingSaga(reply(true));
+
+        // Assert
+        assertEquals(Booking.BookingStatus.CONFIRMED, testBooking.getStatus());
+
+        ArgumentCaptor<OutboxEvent> eventCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(1)).save(eventCaptor.capture());
+        assertEquals(Booking.BookingStatus.CONFIRMED, eventCaptor.getValue().getStatus());
+    }
+
+    @Test
+    void completeBookingSaga_Rejected_CancelsBooking() {
+        // Arrange
+        testBooking.setStatus(Booking.BookingStatus.PENDING);
+        when(bookingRepository.findWithLockByCorrelationId("test-correlation-id")).thenReturn(Optional.of(testBooking));
+
+        // Act
+        bookingService.completeBookingSaga(reply(false));
+
+        // Assert
+        assertEquals(Booking.BookingStatus.CANCELLED, testBooking.getStatus());
+        verify(bookingRepository, never()).confirmIfNoConflict(any(), any(), any(), any());
+        verify(bookingRepository, times(1)).save(testBooking);
+
+        ArgumentCaptor<OutboxEvent> eventCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(1)).save(eventCaptor.capture());
+        assertEquals(Booking.BookingStatus.CANCELLED, eventCaptor.getValue().getStatus());
+    }
+
+    @Test
+    void completeBookingSaga_ConflictBeforeConfirmation_CancelsBooking() {
+        // Arrange
+        testBooking.setStatus(Booking.BookingStatus.PENDING);
+        when(bookingRepository.findWithLockByCorrelationId("test-correlation-id")).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.confirmIfNoConflict(1L, 101L, tomorrow, nextWeek)).thenReturn(0);
+
+        // Act
+        bookingService.completeBookingSaga(reply(true));
+
+        // Assert
+        assertEquals(Booking.BookingStatus.CANCELLED, testBooking.getStatus());
+
+        ArgumentCaptor<OutboxEvent> eventCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(1)).save(eventCaptor.capture());
+        assertEquals(Booking.BookingStatus.CANCELLED, eventCaptor.getValue().getStatus());
+    }
+
+    @Test
+    void completeBookingSaga_DuplicateReply_IsIgnored() {
+        // Arrange
+        when(bookingRepository.findWithLockByCorrelationId("test-correlation-id")).thenReturn(Optional.of(testBooking));
+
+        // Act
+        bookingService.completeBookingSaga(reply(true));
+
+        // Assert
+        assertEquals(Booking.BookingStatus.CONFIRMED, testBooking.getStatus());
+        verify(bookingRepository, never()).confirmIfNoConflict(any(), any(), any(), any());
+        verify(bookingRepository, never()).save(any());
+        verify(outboxEventRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelExpiredHolds_CancelsLockedPendingBookingsThroughOutbox() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        testBooking.setStatus(Booking.BookingStatus.PENDING);
+        when(bookingRepository.findExpiredHoldsForUpdate(eq(now), any())).thenReturn(List.of(testBooking));
+
+        // Act
+        int cancelled = bookingService.cancelExpiredHolds(now, 100);
+
+        // Assert
+        assertEquals(1, cancelled);
+        assertEquals(Booking.BookingStatus.CANCELLED, testBooking.getStatus());
+
+        ArgumentCaptor<OutboxEvent> eventCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(1)).save(eventCaptor.capture());
+        assertEquals(Booking.BookingStatus.CANCELLED, eventCaptor.getValue().getStatus());
+        assertEquals("test-correlation-id", eventCaptor.getValue().getCorrelationId());
+    }
+
+    private AvailabilityReplyDTO reply(boolean available) {
+        return AvailabilityReplyDTO.builder()
+                .correlationId("test-correlation-id")
+                .roomId(101L)
+                .available(available)
+                .build();
+    }
+
     @Test
     void testValidateBookingDates_NullStartDate() {
         // Arrange
@@ -718,34 +1106,6 @@ class BookingServiceTest {
         assertEquals("Start date and end date are required", exception.getMessage());
     }
 
-    @Test
-    void createBooking_FeignExceptionDuringConfirmation_FailsToReleaseLock() {
-        // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(bookingRepository.existsConflictingBooking(101L, tomorrow, nextWeek)).thenReturn(false);
-        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
-            Booking booking = invocation.getArgument(0);
-            booking.setId(1L);
-            booking.setCorrelationId("test-correlation-id");
-            return booking;
-        });
-        when(hotelServiceClient.confirmAvailability(eq(101L), any(AvailabilityRequestDTO.class)))
-                .thenThrow(createGenericFeignException());
-        doThrow(new RuntimeException("Failed to release lock"))
-                .when(hotelServiceClient).releaseTemporaryLock(anyLong(), anyString());
-
-        // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            bookingService.createBooking(validRequest, 1L);
-        });
-
-        assertTrue(exception.getMessage().contains("Booking failed"));
-
-        // Verify booking was cancelled and release lock was attempted
-        verify(bookingRepository, times(2)).save(any(Booking.class));
-        verify(hotelServiceClient, times(1)).releaseTemporaryLock(anyLong(), anyString());
-    }
-
     @Test
     void createBooking_MultipleConflictingBookings_ThrowsExceptionWithCount() {
         // Arrange
@@ -0,0 +1,195 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.client.HotelServiceClient;
+import com.example.bookingservice.dto.AvailabilityRequestDTO;
+import com.example.bookingservice.dto.BookingDTO;
+import com.example.bookingservice.dto.BookingRequestDTO;
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.Role;
+import com.example.bookingservice.entity.User;
+import com.example.bookingservice.exception.BookingConflictException;
+import com.example.bookingservice.repository.BookingRepository;
+import com.example.bookingservice.repository.OutboxEventRepository;
+import com.example.bookingservice.repository.UserRepository;
+import com.example.bookingservice.util.QueryBudget;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "app.outbox.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.bookingservice.service.SqlStatementRecorder"
+})
+class BookingStatementCountTest {
+
+    private static final Long ROOM_ID = 101L;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private HotelServiceClient hotelServiceClient;
+
+    private User user;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("statement-count-user")
+                .password("secret")
+                .role(Role.USER)
+                .build());
+        startDate = LocalDate.now().plusDays(10);
+        endDate = startDate.plusDays(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        bookingRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createBooking_Success_InsertsOnceAndUpdatesStatusOnce() {
+        // Arrange
+        when(hotelServiceClient.confirmAvailability(eq(ROOM_ID), any(AvailabilityRequestDTO.class))).thenReturn(true);
+
+        // Act
+        SqlStatementRecorder.start();
+        BookingDTO result = QueryBudget.assertAtMost(5, () -> bookingService.createBooking(request(), user.getId()));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // Assert
+        assertEquals(Booking.BookingStatus.CONFIRMED, result.getStatus());
+        assertEquals(Booking.BookingStatus.CONFIRMED, bookingRepository.findById(result.getId()).orElseThrow().getStatus());
+        assertEquals(1, SqlStatementRecorder.count(statements, "insert into bookings"), statements::toString);
+        assertEquals(1, SqlStatementRecorder.count(statements, "update bookings"), statements::toString);
+        assertEquals(1, SqlStatementRecorder.count(statements, "insert into booking_outbox"), statements::toString);
+        // user lookup, conflict pre-check, insert, conditional confirm, outbox insert
+        assertEquals(5, statements.size(), statements::toString);
+    }
+
+    @Test
+    void createBooking_RoomNotAvailable_CancelsPendingLease() {
+        // Arrange
+        when(hotelServiceClient.confirmAvailability(eq(ROOM_ID), any(AvailabilityRequestDTO.class))).thenReturn(false);
+
+        // Act
+        SqlStatementRecorder.start();
+        assertThrows(RuntimeException.class, () -> bookingService.createBooking(request(), user.getId()));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // Assert: the lease committed before the hotel call and is cancelled through the outbox afterwards
+        assertEquals(1, SqlStatementRecorder.count(statements, "insert into bookings"), statements::toString);
+        assertEquals(1, SqlStatementRecorder.count(statements, "update bookings"), statements::toString);
+        assertEquals(1, SqlStatementRecorder.count(statements, "insert into booking_outbox"), statements::toString);
+        assertEquals(Booking.BookingStatus.CANCELLED, bookingRepository.findAll().get(0).getStatus());
+    }
+
+    @Test
+    void createBooking_ConflictCommittedDuringHold_CancelsPendingLease() {
+        // Arrange: another booking for the same dates commits while the hotel-service hold is in flight
+        when(hotelServiceClient.confirmAvailability(eq(ROOM_ID), any(AvailabilityRequestDTO.class))).thenAnswer(invocation -> {
+            insertConfirmedBookingElsewhere();
+            return true;
+        });
+
+        // Act
+        SqlStatementRecorder.start();
+        assertThrows(BookingConflictException.class, () -> bookingService.createBooking(request(), user.getId()));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // Assert
+        assertEquals(1, SqlStatementRecorder.count(statements, "insert into bookings"), statements::toString);
+        // the conditional confirm that misses, then the cancellation
+        assertEquals(2, SqlStatementRecorder.count(statements, "update bookings"), statements::toString);
+        assertEquals(1, SqlStatementRecorder.count(statements, "insert into booking_outbox"), statements::toString);
+        assertEquals(1, bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == Booking.BookingStatus.CANCELLED)
+                .count());
+    }
+
+    @Test
+    void createBooking_HotelServiceCall_HoldsNoDatabaseConnection() {
+        // Arrange
+        HikariDataSource pool = (HikariDataSource) dataSource;
+        AtomicInteger activeDuringCall = new AtomicInteger(-1);
+        when(hotelServiceClient.confirmAvailability(eq(ROOM_ID), any(AvailabilityRequestDTO.class))).thenAnswer(invocation -> {
+            activeDuringCall.set(pool.getHikariPoolMXBean().getActiveConnections());
+            return true;
+        });
+
+        // Act
+        BookingDTO result = bookingService.createBooking(request(), user.getId());
+
+        // Assert
+        assertEquals(Booking.BookingStatus.CONFIRMED, result.getStatus());
+        assertEquals(0, activeDuringCall.get());
+        assertNotNull(meterRegistry.find("hikaricp.connections.usage").tag("pool", "primary").timer());
+        assertNotNull(meterRegistry.find("hikaricp.connections.utilisation").tag("pool", "primary").gauge());
+    }
+
+    private BookingRequestDTO request() {
+        return BookingRequestDTO.builder()
+                .roomId(ROOM_ID)
+                .startDate(startDate)
+                .endDate(endDate)
+                .autoSelect(false)
+                .build();
+    }
+
+    // Uses its own auto-commit connection, like a concurrent request committing its booking.
+    private void insertConfirmedBookingElsewhere() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO bookings (user_id, room_id, start_date, end_date, status, created_at, correlation_id) " +
+                             "VALUES (?, ?, ?, ?, 'CONFIRMED', CURRENT_TIMESTAMP, 'concurrent')")) {
+            connection.setAutoCommit(true);
+            insert.setLong(1, user.getId());
+            insert.setLong(2, ROOM_ID);
+            insert.setDate(3, Date.valueOf(startDate));
+            insert.setDate(4, Date.valueOf(endDate));
+            insert.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.client.HotelServiceClient;
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.OutboxEvent;
+import com.example.bookingservice.entity.Role;
+import com.example.bookingservice.entity.User;
+import com.example.bookingservice.repository.BookingRepository;
+import com.example.bookingservice.repository.OutboxEventRepository;
+import com.example.bookingservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        // Own database: cached contexts of other tests run the scheduled reaper against the shared one.
+        "spring.datasource.url=jdbc:h2:mem:booking-hold-reaper;DB_CLOSE_DELAY=-1",
+        "app.outbox.enabled=false",
+        "app.holds.reaper-enabled=false",
+        "app.holds.reaper-batch-size=2",
+        "app.holds.reaper-max-batches-per-run=2"
+})
+class HoldReaperTest {
+
+    @Autowired
+    private HoldReaper holdReaper;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private HotelServiceClient hotelServiceClient;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("reaper-user")
+                .password("secret")
+                .role(Role.USER)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        bookingRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void reapExpiredHolds_CancelsOnlyExpiredPendingBookings() {
+        // Arrange
+        Booking expired = save(Booking.BookingStatus.PENDING, LocalDateTime.now().minusMinutes(1), "expired");
+        Booking leased = save(Booking.BookingStatus.PENDING, LocalDateTime.now().plusMinutes(5), "leased");
+        Booking confirmed = save(Booking.BookingStatus.CONFIRMED, LocalDateTime.now().minusMinutes(1), "confirmed");
+
+        // Act
+        int reaped = holdReaper.reapExpiredHolds();
+
+        // Assert
+        assertEquals(1, reaped);
+        assertEquals(Booking.BookingStatus.CANCELLED, statusOf(expired));
+        assertEquals(Booking.BookingStatus.PENDING, statusOf(leased));
+        assertEquals(Booking.BookingStatus.CONFIRMED, statusOf(confirmed));
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(1, events.size());
+        assertEquals(Booking.BookingStatus.CANCELLED, events.get(0).getStatus());
+        assertEquals("expired", events.get(0).getCorrelationId());
+    }
+
+    @Test
+    void reapExpiredHolds_StopsAfterMaxBatchesAndReportsBacklog() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            save(Booking.BookingStatus.PENDING, LocalDateTime.now().minusMinutes(10 - i), "expired-" + i);
+        }
+        double reapedBefore = meterRegistry.get("booking.holds.reaper.reaped").counter().count();
+
+        // Act
+        int reaped = holdReaper.reapExpiredHolds();
+
+        // Assert: two batches of two, the newest expired hold is left for the next run
+        assertEquals(4, reaped);
+        assertEquals(1, holdReaper.getBacklog());
+        assertEquals(1.0, meterRegistry.get("booking.holds.reaper.backlog").gauge().value());
+        assertEquals(4.0, meterRegistry.get("booking.holds.reaper.reaped").counter().count() - reapedBefore);
+        assertEquals(Booking.BookingStatus.PENDING,
+                bookingRepository.findAll().stream()
+                        .filter(booking -> "expired-4".equals(booking.getCorrelationId()))
+                        .findFirst().orElseThrow().getStatus());
+    }
+
+    private Booking save(Booking.BookingStatus status, LocalDateTime holdExpiresAt, String correlationId) {
+        LocalDate startDate = LocalDate.now().plusDays(10);
+        return bookingRepository.save(Booking.builder()
+                .user(user)
+                .roomId(101L)
+                .startDate(startDate)
+                .endDate(startDate.plusDays(2))
+                .status(status)
+                .correlationId(correlationId)
+                .holdExpiresAt(holdExpiresAt)
+                .build());
+    }
+
+    private Booking.BookingStatus statusOf(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+}
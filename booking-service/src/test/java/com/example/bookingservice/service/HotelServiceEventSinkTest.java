@@ -0,0 +1,63 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.client.HotelServiceClient;
+import com.example.bookingservice.dto.RoomReleaseDTO;
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotelServiceEventSinkTest {
+
+    @Mock
+    private HotelServiceClient hotelServiceClient;
+
+    @InjectMocks
+    private HotelServiceEventSink eventSink;
+
+    @Test
+    void publish_CoalescesCancellationsIntoOneBatchCall() {
+        // Arrange
+        List<OutboxEvent> events = List.of(
+                event(1L, 101L, "corr-1", Booking.BookingStatus.CANCELLED),
+                event(2L, 102L, "corr-2", Booking.BookingStatus.CONFIRMED),
+                event(3L, 103L, "corr-3", Booking.BookingStatus.CANCELLED),
+                event(4L, 101L, "corr-1", Booking.BookingStatus.CANCELLED));
+
+        // Act
+        eventSink.publish(events);
+
+        // Assert
+        verify(hotelServiceClient).releaseTemporaryLocks(List.of(
+                new RoomReleaseDTO(101L, "corr-1"),
+                new RoomReleaseDTO(103L, "corr-3")));
+        verifyNoMoreInteractions(hotelServiceClient);
+    }
+
+    @Test
+    void publish_WithoutCancellations_DoesNotCallHotelService() {
+        // Act
+        eventSink.publish(List.of(event(1L, 101L, "corr-1", Booking.BookingStatus.CONFIRMED)));
+
+        // Assert
+        verifyNoInteractions(hotelServiceClient);
+    }
+
+    private OutboxEvent event(Long bookingId, Long roomId, String correlationId, Booking.BookingStatus status) {
+        return OutboxEvent.builder()
+                .id(bookingId)
+                .bookingId(bookingId)
+                .roomId(roomId)
+                .correlationId(correlationId)
+                .status(status)
+                .build();
+    }
+}
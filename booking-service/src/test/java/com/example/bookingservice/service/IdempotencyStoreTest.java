@@ -0,0 +1,216 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.exception.IdempotencyKeyReusedException;
+import com.example.bookingservice.exception.IdempotencyRequestInProgressException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private static final Long USER_ID = 1L;
+
+    private MutableClock clock;
+    private IdempotencyStore store;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        store = new IdempotencyStore(2, 1000, 2000, clock);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void execute_SameKey_ReplaysFirstResult() {
+        assertEquals("result-1", store.execute(USER_ID, "key", "request", this::nextResult));
+        assertEquals("result-1", store.execute(USER_ID, "key", "request", this::nextResult));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_SameKeyOtherUser_RunsAgain() {
+        store.execute(USER_ID, "key", "request", this::nextResult);
+
+        assertEquals("result-2", store.execute(2L, "key", "request", this::nextResult));
+    }
+
+    @Test
+    void execute_SameKeyDifferentRequest_Throws() {
+        store.execute(USER_ID, "key", "request", this::nextResult);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> store.execute(USER_ID, "key", "other request", this::nextResult));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_Failure_IsNotReplayed() {
+        assertThrows(IllegalStateException.class, () -> store.execute(USER_ID, "key", "request", () -> {
+            throw new IllegalStateException("hotel-service unavailable");
+        }));
+
+        assertEquals("result-1", store.execute(USER_ID, "key", "request", this::nextResult));
+    }
+
+    @Test
+    void execute_AfterTtl_RunsAgain() {
+        store.execute(USER_ID, "key", "request", this::nextResult);
+
+        clock.advance(Duration.ofMillis(1000));
+
+        assertEquals("result-2", store.execute(USER_ID, "key", "request", this::nextResult));
+    }
+
+    @Test
+    void execute_OverCapacity_EvictsOldestKey() {
+        store.execute(USER_ID, "first", "request", this::nextResult);
+        store.execute(USER_ID, "second", "request", this::nextResult);
+        store.execute(USER_ID, "third", "request", this::nextResult);
+
+        assertEquals(2, store.size());
+        assertEquals("result-4", store.execute(USER_ID, "first", "request", this::nextResult));
+    }
+
+    @Test
+    void execute_InFlightDuplicate_WaitsForOriginal() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> original = CompletableFuture.supplyAsync(() ->
+                store.execute(USER_ID, "key", "request", () -> {
+                    started.countDown();
+                    await(release);
+                    return nextResult();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() ->
+                store.execute(USER_ID, "key", "request", this::nextResult));
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+
+        release.countDown();
+
+        assertEquals("result-1", original.get(5, TimeUnit.SECONDS));
+        assertEquals("result-1", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_OverCapacity_KeepsInFlightEntry() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> original = CompletableFuture.supplyAsync(() ->
+                store.execute(USER_ID, "in-flight", "request", () -> {
+                    started.countDown();
+                    await(release);
+                    return "original";
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        store.execute(USER_ID, "second", "request", this::nextResult);
+        store.execute(USER_ID, "third", "request", this::nextResult);
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() ->
+                store.execute(USER_ID, "in-flight", "request", this::nextResult));
+        release.countDown();
+
+        // The completed "second" entry made room instead of the one still running.
+        assertEquals("original", original.get(5, TimeUnit.SECONDS));
+        assertEquals("original", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void execute_OriginalThrowsError_DuplicateFailsToo() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> original = CompletableFuture.supplyAsync(() ->
+                store.execute(USER_ID, "key", "request", () -> {
+                    started.countDown();
+                    await(release);
+                    throw new AssertionError("boom");
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() ->
+                store.execute(USER_ID, "key", "request", this::nextResult));
+        Thread.sleep(100);
+        release.countDown();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> duplicate.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, failure.getCause());
+        assertThrows(ExecutionException.class, () -> original.get(5, TimeUnit.SECONDS));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void execute_OriginalOutlivesWaitTimeout_DuplicateGetsInProgress() throws Exception {
+        store = new IdempotencyStore(2, 1000, 50, clock);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> original = CompletableFuture.supplyAsync(() ->
+                store.execute(USER_ID, "key", "request", () -> {
+                    started.countDown();
+                    await(release);
+                    return nextResult();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IdempotencyRequestInProgressException.class,
+                () -> store.execute(USER_ID, "key", "request", this::nextResult));
+
+        release.countDown();
+        assertEquals("result-1", original.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    private String nextResult() {
+        return "result-" + calls.incrementAndGet();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
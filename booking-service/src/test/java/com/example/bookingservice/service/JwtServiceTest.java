@@ -49,6 +49,8 @@ class JwtServiceTest {
 
         ReflectionTestUtils.setField(jwtService, "jwtSecret", validJwtSecret);
         ReflectionTestUtils.setField(jwtService, "expiration", 3600000L);
+        ReflectionTestUtils.setField(jwtService, "serviceTokenExpiration", 60000L);
+        ReflectionTestUtils.setField(jwtService, "serviceName", "booking-service");
 
         testUser = User.builder()
                 .id(1L)
@@ -65,6 +67,23 @@ class JwtServiceTest {
         ReflectionTestUtils.setField(jwtService, "secretKey", secretKey);
     }
 
+    @Test
+    void generateServiceToken_SignsShortLivedServiceToken() {
+        // Act
+        String token = jwtService.generateServiceToken();
+
+        // Assert
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        assertEquals("booking-service", claims.getSubject());
+        assertEquals("USER", claims.get("role"));
+        assertTrue(claims.getExpiration().getTime() - claims.getIssuedAt().getTime() <= 60000L);
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void generateToken_Success() {
         // Arrange
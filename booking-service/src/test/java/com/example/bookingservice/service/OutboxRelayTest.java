@@ -0,0 +1,227 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.entity.Booking;
+import com.example.bookingservice.entity.OutboxEvent;
+import com.example.bookingservice.repository.OutboxEventRepository;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private BookingEventSink eventSink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, eventSink, transactionManager, meterRegistry,
+                true, BATCH_SIZE, 24, 1000, 8000, MAX_ATTEMPTS);
+    }
+
+    @Test
+    void relayPending_DeliversBatchesAndMarksThemPublished() {
+        // Arrange
+        List<OutboxEvent> firstBatch = List.of(event(1L), event(2L));
+        List<OutboxEvent> secondBatch = List.of(event(3L));
+        when(outboxEventRepository.findDue(any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE))))
+                .thenReturn(firstBatch, secondBatch);
+        when(outboxEventRepository.findFirstByPublishedAtIsNullAndDeadLetteredAtIsNullOrderByIdAsc()).thenReturn(Optional.empty());
+
+        // Act
+        int relayed = outboxRelay.relayPending();
+
+        // Assert
+        assertEquals(3, relayed);
+        verify(eventSink).publish(firstBatch);
+        verify(eventSink).publish(secondBatch);
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), any(LocalDateTime.class));
+        assertEquals(2, meterRegistry.get("booking.outbox.relay.batch.size").summary().count());
+        assertEquals(3.0, meterRegistry.get("booking.outbox.relay.published").counter().count());
+        assertEquals(0.0, meterRegistry.get("booking.outbox.relay.lag").gauge().value());
+    }
+
+    @Test
+    void relayPending_WhenSinkFails_KeepsEventsForRetryAndReportsLag() {
+        // Arrange
+        OutboxEvent stuck = event(1L);
+        stuck.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+        when(outboxEventRepository.findDue(any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE)))).thenReturn(List.of(stuck));
+        doThrow(new RuntimeException("hotel-service down")).when(eventSink).publish(anyList());
+        when(outboxEventRepository.findFirstByPublishedAtIsNullAndDeadLetteredAtIsNullOrderByIdAsc()).thenReturn(Optional.of(stuck));
+
+        // Act
+        LocalDateTime before = LocalDateTime.now();
+        int relayed = outboxRelay.relayPending();
+
+        // Assert
+        assertEquals(0, relayed);
+        verify(outboxEventRepository).scheduleRetry(eq(List.of(1L)), argThat(next ->
+                !next.isBefore(before.plusSeconds(1)) && next.isBefore(LocalDateTime.now().plusSeconds(2))));
+        verify(outboxEventRepository, never()).markPublished(anyList(), any());
+        assertEquals(1.0, meterRegistry.get("booking.outbox.relay.failures").counter().count());
+        assertTrue(outboxRelay.getLagMillis() >= 5 * 60 * 1000);
+    }
+
+    @Test
+    void relayPending_WhenRetriedBatchFailsAgain_BacksOffLonger() {
+        // Arrange
+        OutboxEvent retried = event(1L);
+        retried.setAttempts(2);
+        when(outboxEventRepository.findDue(any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE)))).thenReturn(List.of(retried));
+        doThrow(new RuntimeException("hotel-service down")).when(eventSink).publish(anyList());
+        when(outboxEventRepository.findFirstByPublishedAtIsNullAndDeadLetteredAtIsNullOrderByIdAsc()).thenReturn(Optional.of(retried));
+
+        // Act
+        LocalDateTime before = LocalDateTime.now();
+        outboxRelay.relayPending();
+
+        // Assert: third attempt waits 4s
+        verify(outboxEventRepository).scheduleRetry(eq(List.of(1L)), argThat(next ->
+                !next.isBefore(before.plusSeconds(4)) && next.isBefore(LocalDateTime.now().plusSeconds(5))));
+    }
+
+    @Test
+    void relayPending_WhenAttemptsExhausted_ParksEvents() {
+        // Arrange
+        OutboxEvent retried = event(1L);
+        retried.setAttempts(MAX_ATTEMPTS - 1);
+        when(outboxEventRepository.findDue(any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE)))).thenReturn(List.of(retried));
+        doThrow(new RuntimeException("hotel-service down")).when(eventSink).publish(anyList());
+        when(outboxEventRepository.findFirstByPublishedAtIsNullAndDeadLetteredAtIsNullOrderByIdAsc()).thenReturn(Optional.empty());
+
+        // Act
+        outboxRelay.relayPending();
+
+        // Assert
+        verify(outboxEventRepository).deadLetter(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxEventRepository, never()).scheduleRetry(anyList(), any());
+        assertEquals(1.0, meterRegistry.get("booking.outbox.relay.dead-lettered").counter().count());
+    }
+
+    @Test
+    void relayPending_WhenSinkRejectsBatch_ParksOnlyTheRejectedEvent() {
+        // Arrange
+        OutboxEvent good = event(1L);
+        OutboxEvent rejected = event(2L);
+        List<OutboxEvent> batch = List.of(good, rejected);
+        when(outboxEventRepository.findDue(any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE)))).thenReturn(batch, List.of());
+        doAnswer(invocation -> {
+            List<OutboxEvent> sent = invocation.getArgument(0);
+            if (sent.contains(rejected)) {
+                throw status(400);
+            }
+            return null;
+        }).when(eventSink).publish(anyList());
+        when(outboxEventRepository.findFirstByPublishedAtIsNullAndDeadLetteredAtIsNullOrderByIdAsc()).thenReturn(Optional.empty());
+
+        // Act
+        int relayed = outboxRelay.relayPending();
+
+        // Assert
+        assertEquals(1, relayed);
+        verify(eventSink).publish(List.of(good));
+        verify(outboxEventRepository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).deadLetter(eq(List.of(2L)), any(LocalDateTime.class));
+        verify(outboxEventRepository, never()).scheduleRetry(anyList(), any());
+    }
+
+    @Test
+    void isRetryable_RetriesServerErrorsThrottlingAndUnknownFailures() {
+        assertTrue(OutboxRelay.isRetryable(new RuntimeException("connection refused")));
+        assertTrue(OutboxRelay.isRetryable(status(503)));
+        assertTrue(OutboxRelay.isRetryable(status(429)));
+        assertTrue(OutboxRelay.isRetryable(status(401)));
+        assertFalse(OutboxRelay.isRetryable(status(400)));
+        assertFalse(OutboxRelay.isRetryable(status(404)));
+    }
+
+    @Test
+    void backoff_DoublesPerAttemptUpToCap() {
+        assertEquals(Duration.ofSeconds(1), outboxRelay.backoff(1));
+        assertEquals(Duration.ofSeconds(2), outboxRelay.backoff(2));
+        assertEquals(Duration.ofSeconds(4), outboxRelay.backoff(3));
+        assertEquals(Duration.ofSeconds(8), outboxRelay.backoff(4));
+        assertEquals(Duration.ofSeconds(8), outboxRelay.backoff(40));
+    }
+
+    @Test
+    void relayPending_WhenOutboxEmpty_DoesNotCallSink() {
+        // Arrange
+        when(outboxEventRepository.findDue(any(LocalDateTime.class), eq(Limit.of(BATCH_SIZE)))).thenReturn(List.of());
+        when(outboxEventRepository.findFirstByPublishedAtIsNullAndDeadLetteredAtIsNullOrderByIdAsc()).thenReturn(Optional.empty());
+
+        // Act
+        int relayed = outboxRelay.relayPending();
+
+        // Assert
+        assertEquals(0, relayed);
+        verifyNoInteractions(eventSink);
+    }
+
+    @Test
+    void purgePublished_DeletesEventsOlderThanRetention() {
+        // Arrange
+        when(outboxEventRepository.deletePublishedBefore(any(LocalDateTime.class))).thenReturn(7);
+
+        // Act
+        int purged = outboxRelay.purgePublished();
+
+        // Assert
+        assertEquals(7, purged);
+        verify(outboxEventRepository).deletePublishedBefore(argThat(before ->
+                before.isBefore(LocalDateTime.now().minusHours(23))));
+    }
+
+    private FeignException status(int status) {
+        Request request = Request.create(Request.HttpMethod.POST, "/api/rooms/release-batch", new HashMap<>(),
+                null, StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("HotelServiceClient#releaseTemporaryLocks", feign.Response.builder()
+                .status(status)
+                .request(request)
+                .headers(new HashMap<>())
+                .build());
+    }
+
+    private OutboxEvent event(Long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .bookingId(id)
+                .roomId(101L)
+                .correlationId("corr-" + id)
+                .status(Booking.BookingStatus.CANCELLED)
+                .build();
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.client.HotelServiceClient;
+import com.example.bookingservice.dto.RoomDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendedRoomsCacheTest {
+
+    @Mock
+    private HotelServiceClient hotelServiceClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private List<Runnable> backgroundTasks;
+    private RecommendedRoomsCache cache;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock();
+        backgroundTasks = new ArrayList<>();
+        cache = new RecommendedRoomsCache(hotelServiceClient, meterRegistry, 2000, 500, clock, backgroundTasks::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (callers != null) {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_WithinTtl_ServesCachedListFromOneFetch() {
+        // Arrange
+        when(hotelServiceClient.getRecommendedRooms()).thenReturn(List.of(room(1L)));
+
+        // Act
+        cache.get();
+        clock.advance(Duration.ofMillis(1000));
+        List<RoomDTO> rooms = cache.get();
+
+        // Assert
+        assertEquals(1L, rooms.get(0).getId());
+        verify(hotelServiceClient, times(1)).getRecommendedRooms();
+        assertTrue(backgroundTasks.isEmpty());
+        assertEquals(1.0, meterRegistry.get("booking.recommendations.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("booking.recommendations.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void get_ConcurrentMisses_ShareOneFetch() throws Exception {
+        // Arrange
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        when(hotelServiceClient.getRecommendedRooms()).thenAnswer(invocation -> {
+            fetchStarted.countDown();
+            assertTrue(releaseFetch.await(5, TimeUnit.SECONDS));
+            return List.of(room(1L));
+        });
+        callers = Executors.newFixedThreadPool(4);
+
+        // Act
+        Future<List<RoomDTO>> leader = callers.submit(cache::get);
+        assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+        List<Future<List<RoomDTO>>> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(callers.submit(cache::get));
+        }
+        releaseFetch.countDown();
+
+        // Assert
+        assertEquals(1L, leader.get(5, TimeUnit.SECONDS).get(0).getId());
+        for (Future<List<RoomDTO>> waiter : waiters) {
+            assertEquals(1L, waiter.get(5, TimeUnit.SECONDS).get(0).getId());
+        }
+        verify(hotelServiceClient, times(1)).getRecommendedRooms();
+    }
+
+    @Test
+    void get_NearExpiry_ServesCurrentListAndRefreshesInBackground() {
+        // Arrange
+        when(hotelServiceClient.getRecommendedRooms())
+                .thenReturn(List.of(room(1L)))
+                .thenReturn(List.of(room(2L)));
+        cache.get();
+        clock.advance(Duration.ofMillis(1600));
+
+        // Act
+        List<RoomDTO> beforeRefresh = cache.get();
+        cache.get();
+        backgroundTasks.forEach(Runnable::run);
+        List<RoomDTO> afterRefresh = cache.get();
+
+        // Assert
+        assertEquals(1L, beforeRefresh.get(0).getId());
+        assertEquals(1, backgroundTasks.size());
+        assertEquals(2L, afterRefresh.get(0).getId());
+        verify(hotelServiceClient, times(2)).getRecommendedRooms();
+    }
+
+    @Test
+    void get_Expired_FetchesAgainOnCallerThread() {
+        // Arrange
+        when(hotelServiceClient.getRecommendedRooms())
+                .thenReturn(List.of(room(1L)))
+                .thenReturn(List.of(room(2L)));
+        cache.get();
+        clock.advance(Duration.ofMillis(2000));
+
+        // Act
+        List<RoomDTO> rooms = cache.get();
+
+        // Assert
+        assertEquals(2L, rooms.get(0).getId());
+        assertTrue(backgroundTasks.isEmpty());
+    }
+
+    @Test
+    void get_FetchFails_RethrowsOriginalExceptionAndRetriesNextTime() {
+        // Arrange
+        IllegalStateException failure = new IllegalStateException("hotel-service down");
+        when(hotelServiceClient.getRecommendedRooms())
+                .thenThrow(failure)
+                .thenReturn(List.of(room(1L)));
+
+        // Act
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> cache.get());
+        List<RoomDTO> rooms = cache.get();
+
+        // Assert
+        assertSame(failure, thrown);
+        assertEquals(1L, rooms.get(0).getId());
+    }
+
+    @Test
+    void get_BackgroundRefreshFails_KeepsServingUntilTtl() {
+        // Arrange
+        when(hotelServiceClient.getRecommendedRooms())
+                .thenReturn(List.of(room(1L)))
+                .thenThrow(new IllegalStateException("hotel-service down"));
+        cache.get();
+        clock.advance(Duration.ofMillis(1600));
+        cache.get();
+
+        // Act
+        backgroundTasks.forEach(Runnable::run);
+        List<RoomDTO> rooms = cache.get();
+
+        // Assert
+        assertEquals(1L, rooms.get(0).getId());
+        assertEquals(1.0, meterRegistry.get("booking.recommendations.cache.refresh.failures").counter().count());
+    }
+
+    @Test
+    void get_ZeroTtl_FetchesOnEveryCall() {
+        // Arrange
+        RecommendedRoomsCache uncached = new RecommendedRoomsCache(hotelServiceClient, new SimpleMeterRegistry(),
+                0, 0, clock, backgroundTasks::add);
+        when(hotelServiceClient.getRecommendedRooms()).thenReturn(List.of(room(1L)));
+
+        // Act
+        uncached.get();
+        uncached.get();
+
+        // Assert
+        verify(hotelServiceClient, times(2)).getRecommendedRooms();
+        assertTrue(backgroundTasks.isEmpty());
+    }
+
+    private RoomDTO room(Long id) {
+        return RoomDTO.builder()
+                .id(id)
+                .number(String.valueOf(100 + id))
+                .available(true)
+                .timesBooked(0)
+                .hotelId(1L)
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.bookingservice.service;
+
+import com.example.bookingservice.client.HotelServiceClient;
+import com.example.bookingservice.dto.RoomChangeDTO;
+import com.example.bookingservice.dto.RoomChangesDTO;
+import com.example.bookingservice.dto.RoomDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomCatalogReplicaTest {
+
+    @Mock
+    private HotelServiceClient hotelServiceClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private RoomCatalogReplica replica;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock();
+        replica = new RoomCatalogReplica(hotelServiceClient, meterRegistry, true, 2, 5, 1000, clock);
+    }
+
+    @Test
+    void refresh_FromCold_LoadsCatalogAndRecommendsLeastBookedFirst() {
+        // Arrange
+        when(hotelServiceClient.getRoomChanges(0, 2, 0, 0)).thenReturn(page(10, false, List.of(),
+                room(1L, true, 5, 3), room(2L, true, 1, 7), room(3L, false, 0, 9)));
+
+        // Act
+        int applied = replica.refresh();
+
+        // Assert
+        assertEquals(3, applied);
+        assertTrue(replica.isFresh());
+        assertEquals(List.of(2L, 1L), replica.recommendedRooms().orElseThrow().stream().map(RoomDTO::getId).toList());
+        assertFalse(replica.findRoom(3L).orElseThrow().getAvailable());
+        assertEquals(10, replica.cursor());
+        assertEquals(3.0, meterRegistry.get("booking.room.replica.size").gauge().value());
+    }
+
+    @Test
+    void refresh_SnapshotLongerThanOneRefresh_ResumesByIdUnderPinnedVersion() {
+        // Arrange: one page per refresh, so the snapshot spans two refreshes
+        RoomCatalogReplica onePagePerRefresh = new RoomCatalogReplica(hotelServiceClient, new SimpleMeterRegistry(),
+                true, 2, 1, 1000, clock);
+        RoomChangesDTO firstPage = page(10, true, List.of(), room(1L, true, 0, 3), room(2L, true, 1, 7));
+        firstPage.setSnapshotAfterId(2L);
+        when(hotelServiceClient.getRoomChanges(0, 2, 0, 0)).thenReturn(firstPage);
+        when(hotelServiceClient.getRoomChanges(0, 2, 2, 10)).thenReturn(page(10, false, List.of(),
+                room(3L, true, 2, 9)));
+
+        // Act
+        onePagePerRefresh.refresh();
+        boolean freshMidSnapshot = onePagePerRefresh.isFresh();
+        onePagePerRefresh.refresh();
+
+        // Assert
+        assertFalse(freshMidSnapshot);
+        assertTrue(onePagePerRefresh.isFresh());
+        assertEquals(List.of(1L, 2L, 3L),
+                onePagePerRefresh.recommendedRooms().orElseThrow().stream().map(RoomDTO::getId).toList());
+        assertEquals(10, onePagePerRefresh.cursor());
+    }
+
+    @Test
+    void refresh_AppliesUpdatesAndTombstonesFromTheCursor() {
+        // Arrange
+        when(hotelServiceClient.getRoomChanges(0, 2, 0, 0)).thenReturn(page(10, false, List.of(),
+                room(1L, true, 0, 3), room(2L, true, 1, 7)));
+        when(hotelServiceClient.getRoomChanges(10, 2, 0, 0)).thenReturn(page(12, false, List.of(2L),
+                room(1L, true, 4, 11)));
+        replica.refresh();
+
+        // Act
+        int applied = replica.refresh();
+
+        // Assert
+        assertEquals(2, applied);
+        assertTrue(replica.findRoom(2L).isEmpty());
+        assertEquals(4, replica.recommendedRooms().orElseThrow().get(0).getTimesBooked());
+        assertEquals(12, replica.cursor());
+    }
+
+    @Test
+    void refresh_DrainsPagesWhileHotelServiceHasMore() {
+        // Arrange
+        when(hotelServiceClient.getRoomChanges(0, 2, 0, 0)).thenReturn(page(10, false, List.of(), room(1L, true, 0, 3)));
+        when(hotelServiceClient.getRoomChanges(10, 2, 0, 0)).thenReturn(page(12, true, List.of(),
+                room(2L, true, 0, 11), room(3L, true, 0, 12)));
+        when(hotelServiceClient.getRoomChanges(12, 2, 0, 0)).thenReturn(page(13, false, List.of(), room(4L, true, 0, 13)));
+        replica.refresh();
+
+        // Act
+        int applied = replica.refresh();
+
+        // Assert
+        assertEquals(3, applied);
+        assertEquals(4, replica.recommendedRooms().orElseThrow().size());
+        assertEquals(13, replica.cursor());
+    }
+
+    @Test
+    void refresh_ResyncRequired_ReloadsTheWholeCatalog() {
+        // Arrange
+        when(hotelServiceClient.getRoomChanges(0, 2, 0, 0))
+                .thenReturn(page(10, false, List.of(), room(1L, true, 0, 3)))
+                .thenReturn(page(4, false, List.of(), room(5L, true, 0, 4)));
+        when(hotelServiceClient.getRoomChanges(10, 2, 0, 0)).thenReturn(RoomChangesDTO.builder()
+                .rooms(List.of())
+                .deletedRoomIds(List.of())
+                .latestVersion(4L)
+                .resyncRequired(true)
+                .build());
+        replica.refresh();
+
+        // Act
+        replica.refresh();
+
+        // Assert
+        assertTrue(replica.findRoom(1L).isEmpty());
+        assertTrue(replica.findRoom(5L).isPresent());
+        assertEquals(4, replica.cursor());
+    }
+
+    @Test
+    void recommendedRooms_NotSyncedWithinStalenessBound_FallsBackToHotelService() {
+        // Arrange
+        when(hotelServiceClient.getRoomChanges(0, 2, 0, 0)).thenReturn(page(10, false, List.of(), room(1L, true, 0, 3)));
+        replica.refresh();
+
+        // Act
+        clock.advance(Duration.ofMillis(1001));
+
+        // Assert
+        assertFalse(replica.isFresh());
+        assertEquals(Optional.empty(), replica.recommendedRooms());
+    }
+
+    @Test
+    void refreshOnSchedule_FailedPoll_KeepsServingTheLastCatalog() {
+        // Arrange
+        when(hotelServiceClient.getRoomChanges(0, 2, 0, 0)).thenReturn(page(10, false, List.of(), room(1L, true, 0, 3)));
+        when(hotelServiceClient.getRoomChanges(10, 2, 0, 0)).thenThrow(new IllegalStateException("hotel-service down"));
+        replica.refreshOnSchedule();
+
+        // Act
+        replica.refreshOnSchedule();
+
+        // Assert
+        assertTrue(replica.isFresh());
+        assertEquals(10, replica.cursor());
+    }
+
+    @Test
+    void refreshOnSchedule_Disabled_NeverCallsHotelService() {
+        // Arrange
+        RoomCatalogReplica disabled = new RoomCatalogReplica(hotelServiceClient, new SimpleMeterRegistry(),
+                false, 2, 5, 1000, clock);
+
+        // Act
+        disabled.refreshOnSchedule();
+
+        // Assert
+        assertFalse(disabled.isFresh());
+        verify(hotelServiceClient, never()).getRoomChanges(anyLong(), anyInt(), anyLong(), anyLong());
+    }
+
+    private RoomChangesDTO page(long latestVersion, boolean hasMore, List<Long> deleted, RoomChangeDTO... rooms) {
+        return RoomChangesDTO.builder()
+                .rooms(List.of(rooms))
+                .deletedRoomIds(deleted)
+                .latestVersion(latestVersion)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private RoomChangeDTO room(Long id, boolean available, int timesBooked, long changeSeq) {
+        return RoomChangeDTO.builder()
+                .id(id)
+                .number(String.valueOf(100 + id))
+                .available(available)
+                .timesBooked(timesBooked)
+                .hotelId(1L)
+                .version(0L)
+                .changeSeq(changeSeq)
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
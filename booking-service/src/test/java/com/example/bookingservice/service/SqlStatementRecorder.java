@@ -0,0 +1,42 @@
+package com.example.bookingservice.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL Hibernate prepares on the thread that called {@link #start()}, so background
+ * jobs running in the same context do not leak into a statement count.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static volatile Thread recordingThread;
+
+    public static void start() {
+        STATEMENTS.clear();
+        recordingThread = Thread.currentThread();
+    }
+
+    public static List<String> stop() {
+        recordingThread = null;
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static long count(List<String> statements, String prefix) {
+        String normalized = prefix.toLowerCase(Locale.ROOT);
+        return statements.stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith(normalized))
+                .count();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (Thread.currentThread() == recordingThread) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+}
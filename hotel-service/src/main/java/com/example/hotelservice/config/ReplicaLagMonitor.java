@@ -0,0 +1,92 @@
+package com.example.hotelservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String CREATE_HEARTBEAT_TABLE =
+            "CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)";
+    private static final String UPSERT_HEARTBEAT =
+            "MERGE INTO replica_heartbeat (id, beat_millis) KEY (id) VALUES (1, ?)";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    // Set once the table is known to exist; Flyway-managed schemas start out true and never run DDL here.
+    private volatile boolean heartbeatTableReady;
+    private volatile boolean replicaUsable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource, long maxLagMillis,
+                             boolean heartbeatTableManaged) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLagMillis = maxLagMillis;
+        this.heartbeatTableReady = heartbeatTableManaged;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.heartbeat-interval-ms:500}")
+    public void heartbeat() {
+        try {
+            writeHeartbeat();
+        } catch (Exception e) {
+            log.warn("Failed to write replica heartbeat to primary: {}", e.getMessage());
+        }
+        checkLag();
+    }
+
+    public void checkLag() {
+        try {
+            List<Long> beats = replica.queryForList("SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+            if (beats.isEmpty()) {
+                markUnusable("no heartbeat replicated yet", -1);
+                return;
+            }
+
+            long lag = Math.max(0, System.currentTimeMillis() - beats.get(0));
+            if (lag > maxLagMillis) {
+                markUnusable("lag " + lag + " ms exceeds " + maxLagMillis + " ms", lag);
+                return;
+            }
+
+            if (!replicaUsable) {
+                log.info("Replica is back within lag tolerance ({} ms), routing read-only transactions to it", lag);
+            }
+            lagMillis = lag;
+            replicaUsable = true;
+        } catch (Exception e) {
+            markUnusable(e.getMessage(), -1);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    private void writeHeartbeat() {
+        if (!heartbeatTableReady) {
+            primary.execute(CREATE_HEARTBEAT_TABLE);
+            heartbeatTableReady = true;
+        }
+        primary.update(UPSERT_HEARTBEAT, System.currentTimeMillis());
+    }
+
+    private void markUnusable(String reason, long lag) {
+        if (replicaUsable) {
+            log.warn("Replica unusable ({}), falling back to primary for read-only transactions", reason);
+        }
+        lagMillis = lag;
+        replicaUsable = false;
+    }
+}
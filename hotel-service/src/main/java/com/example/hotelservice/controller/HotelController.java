@@ -1,12 +1,21 @@
 package com.example.hotelservice.controller;
 
+import com.example.hotelservice.dto.BulkImportResultDTO;
 import com.example.hotelservice.dto.HotelDTO;
+import com.example.hotelservice.dto.HotelOccupancyDTO;
+import com.example.hotelservice.dto.HotelWithRoomsDTO;
+import com.example.hotelservice.service.BulkImportService;
 import com.example.hotelservice.service.HotelService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/hotels")
@@ -14,6 +23,7 @@ import java.util.List;
 public class HotelController {
 
     private final HotelService hotelService;
+    private final BulkImportService bulkImportService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -21,6 +31,12 @@ public class HotelController {
         return hotelService.createHotel(hotelDTO);
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkImportResultDTO importHotels(@RequestBody List<HotelDTO> hotelDTOs) {
+        return bulkImportService.importHotels(hotelDTOs);
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public List<HotelDTO> getAllHotels() {
@@ -33,6 +49,34 @@ public class HotelController {
         return hotelService.getHotelById(id);
     }
 
+    @GetMapping("/{id}/with-rooms")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public HotelWithRoomsDTO getHotelWithRooms(@PathVariable Long id) {
+        return hotelService.getHotelWithRooms(id);
+    }
+
+    @GetMapping("/with-rooms")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public List<HotelWithRoomsDTO> getHotelsWithRooms(@RequestParam List<Long> ids) {
+        return hotelService.getHotelsWithRooms(ids);
+    }
+
+    // Answered from the in-memory HotelOccupancyTracker, which starts empty after a restart.
+    @GetMapping("/{id}/occupancy")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public HotelOccupancyDTO getOccupancy(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return hotelService.getOccupancy(id, from, to);
+    }
+
+    // Inverted or oversized occupancy ranges and oversized with-rooms batches are the caller's mistake.
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public void deleteHotel(@PathVariable Long id) {
@@ -1,13 +1,22 @@
 package com.example.hotelservice.controller;
 
+import com.example.hotelservice.dto.RoomChangesDTO;
 import com.example.hotelservice.dto.RoomDTO;
 import com.example.hotelservice.dto.AvailabilityRequestDTO;
+import com.example.hotelservice.dto.BulkImportResultDTO;
+import com.example.hotelservice.dto.RoomReleaseDTO;
+import com.example.hotelservice.service.BulkImportService;
 import com.example.hotelservice.service.RoomService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,6 +25,7 @@ import java.util.List;
 public class RoomController {
 
     private final RoomService roomService;
+    private final BulkImportService bulkImportService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -23,6 +33,18 @@ public class RoomController {
         return roomService.createRoom(roomDTO);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkImportResultDTO importRooms(@RequestBody List<RoomDTO> roomDTOs) {
+        return bulkImportService.importRooms(roomDTOs);
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkImportResultDTO importRoomsCsv(InputStream csv) throws IOException {
+        return bulkImportService.importRoomsCsv(csv);
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public List<RoomDTO> getAvailableRooms() {
@@ -35,6 +57,27 @@ public class RoomController {
         return roomService.getRecommendedRooms();
     }
 
+    @GetMapping("/changes")
+    public RoomChangesDTO getRoomChanges(
+            @RequestParam(defaultValue = "0") long sinceVersion,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "0") long snapshotVersion) {
+        return roomService.getRoomChanges(sinceVersion, limit, afterId, snapshotVersion);
+    }
+
+    // Answered from the in-memory AvailabilityCalendar, which starts empty after a restart.
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public List<RoomDTO> searchAvailableRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return roomService.searchAvailableRooms(from, to, hotelId, afterId, limit);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public RoomDTO getRoom(@PathVariable Long id) {
@@ -75,4 +118,9 @@ public class RoomController {
         roomService.releaseTemporaryLock(id, correlationId);
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping("/release-batch")
+    public ResponseEntity<Integer> releaseTemporaryLocks(@RequestBody List<RoomReleaseDTO> releases) {
+        return ResponseEntity.ok(roomService.releaseTemporaryLocks(releases));
+    }
 }
\ No newline at end of file
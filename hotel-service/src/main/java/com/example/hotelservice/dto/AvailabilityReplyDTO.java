@@ -0,0 +1,16 @@
+package com.example.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityReplyDTO {
+    private String correlationId;
+    private Long roomId;
+    private boolean available;
+}
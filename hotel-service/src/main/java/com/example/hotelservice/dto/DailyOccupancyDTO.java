@@ -0,0 +1,18 @@
+package com.example.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyOccupancyDTO {
+    private LocalDate date;
+    private Integer occupiedRooms;
+    private Double occupancyRate;
+}
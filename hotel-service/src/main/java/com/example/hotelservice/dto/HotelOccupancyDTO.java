@@ -0,0 +1,22 @@
+package com.example.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelOccupancyDTO {
+    private Long hotelId;
+    private Long totalRooms;
+    private LocalDate from;
+    private LocalDate to;
+    private Double averageOccupancyRate;
+    private List<DailyOccupancyDTO> days;
+}
@@ -0,0 +1,20 @@
+package com.example.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomChangeDTO {
+    private Long id;
+    private String number;
+    private Boolean available;
+    private Integer timesBooked;
+    private Long hotelId;
+    private Long version;
+    private Long changeSeq;
+}
@@ -0,0 +1,23 @@
+package com.example.hotelservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomChangesDTO {
+    private List<RoomChangeDTO> rooms;
+    private List<Long> deletedRoomIds;
+    private Long latestVersion;
+    private boolean hasMore;
+    private boolean resyncRequired;
+    // Set while a sinceVersion=0 snapshot has more pages: pass it back as afterId, with latestVersion as
+    // snapshotVersion.
+    private Long snapshotAfterId;
+}
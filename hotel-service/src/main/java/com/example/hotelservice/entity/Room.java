@@ -11,10 +11,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "rooms")
+@Table(name = "rooms", indexes = @Index(name = "idx_rooms_change_seq", columnList = "change_seq"))
+@EntityListeners(RoomChangeLog.class)
 public class Room {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rooms_seq")
+    @SequenceGenerator(name = "rooms_seq", sequenceName = "rooms_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,4 +34,7 @@ public class Room {
 
     @Version
     private Long version;
+
+    @Column(name = "change_seq")
+    private Long changeSeq;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.hotelservice.entity;
+
+import com.example.hotelservice.service.RoomChangeTracker;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Entity listener feeding room inserts, updates and deletions into {@link RoomChangeTracker}.
+ * Hibernate obtains it through Spring's bean container, so the tracker is constructor-injected.
+ */
+public class RoomChangeLog {
+
+    private final RoomChangeTracker changeTracker;
+
+    public RoomChangeLog(RoomChangeTracker changeTracker) {
+        this.changeTracker = changeTracker;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void stamp(Room room) {
+        room.setChangeSeq(changeTracker.next());
+    }
+
+    @PostRemove
+    void recordRemoval(Room room) {
+        changeTracker.recordRemoval(room.getId());
+    }
+}
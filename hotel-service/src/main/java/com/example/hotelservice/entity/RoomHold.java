@@ -0,0 +1,58 @@
+package com.example.hotelservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+
+/**
+ * Durable copy of a date-level hold from the availability calendar, replayed into memory on startup.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "room_holds", indexes = @Index(name = "idx_room_holds_end_date", columnList = "end_date"))
+public class RoomHold implements Persistable<String> {
+    @Id
+    @Column(name = "correlation_id")
+    private String correlationId;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    // The id is assigned, so without this save() would merge and cost a SELECT before every insert.
+    @Transient
+    @Builder.Default
+    private boolean newHold = true;
+
+    @Override
+    public String getId() {
+        return correlationId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newHold;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newHold = false;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.hotelservice.filter;
+
+import com.example.hotelservice.util.SqlStatementStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    public static final String DEBUG_HEADER = "X-Debug-Sql";
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean debugHeaderEnabled;
+
+    public SqlStatementMetricsFilter(MeterRegistry meterRegistry,
+                                     @Value("${app.sql-stats.debug-header-enabled:false}") boolean debugHeaderEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.debugHeaderEnabled = debugHeaderEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean debug = debugHeaderEnabled && request.getHeader(DEBUG_HEADER) != null;
+        // The body is buffered only when the caller asked for the headers, since they must precede it.
+        ContentCachingResponseWrapper cachingResponse = debug ? new ContentCachingResponseWrapper(response) : null;
+
+        try (SqlStatementStats.Scope scope = SqlStatementStats.open()) {
+            try {
+                filterChain.doFilter(request, debug ? cachingResponse : response);
+            } finally {
+                record(request, scope);
+                if (debug) {
+                    cachingResponse.setHeader(STATEMENTS_HEADER, String.valueOf(scope.statements()));
+                    cachingResponse.setHeader(TIME_HEADER,
+                            String.valueOf(TimeUnit.NANOSECONDS.toMillis(scope.nanos())));
+                    cachingResponse.copyBodyToResponse();
+                }
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements prepared while serving a request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(scope.statements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent in JDBC prepare and execute calls while serving a request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(scope.nanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.hotelservice.grpc;
+
+import com.example.hotelservice.service.JwtService;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.grpc.enabled", havingValue = "true")
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final HotelRoomsGrpcService hotelRoomsService;
+    private final JwtService jwtService;
+    private final int port;
+    private final long shutdownGraceMillis;
+
+    private volatile Server server;
+
+    public GrpcServerLifecycle(HotelRoomsGrpcService hotelRoomsService,
+                               JwtService jwtService,
+                               @Value("${app.grpc.port:9090}") int port,
+                               @Value("${app.grpc.shutdown-grace-ms:5000}") long shutdownGraceMillis) {
+        this.hotelRoomsService = hotelRoomsService;
+        this.jwtService = jwtService;
+        this.port = port;
+        this.shutdownGraceMillis = shutdownGraceMillis;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = NettyServerBuilder.forPort(port)
+                    .addService(ServerInterceptors.intercept(hotelRoomsService, new JwtServerInterceptor(jwtService)))
+                    .build()
+                    .start();
+            log.info("gRPC server listening on port {}", server.getPort());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start gRPC server on port " + port, e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(shutdownGraceMillis, TimeUnit.MILLISECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+}
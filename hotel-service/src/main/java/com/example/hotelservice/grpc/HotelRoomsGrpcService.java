@@ -0,0 +1,78 @@
+package com.example.hotelservice.grpc;
+
+import com.example.hotelservice.dto.AvailabilityRequestDTO;
+import com.example.hotelservice.dto.RoomDTO;
+import com.example.hotelservice.dto.RoomReleaseDTO;
+import com.example.hotelservice.service.RoomService;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Binary twin of the INTERNAL /api/rooms endpoints; the work itself stays in RoomService.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.grpc.enabled", havingValue = "true")
+public class HotelRoomsGrpcService extends HotelRoomsGrpc.HotelRoomsImplBase {
+
+    private final RoomService roomService;
+
+    @Override
+    public void getRecommendedRooms(RecommendedRoomsRequest request, StreamObserver<RoomList> responseObserver) {
+        RoomList.Builder rooms = RoomList.newBuilder();
+        for (RoomDTO room : roomService.getRecommendedRooms()) {
+            Room.Builder message = Room.newBuilder()
+                    .setId(room.getId())
+                    .setAvailable(Boolean.TRUE.equals(room.getAvailable()));
+            if (room.getNumber() != null) {
+                message.setNumber(room.getNumber());
+            }
+            if (room.getTimesBooked() != null) {
+                message.setTimesBooked(room.getTimesBooked());
+            }
+            if (room.getHotelId() != null) {
+                message.setHotelId(room.getHotelId());
+            }
+            rooms.addRooms(message);
+        }
+        responseObserver.onNext(rooms.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void confirmAvailability(ConfirmAvailabilityRequest request,
+                                    StreamObserver<ConfirmAvailabilityReply> responseObserver) {
+        boolean available = roomService.confirmAvailability(request.getRoomId(), AvailabilityRequestDTO.builder()
+                .startDate(request.hasStartEpochDay() ? LocalDate.ofEpochDay(request.getStartEpochDay()) : null)
+                .endDate(request.hasEndEpochDay() ? LocalDate.ofEpochDay(request.getEndEpochDay()) : null)
+                .correlationId(request.getCorrelationId())
+                .build());
+        responseObserver.onNext(ConfirmAvailabilityReply.newBuilder().setAvailable(available).build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void releaseTemporaryLock(ReleaseRequest request, StreamObserver<ReleaseReply> responseObserver) {
+        roomService.releaseTemporaryLock(request.getRoomId(), request.getCorrelationId());
+        responseObserver.onNext(ReleaseReply.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void releaseTemporaryLocks(ReleaseBatchRequest request, StreamObserver<ReleaseReply> responseObserver) {
+        List<RoomReleaseDTO> releases = request.getReleasesList().stream()
+                .map(release -> RoomReleaseDTO.builder()
+                        .roomId(release.getRoomId())
+                        .correlationId(release.getCorrelationId())
+                        .build())
+                .toList();
+        int released = roomService.releaseTemporaryLocks(releases);
+        responseObserver.onNext(ReleaseReply.newBuilder().setReleased(released).build());
+        responseObserver.onCompleted();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.hotelservice.grpc;
+
+import com.example.hotelservice.service.JwtService;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Set;
+
+// gRPC calls bypass the servlet filter chain, so the same bearer token check as /api/rooms/** is done here.
+@Slf4j
+@RequiredArgsConstructor
+public class JwtServerInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final Set<String> ALLOWED_ROLES = Set.of("ROLE_USER", "ROLE_ADMIN");
+
+    private final JwtService jwtService;
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        String authHeader = headers.get(AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            call.close(Status.UNAUTHENTICATED.withDescription("Bearer token required"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+
+        Authentication authentication = jwtService.validateToken(authHeader.substring(7));
+        if (authentication == null) {
+            call.close(Status.UNAUTHENTICATED.withDescription("Invalid token"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        if (authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).noneMatch(ALLOWED_ROLES::contains)) {
+            log.warn("gRPC call {} denied for {}", call.getMethodDescriptor().getFullMethodName(), authentication.getName());
+            call.close(Status.PERMISSION_DENIED, new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        return next.startCall(call, headers);
+    }
+}
@@ -1,12 +1,13 @@
 package com.example.hotelservice.mapper;
 
 import com.example.hotelservice.dto.HotelDTO;
+import com.example.hotelservice.dto.HotelWithRoomsDTO;
 import com.example.hotelservice.entity.Hotel;
 import org.mapstruct.Mapper;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = RoomMapper.class)
 public interface HotelMapper {
 
     Hotel toEntity(HotelDTO hotelDTO);
@@ -15,6 +16,10 @@ public interface HotelMapper {
 
     List<HotelDTO> toDtoList(List<Hotel> hotels);
 
+    HotelWithRoomsDTO toWithRoomsDto(Hotel hotel);
+
+    List<HotelWithRoomsDTO> toWithRoomsDtoList(List<Hotel> hotels);
+
     List<Hotel> toEntityList(List<HotelDTO> hotelDTOs);
 
     default void updateHotelFromDto(HotelDTO hotelDTO, Hotel hotel) {
@@ -0,0 +1,52 @@
+package com.example.hotelservice.messaging;
+
+import com.example.hotelservice.dto.AvailabilityReplyDTO;
+import com.example.hotelservice.dto.AvailabilityRequestDTO;
+import com.example.hotelservice.dto.BookingRequestedDTO;
+import com.example.hotelservice.service.RoomService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Component;
+
+// Requests wait on the queue and are taken at the listener's own concurrency, so a burst of bookings does not
+// turn into a burst of concurrent confirms here.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.saga.enabled", havingValue = "true")
+public class BookingRequestListener {
+
+    private final RoomService roomService;
+    private final JmsTemplate jmsTemplate;
+    private final String replyQueue;
+
+    public BookingRequestListener(RoomService roomService,
+                                  JmsTemplate jmsTemplate,
+                                  @Value("${app.saga.reply-queue:booking.availability.replies}") String replyQueue) {
+        this.roomService = roomService;
+        this.jmsTemplate = jmsTemplate;
+        this.replyQueue = replyQueue;
+    }
+
+    @JmsListener(destination = "${app.saga.request-queue:booking.availability.requests}",
+            concurrency = "${app.saga.concurrency:1-4}")
+    public void onBookingRequested(BookingRequestedDTO request) {
+        // confirmAvailability is idempotent per correlationId, so a redelivered request gets the same answer.
+        boolean available = roomService.confirmAvailability(request.getRoomId(), AvailabilityRequestDTO.builder()
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .correlationId(request.getCorrelationId())
+                .build());
+
+        jmsTemplate.convertAndSend(replyQueue, AvailabilityReplyDTO.builder()
+                .correlationId(request.getCorrelationId())
+                .roomId(request.getRoomId())
+                .available(available)
+                .build());
+        log.info("Replied {} to BookingRequested for room {} with correlationId: {}",
+                available ? "AvailabilityConfirmed" : "AvailabilityRejected",
+                request.getRoomId(), request.getCorrelationId());
+    }
+}
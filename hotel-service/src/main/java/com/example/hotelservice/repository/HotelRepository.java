@@ -1,9 +1,24 @@
 package com.example.hotelservice.repository;
 
+import com.example.hotelservice.dto.HotelDTO;
 import com.example.hotelservice.entity.Hotel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
+
+    @Query("SELECT new com.example.hotelservice.dto.HotelDTO(h.id, h.name, h.address) FROM Hotel h")
+    List<HotelDTO> findAllHotelDtos();
+
+    @Query("SELECT DISTINCT h FROM Hotel h LEFT JOIN FETCH h.rooms WHERE h.id = :id")
+    Optional<Hotel> findByIdWithRooms(Long id);
+
+    @Query("SELECT DISTINCT h FROM Hotel h LEFT JOIN FETCH h.rooms WHERE h.id IN :ids ORDER BY h.id")
+    List<Hotel> findAllByIdWithRooms(Collection<Long> ids);
 }
\ No newline at end of file
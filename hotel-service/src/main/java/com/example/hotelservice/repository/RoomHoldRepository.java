@@ -0,0 +1,28 @@
+package com.example.hotelservice.repository;
+
+import com.example.hotelservice.entity.RoomHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RoomHoldRepository extends JpaRepository<RoomHold, String> {
+
+    List<RoomHold> findByEndDateAfter(LocalDate date);
+
+    @Modifying
+    @Query("DELETE FROM RoomHold h WHERE h.correlationId IN :correlationIds")
+    int deleteByCorrelationIds(Collection<String> correlationIds);
+
+    // Stays that have ended can never clash again, so their holds are dropped rather than replayed.
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RoomHold h WHERE h.endDate <= :date")
+    int deleteEndedBy(LocalDate date);
+}
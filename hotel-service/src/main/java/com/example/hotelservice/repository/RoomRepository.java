@@ -1,7 +1,11 @@
 package com.example.hotelservice.repository;
 
+import com.example.hotelservice.dto.RoomChangeDTO;
+import com.example.hotelservice.dto.RoomDTO;
 import com.example.hotelservice.entity.Room;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -13,15 +17,48 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
 
     List<Room> findByHotelIdAndAvailableTrue(Long hotelId);
 
+    @Query("SELECT r.hotel.id FROM Room r WHERE r.id = :id")
+    Optional<Long> findHotelIdById(Long id);
+
+    @Modifying
+    @Query("UPDATE Room r SET r.timesBooked = r.timesBooked + 1, r.version = r.version + 1, r.changeSeq = :changeSeq " +
+            "WHERE r.id = :id AND r.available = true")
+    int incrementTimesBookedIfAvailable(Long id, Long changeSeq);
+
+    @Query("SELECT COALESCE(MAX(r.changeSeq), 0) FROM Room r")
+    long findMaxChangeSeq();
+
+    @Query("SELECT new com.example.hotelservice.dto.RoomChangeDTO(r.id, r.number, r.available, r.timesBooked, r.hotel.id, r.version, r.changeSeq) " +
+            "FROM Room r WHERE r.changeSeq > :sinceVersion AND r.changeSeq <= :upTo ORDER BY r.changeSeq ASC")
+    List<RoomChangeDTO> findChanges(long sinceVersion, long upTo, Limit limit);
+
+    @Query("SELECT new com.example.hotelservice.dto.RoomChangeDTO(r.id, r.number, r.available, r.timesBooked, r.hotel.id, r.version, r.changeSeq) " +
+            "FROM Room r WHERE r.id > :afterId ORDER BY r.id ASC")
+    List<RoomChangeDTO> findSnapshotPage(long afterId, Limit limit);
+
     List<Room> findByAvailableTrue();
 
     List<Room> findByHotelId(Long hotelId);
 
+    long countByHotelId(Long hotelId);
+
     Optional<Room> findByNumberAndHotelId(String number, Long hotelId);
 
     @Query("SELECT r FROM Room r WHERE r.available = true ORDER BY r.timesBooked ASC, r.id ASC")
     List<Room> findAvailableRoomsOrderByTimesBooked();
 
+    @Query("SELECT new com.example.hotelservice.dto.RoomDTO(r.id, r.number, r.available, r.timesBooked, r.hotel.id) " +
+            "FROM Room r WHERE r.available = true ORDER BY r.timesBooked ASC, r.id ASC")
+    List<RoomDTO> findAvailableRoomDtosOrderByTimesBooked();
+
+    @Query("SELECT new com.example.hotelservice.dto.RoomDTO(r.id, r.number, r.available, r.timesBooked, r.hotel.id) " +
+            "FROM Room r WHERE r.hotel.id = :hotelId AND r.available = true")
+    List<RoomDTO> findAvailableRoomDtosByHotelId(Long hotelId);
+
+    @Query("SELECT new com.example.hotelservice.dto.RoomDTO(r.id, r.number, r.available, r.timesBooked, r.hotel.id) " +
+            "FROM Room r WHERE r.id > :afterId AND r.available = true ORDER BY r.id ASC")
+    List<RoomDTO> findAvailableRoomDtosAfterId(long afterId, Limit limit);
+
     @Query("SELECT r FROM Room r JOIN FETCH r.hotel WHERE r.available = true ORDER BY r.timesBooked ASC")
     List<Room> findAvailableRoomsWithHotel();
 
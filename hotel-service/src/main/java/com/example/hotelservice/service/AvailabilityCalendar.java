@@ -0,0 +1,85 @@
+package com.example.hotelservice.service;
+
+import com.example.hotelservice.util.DayBitmap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Date-level holds placed by confirm-availability. The calendar itself lives in memory; RoomService keeps each
+ * hold in the room_holds table as well and replays them here on startup.
+ */
+@Slf4j
+@Component
+public class AvailabilityCalendar {
+
+    // One bit per epoch day, stored sparsely; a stay occupies [startDate, endDate), the check-out day stays free.
+    private final ConcurrentHashMap<Long, DayBitmap> roomCalendars = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Reservation> reservations = new ConcurrentHashMap<>();
+
+    public boolean isFree(Long roomId, LocalDate startDate, LocalDate endDate) {
+        DayBitmap days = roomCalendars.get(roomId);
+        if (days == null) {
+            return true;
+        }
+        synchronized (days) {
+            return !days.intersects(toDay(startDate), toDay(endDate));
+        }
+    }
+
+    public Claim reserve(String correlationId, Long roomId, Long hotelId, LocalDate startDate, LocalDate endDate) {
+        int from = toDay(startDate);
+        int to = toDay(endDate);
+        DayBitmap days = roomCalendars.computeIfAbsent(roomId, id -> new DayBitmap());
+        Reservation reservation = new Reservation(roomId, hotelId, startDate, endDate);
+
+        // The claim comes first so a retried correlationId can never set the bits twice; release takes the same
+        // room lock, so it never sees a claim whose bits are not set yet.
+        synchronized (days) {
+            if (reservations.putIfAbsent(correlationId, reservation) != null) {
+                return Claim.ALREADY_HELD;
+            }
+            if (days.intersects(from, to)) {
+                reservations.remove(correlationId, reservation);
+                log.warn("Room {} is already occupied between {} and {}", roomId, startDate, endDate);
+                return Claim.OCCUPIED;
+            }
+            days.set(from, to);
+        }
+        return Claim.TAKEN;
+    }
+
+    public Optional<Reservation> release(String correlationId) {
+        Reservation reservation = reservations.get(correlationId);
+        if (reservation == null) {
+            return Optional.empty();
+        }
+
+        DayBitmap days = roomCalendars.get(reservation.roomId());
+        synchronized (days) {
+            if (!reservations.remove(correlationId, reservation)) {
+                return Optional.empty();
+            }
+            days.clear(toDay(reservation.startDate()), toDay(reservation.endDate()));
+        }
+        return Optional.of(reservation);
+    }
+
+    private int toDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    // ALREADY_HELD means an earlier call with the same correlationId owns the dates; the caller must neither
+    // repeat its side effects nor release them on its own failure.
+    public enum Claim {
+        TAKEN,
+        ALREADY_HELD,
+        OCCUPIED
+    }
+
+    public record Reservation(Long roomId, Long hotelId, LocalDate startDate, LocalDate endDate) {
+    }
+}
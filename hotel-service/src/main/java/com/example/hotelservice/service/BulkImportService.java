@@ -0,0 +1,279 @@
+package com.example.hotelservice.service;
+
+import com.example.hotelservice.dto.BulkImportResultDTO;
+import com.example.hotelservice.dto.HotelDTO;
+import com.example.hotelservice.dto.RoomDTO;
+import com.example.hotelservice.entity.Hotel;
+import com.example.hotelservice.entity.Room;
+import com.example.hotelservice.mapper.HotelMapper;
+import com.example.hotelservice.mapper.RoomMapper;
+import com.example.hotelservice.repository.HotelRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Imports hotels and rooms in chunks of {@code app.bulk-import.commit-rows}, each in its own transaction and
+ * flushed every JDBC batch. A failing chunk rolls back alone; the chunks before it stay imported.
+ */
+@Slf4j
+@Service
+public class BulkImportService {
+
+    // Positional order when the CSV has no header row.
+    private static final List<String> ROOM_COLUMNS = List.of("hotelId", "number", "available", "timesBooked");
+
+    private static final ObjectReader CSV_ROWS = new CsvMapper()
+            .readerForListOf(String.class)
+            .with(CsvParser.Feature.WRAP_AS_ARRAY)
+            .with(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .with(CsvParser.Feature.TRIM_SPACES);
+
+    private final HotelRepository hotelRepository;
+    private final HotelMapper hotelMapper;
+    private final RoomMapper roomMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int commitRows;
+
+    public BulkImportService(HotelRepository hotelRepository,
+                             HotelMapper hotelMapper,
+                             RoomMapper roomMapper,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                             @Value("${app.bulk-import.commit-rows:1000}") int commitRows) {
+        this.hotelRepository = hotelRepository;
+        this.hotelMapper = hotelMapper;
+        this.roomMapper = roomMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.commitRows = commitRows;
+    }
+
+    public BulkImportResultDTO importHotels(List<HotelDTO> hotelDTOs) {
+        log.info("Bulk importing {} hotels", hotelDTOs.size());
+        long start = System.nanoTime();
+
+        int imported = inChunks(hotelDTOs, this::persistHotels);
+
+        return result("hotels", imported, start);
+    }
+
+    public BulkImportResultDTO importRooms(List<RoomDTO> roomDTOs) {
+        log.info("Bulk importing {} rooms", roomDTOs.size());
+        long start = System.nanoTime();
+
+        Set<Long> knownHotelIds = new HashSet<>();
+        int imported = inChunks(roomDTOs, chunk -> persistRooms(chunk, knownHotelIds));
+
+        return result("rooms", imported, start);
+    }
+
+    /**
+     * Reads {@code hotelId,number[,available,timesBooked]} records. A first record made only of those column names
+     * is a header and may reorder or omit the optional columns; quoted fields may contain commas, quotes and newlines.
+     */
+    public BulkImportResultDTO importRoomsCsv(InputStream csv) throws IOException {
+        log.info("Bulk importing rooms from CSV stream");
+        long start = System.nanoTime();
+
+        Set<Long> knownHotelIds = new HashSet<>();
+        List<RoomDTO> chunk = new ArrayList<>(commitRows);
+        int imported = 0;
+
+        try (MappingIterator<List<String>> records = CSV_ROWS.readValues(csv)) {
+            int[] columns = null;
+            while (records.hasNextValue()) {
+                List<String> record = records.nextValue();
+                long lineNumber = records.getParser().currentTokenLocation().getLineNr();
+                if (columns == null) {
+                    columns = headerColumns(record);
+                    if (columns != null) {
+                        continue;
+                    }
+                    columns = new int[]{0, 1, 2, 3};
+                }
+
+                chunk.add(parseRoom(record, columns, lineNumber));
+                if (chunk.size() == commitRows) {
+                    imported += commit(chunk, rooms -> persistRooms(rooms, knownHotelIds), imported);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Bulk import stopped at malformed CSV after {} rooms were committed", imported);
+            throw new IllegalArgumentException("Invalid CSV: " + e.getOriginalMessage());
+        }
+
+        imported += commit(chunk, rooms -> persistRooms(rooms, knownHotelIds), imported);
+
+        return result("rooms", imported, start);
+    }
+
+    private <T> int inChunks(List<T> rows, Consumer<List<T>> persist) {
+        int imported = 0;
+        for (int from = 0; from < rows.size(); from += commitRows) {
+            imported += commit(rows.subList(from, Math.min(from + commitRows, rows.size())), persist, imported);
+        }
+        return imported;
+    }
+
+    private <T> int commit(List<T> chunk, Consumer<List<T>> persist, int committedBefore) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist.accept(chunk));
+        } catch (RuntimeException e) {
+            log.error("Bulk import stopped after {} rows were committed", committedBefore);
+            throw e;
+        }
+        return chunk.size();
+    }
+
+    private void persistHotels(List<HotelDTO> chunk) {
+        for (int i = 0; i < chunk.size(); i++) {
+            HotelDTO hotelDTO = chunk.get(i);
+            hotelDTO.setId(null);
+            entityManager.persist(hotelMapper.toEntity(hotelDTO));
+            flushBatch(i + 1);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void persistRooms(List<RoomDTO> chunk, Set<Long> knownHotelIds) {
+        verifyHotelsExist(chunk, knownHotelIds);
+
+        for (int i = 0; i < chunk.size(); i++) {
+            RoomDTO roomDTO = chunk.get(i);
+            roomDTO.setId(null);
+            Room room = roomMapper.toEntityWithHotel(roomDTO, entityManager.getReference(Hotel.class, roomDTO.getHotelId()));
+            if (room.getAvailable() == null) {
+                room.setAvailable(true);
+            }
+            if (room.getTimesBooked() == null) {
+                room.setTimesBooked(0);
+            }
+            entityManager.persist(room);
+            flushBatch(i + 1);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void verifyHotelsExist(List<RoomDTO> chunk, Set<Long> knownHotelIds) {
+        Set<Long> unknownHotelIds = chunk.stream()
+                .map(RoomDTO::getHotelId)
+                .filter(hotelId -> !knownHotelIds.contains(hotelId))
+                .collect(Collectors.toSet());
+
+        if (unknownHotelIds.isEmpty()) {
+            return;
+        }
+
+        if (unknownHotelIds.contains(null)) {
+            throw new IllegalArgumentException("Hotel ID is required for every room");
+        }
+
+        hotelRepository.findAllById(unknownHotelIds).forEach(hotel -> knownHotelIds.add(hotel.getId()));
+        unknownHotelIds.removeAll(knownHotelIds);
+
+        if (!unknownHotelIds.isEmpty()) {
+            log.error("Hotels not found with IDs: {}", unknownHotelIds);
+            throw new RuntimeException("Hotel not found with ID: " + unknownHotelIds.iterator().next());
+        }
+    }
+
+    // Index of each ROOM_COLUMNS entry in the record (-1 if absent), or null if the record is data rather than a header.
+    private int[] headerColumns(List<String> record) {
+        int[] columns = {-1, -1, -1, -1};
+        for (int i = 0; i < record.size(); i++) {
+            int column = indexOfColumn(record.get(i));
+            if (column < 0) {
+                return null;
+            }
+            columns[column] = i;
+        }
+        if (columns[0] < 0 || columns[1] < 0) {
+            throw new IllegalArgumentException("Invalid CSV header: hotelId and number columns are required");
+        }
+        return columns;
+    }
+
+    private int indexOfColumn(String name) {
+        for (int i = 0; i < ROOM_COLUMNS.size(); i++) {
+            if (ROOM_COLUMNS.get(i).equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private RoomDTO parseRoom(List<String> record, int[] columns, long lineNumber) {
+        String hotelId = field(record, columns[0]);
+        String number = field(record, columns[1]);
+        if (hotelId == null || number == null) {
+            throw new IllegalArgumentException("Invalid CSV line " + lineNumber + ": expected hotelId,number[,available,timesBooked]");
+        }
+
+        String available = field(record, columns[2]);
+        String timesBooked = field(record, columns[3]);
+        try {
+            return RoomDTO.builder()
+                    .hotelId(Long.parseLong(hotelId))
+                    .number(number)
+                    .available(available != null ? Boolean.parseBoolean(available) : true)
+                    .timesBooked(timesBooked != null ? Integer.parseInt(timesBooked) : 0)
+                    .build();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid CSV line " + lineNumber + ": " + e.getMessage());
+        }
+    }
+
+    private String field(List<String> record, int index) {
+        return index >= 0 && index < record.size() && !record.get(index).isEmpty() ? record.get(index) : null;
+    }
+
+    private void flushBatch(int persisted) {
+        if (persisted % batchSize == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private BulkImportResultDTO result(String entity, int imported, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double rowsPerSecond = elapsedNanos == 0 ? 0.0 : imported * 1_000_000_000.0 / elapsedNanos;
+
+        log.info("Bulk imported {} {} in {} ms ({} rows/s)",
+                imported, entity, elapsedNanos / 1_000_000, Math.round(rowsPerSecond));
+
+        return BulkImportResultDTO.builder()
+                .imported(imported)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+}
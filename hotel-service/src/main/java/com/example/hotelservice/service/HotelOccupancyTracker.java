@@ -0,0 +1,45 @@
+package com.example.hotelservice.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class HotelOccupancyTracker {
+
+    // hotelId -> epoch day -> number of rooms held for that night
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, Integer>> occupancyByHotel =
+            new ConcurrentHashMap<>();
+
+    public void add(Long hotelId, LocalDate startDate, LocalDate endDate) {
+        Map<Long, Integer> days = occupancyByHotel.computeIfAbsent(hotelId, id -> new ConcurrentHashMap<>());
+        for (long day = startDate.toEpochDay(); day < endDate.toEpochDay(); day++) {
+            days.merge(day, 1, Integer::sum);
+        }
+    }
+
+    public void remove(Long hotelId, LocalDate startDate, LocalDate endDate) {
+        ConcurrentHashMap<Long, Integer> days = occupancyByHotel.get(hotelId);
+        if (days == null) {
+            return;
+        }
+        for (long day = startDate.toEpochDay(); day < endDate.toEpochDay(); day++) {
+            // Both updates run inside the map's per-key lock, so an add can never land on a counter being dropped.
+            days.computeIfPresent(day, (d, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    public int[] occupiedRooms(Long hotelId, LocalDate from, LocalDate to) {
+        int[] occupied = new int[Math.toIntExact(to.toEpochDay() - from.toEpochDay())];
+        Map<Long, Integer> days = occupancyByHotel.get(hotelId);
+        if (days == null) {
+            return occupied;
+        }
+        for (int i = 0; i < occupied.length; i++) {
+            occupied[i] = days.getOrDefault(from.toEpochDay() + i, 0);
+        }
+        return occupied;
+    }
+}
@@ -1,14 +1,21 @@
 package com.example.hotelservice.service;
 
+import com.example.hotelservice.dto.DailyOccupancyDTO;
 import com.example.hotelservice.dto.HotelDTO;
+import com.example.hotelservice.dto.HotelOccupancyDTO;
+import com.example.hotelservice.dto.HotelWithRoomsDTO;
 import com.example.hotelservice.entity.Hotel;
 import com.example.hotelservice.mapper.HotelMapper;
 import com.example.hotelservice.repository.HotelRepository;
+import com.example.hotelservice.repository.RoomRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -17,8 +24,15 @@ import java.util.List;
 @Transactional
 public class HotelService {
 
+    private static final int MAX_HOTELS_PER_BATCH = 100;
+    private static final int MAX_OCCUPANCY_DAYS = 366;
+    private static final String ALL_HOTELS_KEY = "hotels:all";
+
     private final HotelRepository hotelRepository;
     private final HotelMapper hotelMapper;
+    private final RoomRepository roomRepository;
+    private final HotelOccupancyTracker occupancyTracker;
+    private final RequestCoalescer requestCoalescer;
 
     public HotelDTO createHotel(HotelDTO hotelDTO) {
         log.info("Creating new hotel: {}", hotelDTO.getName());
@@ -30,11 +44,10 @@ public class HotelService {
         return hotelMapper.toDto(savedHotel);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<HotelDTO> getAllHotels() {
         log.info("Retrieving all hotels");
-        List<Hotel> hotels = hotelRepository.findAll();
-        return hotelMapper.toDtoList(hotels);
+        return requestCoalescer.read(ALL_HOTELS_KEY, hotelRepository::findAllHotelDtos);
     }
 
     @Transactional(readOnly = true)
@@ -48,6 +61,75 @@ public class HotelService {
         return hotelMapper.toDto(hotel);
     }
 
+    @Transactional(readOnly = true)
+    public HotelWithRoomsDTO getHotelWithRooms(Long id) {
+        log.info("Retrieving hotel with rooms by ID: {}", id);
+        Hotel hotel = hotelRepository.findByIdWithRooms(id)
+                .orElseThrow(() -> {
+                    log.error("Hotel not found with ID: {}", id);
+                    return new RuntimeException("Hotel not found with ID: " + id);
+                });
+        return hotelMapper.toWithRoomsDto(hotel);
+    }
+
+    @Transactional(readOnly = true)
+    public List<HotelWithRoomsDTO> getHotelsWithRooms(List<Long> ids) {
+        log.info("Retrieving {} hotels with rooms", ids.size());
+
+        if (ids.size() > MAX_HOTELS_PER_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_HOTELS_PER_BATCH + " hotels can be requested at once");
+        }
+
+        List<Hotel> hotels = hotelRepository.findAllByIdWithRooms(ids);
+        return hotelMapper.toWithRoomsDtoList(hotels);
+    }
+
+    @Transactional(readOnly = true)
+    public HotelOccupancyDTO getOccupancy(Long id, LocalDate from, LocalDate to) {
+        log.info("Retrieving occupancy for hotel ID: {} from {} to {}", id, from, to);
+
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("Occupancy end date must be after start date");
+        }
+
+        // The per-day array and response grow with the range, so it is capped like the hotel batch size.
+        if (from.plusDays(MAX_OCCUPANCY_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("At most " + MAX_OCCUPANCY_DAYS + " days of occupancy can be requested at once");
+        }
+
+        if (!hotelRepository.existsById(id)) {
+            log.error("Hotel not found with ID: {}", id);
+            throw new RuntimeException("Hotel not found with ID: " + id);
+        }
+
+        long totalRooms = roomRepository.countByHotelId(id);
+        int[] occupied = occupancyTracker.occupiedRooms(id, from, to);
+
+        List<DailyOccupancyDTO> days = new ArrayList<>(occupied.length);
+        long occupiedNights = 0;
+        for (int i = 0; i < occupied.length; i++) {
+            occupiedNights += occupied[i];
+            days.add(DailyOccupancyDTO.builder()
+                    .date(from.plusDays(i))
+                    .occupiedRooms(occupied[i])
+                    .occupancyRate(rate(occupied[i], totalRooms))
+                    .build());
+        }
+
+        return HotelOccupancyDTO.builder()
+                .hotelId(id)
+                .totalRooms(totalRooms)
+                .from(from)
+                .to(to)
+                .averageOccupancyRate(rate(occupiedNights, totalRooms * occupied.length))
+                .days(days)
+                .build();
+    }
+
+    private double rate(long occupied, long total) {
+        return total == 0 ? 0.0 : (double) occupied / total;
+    }
+
     public HotelDTO updateHotel(Long id, HotelDTO hotelDTO) {
         log.info("Updating hotel with ID: {}", id);
 
@@ -67,12 +149,13 @@ public class HotelService {
     public void deleteHotel(Long id) {
         log.info("Deleting hotel with ID: {}", id);
 
-        if (!hotelRepository.existsById(id)) {
-            log.error("Hotel not found with ID: {}", id);
-            throw new RuntimeException("Hotel not found with ID: " + id);
-        }
+        Hotel hotel = hotelRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Hotel not found with ID: {}", id);
+                    return new RuntimeException("Hotel not found with ID: " + id);
+                });
 
-        hotelRepository.deleteById(id);
+        hotelRepository.delete(hotel);
         log.info("Hotel deleted successfully with ID: {}", id);
     }
 
@@ -0,0 +1,68 @@
+package com.example.hotelservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets identical reads that arrive at the same time share one execution. The first caller for a key runs the
+ * query in its own read-only transaction, everyone who asks for the same key meanwhile waits for that result
+ * without opening a transaction or taking a connection. Nothing is cached once the query has returned.
+ */
+@Slf4j
+@Component
+public class RequestCoalescer {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /** The shared result must be treated as read-only: every waiter gets the same instance. */
+    @SuppressWarnings("unchecked")
+    public <T> T read(String key, Supplier<T> query) {
+        // Inside a caller's transaction the result has to reflect that transaction, so it is never shared.
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return query.get();
+        }
+
+        CompletableFuture<Object> promise = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, promise);
+        if (running != null) {
+            log.debug("Joining in-flight read {}", key);
+            return (T) await(running);
+        }
+
+        try {
+            T result = readOnlyTransaction.execute(status -> query.get());
+            promise.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            promise.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, promise);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
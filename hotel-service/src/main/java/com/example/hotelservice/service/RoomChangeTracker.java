@@ -0,0 +1,95 @@
+package com.example.hotelservice.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Global change sequence behind the {@code /api/rooms/changes} feed. Every inserted or updated room is
+ * stamped with the next value, deletions are kept as tombstones in a bounded in-memory log.
+ * Values handed to transactions that are still open hold the watermark back, so a reader never
+ * moves its cursor past a change that commits late.
+ */
+@Component
+public class RoomChangeTracker {
+
+    static final int MAX_TOMBSTONES = 10_000;
+
+    private long last;
+    private long floor;
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private final TreeMap<Long, Long> tombstones = new TreeMap<>();
+
+    public long next() {
+        long seq;
+        synchronized (this) {
+            seq = ++last;
+            inFlight.add(seq);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    settle(seq);
+                }
+            });
+        } else {
+            settle(seq);
+        }
+        return seq;
+    }
+
+    /** Highest sequence value below which every change is either committed or rolled back. */
+    public synchronized long watermark() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    /**
+     * Called once the persisted rooms are known: anything deleted before {@code maxPersisted} is lost,
+     * so cursors older than that have to start over from a full snapshot.
+     */
+    public synchronized void seed(long maxPersisted) {
+        last = Math.max(last, maxPersisted);
+        floor = last;
+    }
+
+    public synchronized boolean requiresResync(long sinceVersion) {
+        return sinceVersion > 0 && (sinceVersion < floor || sinceVersion > last);
+    }
+
+    public synchronized List<Long> deletedBetween(long sinceVersion, long upTo) {
+        if (upTo <= sinceVersion) {
+            return List.of();
+        }
+        return new ArrayList<>(tombstones.subMap(sinceVersion, false, upTo, true).values());
+    }
+
+    public void recordRemoval(Long roomId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordDeletion(roomId);
+                }
+            });
+        } else {
+            recordDeletion(roomId);
+        }
+    }
+
+    synchronized void recordDeletion(Long roomId) {
+        tombstones.put(++last, roomId);
+        while (tombstones.size() > MAX_TOMBSTONES) {
+            floor = Math.max(floor, tombstones.pollFirstEntry().getKey());
+        }
+    }
+
+    private synchronized void settle(long seq) {
+        inFlight.remove(seq);
+    }
+}
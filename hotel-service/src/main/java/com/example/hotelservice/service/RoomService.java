@@ -1,17 +1,28 @@
 package com.example.hotelservice.service;
 
+import com.example.hotelservice.dto.RoomChangeDTO;
+import com.example.hotelservice.dto.RoomChangesDTO;
 import com.example.hotelservice.dto.RoomDTO;
 import com.example.hotelservice.dto.AvailabilityRequestDTO;
+import com.example.hotelservice.dto.RoomReleaseDTO;
 import com.example.hotelservice.entity.Hotel;
 import com.example.hotelservice.entity.Room;
+import com.example.hotelservice.entity.RoomHold;
 import com.example.hotelservice.mapper.RoomMapper;
+import com.example.hotelservice.service.AvailabilityCalendar.Claim;
 import com.example.hotelservice.repository.HotelRepository;
+import com.example.hotelservice.repository.RoomHoldRepository;
 import com.example.hotelservice.repository.RoomRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -21,11 +32,43 @@ import java.util.concurrent.ConcurrentHashMap;
 @Transactional
 public class RoomService {
 
+    private static final String AVAILABLE_ROOMS_KEY = "rooms:available";
+    private static final int MAX_CHANGES_PER_PAGE = 1_000;
+    private static final int MAX_SEARCH_RESULTS = 1_000;
+    private static final int SEARCH_CANDIDATE_BATCH = 1_000;
+
     private final RoomRepository roomRepository;
     private final HotelRepository hotelRepository;
+    private final RoomHoldRepository roomHoldRepository;
     private final RoomMapper roomMapper;
+    private final AvailabilityCalendar availabilityCalendar;
+    private final HotelOccupancyTracker occupancyTracker;
+    private final RoomChangeTracker changeTracker;
+    private final RequestCoalescer requestCoalescer;
 
     private final ConcurrentHashMap<String, Long> temporaryLocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> roomHotelIds = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void seedChangeLog() {
+        changeTracker.seed(roomRepository.findMaxChangeSeq());
+    }
+
+    // Without this a restart would report every room free to /search and /occupancy and let a clashing hold in.
+    @PostConstruct
+    void restoreHolds() {
+        LocalDate today = LocalDate.now();
+        roomHoldRepository.deleteEndedBy(today);
+        List<RoomHold> holds = roomHoldRepository.findByEndDateAfter(today);
+        for (RoomHold hold : holds) {
+            if (availabilityCalendar.reserve(hold.getCorrelationId(), hold.getRoomId(), hold.getHotelId(),
+                    hold.getStartDate(), hold.getEndDate()) == Claim.TAKEN) {
+                occupancyTracker.add(hold.getHotelId(), hold.getStartDate(), hold.getEndDate());
+            }
+            temporaryLocks.put(hold.getCorrelationId(), hold.getRoomId());
+        }
+        log.info("Restored {} room holds into the availability calendar", holds.size());
+    }
 
     public RoomDTO createRoom(RoomDTO roomDTO) {
         log.info("Creating new room for hotel ID: {}", roomDTO.getHotelId());
@@ -44,18 +87,73 @@ public class RoomService {
         return roomMapper.toDto(savedRoom);
     }
 
-    @Transactional(readOnly = true)
+    // Both listings run the same query, so they share one coalescing key.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<RoomDTO> getAvailableRooms() {
         log.info("Retrieving all available rooms");
-        List<Room> rooms = roomRepository.findAvailableRoomsOrderByTimesBooked();
-        return roomMapper.toDtoList(rooms);
+        return requestCoalescer.read(AVAILABLE_ROOMS_KEY, roomRepository::findAvailableRoomDtosOrderByTimesBooked);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<RoomDTO> getRecommendedRooms() {
         log.info("Retrieving recommended rooms (sorted by times booked)");
-        List<Room> rooms = roomRepository.findAvailableRoomsOrderByTimesBooked();
-        return roomMapper.toDtoList(rooms);
+        return requestCoalescer.read(AVAILABLE_ROOMS_KEY, roomRepository::findAvailableRoomDtosOrderByTimesBooked);
+    }
+
+    // Not readOnly on purpose: the watermark only covers commits the primary has seen, a lagging replica could skip them.
+    public RoomChangesDTO getRoomChanges(long sinceVersion, int limit, long afterId, long snapshotVersion) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PER_PAGE));
+        if (sinceVersion == 0) {
+            return getRoomSnapshot(pageSize, afterId, snapshotVersion);
+        }
+
+        long upTo = changeTracker.watermark();
+        if (changeTracker.requiresResync(sinceVersion)) {
+            log.info("Room change cursor {} is outside the retained log, full resync required", sinceVersion);
+            return resyncRequired(upTo);
+        }
+
+        List<RoomChangeDTO> rooms = roomRepository.findChanges(sinceVersion, upTo, Limit.of(pageSize));
+        boolean hasMore = rooms.size() == pageSize;
+        long nextVersion = hasMore ? rooms.get(rooms.size() - 1).getChangeSeq() : upTo;
+
+        return RoomChangesDTO.builder()
+                .rooms(rooms)
+                .deletedRoomIds(changeTracker.deletedBetween(sinceVersion, nextVersion))
+                .latestVersion(nextVersion)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // The catalog is paged by id under the version pinned by the first page. Whatever changes while the pages are
+    // read is replayed when the caller follows the feed from that version, deletions included, as long as the
+    // pinned version is still inside the tombstone log.
+    private RoomChangesDTO getRoomSnapshot(int pageSize, long afterId, long snapshotVersion) {
+        long pinned = snapshotVersion > 0 ? snapshotVersion : changeTracker.watermark();
+        if (changeTracker.requiresResync(pinned)) {
+            log.info("Room snapshot version {} is outside the retained log, full resync required", pinned);
+            return resyncRequired(changeTracker.watermark());
+        }
+
+        List<RoomChangeDTO> rooms = roomRepository.findSnapshotPage(afterId, Limit.of(pageSize));
+        boolean hasMore = rooms.size() == pageSize;
+
+        return RoomChangesDTO.builder()
+                .rooms(rooms)
+                .deletedRoomIds(List.of())
+                .latestVersion(pinned)
+                .hasMore(hasMore)
+                .snapshotAfterId(hasMore ? rooms.get(rooms.size() - 1).getId() : null)
+                .build();
+    }
+
+    private RoomChangesDTO resyncRequired(long latestVersion) {
+        return RoomChangesDTO.builder()
+                .rooms(List.of())
+                .deletedRoomIds(List.of())
+                .latestVersion(latestVersion)
+                .resyncRequired(true)
+                .build();
     }
 
     @Transactional(readOnly = true)
@@ -72,11 +170,45 @@ public class RoomService {
     @Transactional(readOnly = true)
     public List<RoomDTO> getRoomsByHotelId(Long hotelId) {
         log.info("Retrieving rooms for hotel ID: {}", hotelId);
-        List<Room> rooms = roomRepository.findByHotelIdAndAvailableTrue(hotelId);
-        return roomMapper.toDtoList(rooms);
+        return roomRepository.findAvailableRoomDtosByHotelId(hotelId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RoomDTO> searchAvailableRooms(LocalDate from, LocalDate to, Long hotelId, long afterId, int limit) {
+        log.info("Searching rooms free from {} to {} (hotel ID: {}, after room {})", from, to, hotelId, afterId);
+
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("Search end date must be after start date");
+        }
+
+        if (hotelId != null) {
+            return roomRepository.findAvailableRoomDtosByHotelId(hotelId).stream()
+                    .filter(room -> availabilityCalendar.isFree(room.getId(), from, to))
+                    .toList();
+        }
+
+        // Catalog-wide search reads candidates in id order one page at a time and stops once the page of free rooms
+        // is full; the caller resumes from the last returned id.
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        List<RoomDTO> free = new ArrayList<>(pageSize);
+        long cursor = afterId;
+        while (free.size() < pageSize) {
+            List<RoomDTO> candidates = roomRepository.findAvailableRoomDtosAfterId(cursor, Limit.of(SEARCH_CANDIDATE_BATCH));
+            for (RoomDTO room : candidates) {
+                if (free.size() < pageSize && availabilityCalendar.isFree(room.getId(), from, to)) {
+                    free.add(room);
+                }
+            }
+            if (candidates.size() < SEARCH_CANDIDATE_BATCH) {
+                break;
+            }
+            cursor = candidates.get(candidates.size() - 1).getId();
+        }
+        return free;
     }
 
     public boolean confirmAvailability(Long roomId, AvailabilityRequestDTO request) {
+        boolean claimed = false;
         try {
             log.info("Confirming availability for room ID: {} with correlationId: {}",
                     roomId, request.getCorrelationId());
@@ -86,41 +218,127 @@ public class RoomService {
                 return true;
             }
 
-            if (!roomRepository.existsById(roomId)) {
+            Long hotelId = hotelIdOf(roomId);
+            if (hotelId == null) {
                 log.warn("Room not found with ID: {}", roomId);
                 return false;
             }
 
-            Room room = roomRepository.findById(roomId)
-                    .orElseThrow(() -> {
-                        log.error("Room not found with ID: {}", roomId);
-                        return new RuntimeException("Room not found with ID: " + roomId);
-                    });
+            // The in-memory hold goes first, so a date clash costs no SQL at all.
+            Claim claim = reserveDates(roomId, hotelId, request);
+            if (claim == Claim.ALREADY_HELD) {
+                // A concurrent retry of the same request owns the hold and bumps the counter itself.
+                log.info("Dates already held for correlationId: {}", request.getCorrelationId());
+                return true;
+            }
+            if (claim == Claim.OCCUPIED) {
+                return false;
+            }
+            claimed = true;
 
-            if (!room.getAvailable()) {
+            // Availability check and popularity bump in one statement; no affected row means missing or unavailable.
+            if (roomRepository.incrementTimesBookedIfAvailable(roomId, changeTracker.next()) == 0) {
                 log.warn("Room {} is not available", roomId);
+                releaseReservation(request.getCorrelationId());
                 return false;
             }
 
+            if (request.getStartDate() != null && request.getEndDate() != null) {
+                roomHoldRepository.save(RoomHold.builder()
+                        .correlationId(request.getCorrelationId())
+                        .roomId(roomId)
+                        .hotelId(hotelId)
+                        .startDate(request.getStartDate())
+                        .endDate(request.getEndDate())
+                        .build());
+            }
+
             temporaryLocks.put(request.getCorrelationId(), roomId);
             log.info("Temporary lock created for room {} with correlationId {}",
                     roomId, request.getCorrelationId());
-
-            incrementTimesBooked(roomId);
             return true;
 
         } catch (Exception e) {
             log.error("Error confirming availability for room {}: {}", roomId, e.getMessage());
+            // Only the call that took the hold may give it back; a duplicate failing must not free the original's.
+            if (claimed) {
+                releaseReservation(request.getCorrelationId());
+            }
             return false;
         }
     }
 
+    // A room's hotel only changes through updateRoom, which evicts the entry, so confirms skip the lookup.
+    private Long hotelIdOf(Long roomId) {
+        Long hotelId = roomHotelIds.get(roomId);
+        if (hotelId == null) {
+            hotelId = roomRepository.findHotelIdById(roomId).orElse(null);
+            if (hotelId != null) {
+                roomHotelIds.put(roomId, hotelId);
+            }
+        }
+        return hotelId;
+    }
+
+    private Claim reserveDates(Long roomId, Long hotelId, AvailabilityRequestDTO request) {
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+
+        if (startDate == null || endDate == null) {
+            return Claim.TAKEN;
+        }
+
+        if (!endDate.isAfter(startDate)) {
+            log.warn("Invalid date range {} - {} for room {}", startDate, endDate, roomId);
+            return Claim.OCCUPIED;
+        }
+
+        Claim claim = availabilityCalendar.reserve(request.getCorrelationId(), roomId, hotelId, startDate, endDate);
+        if (claim == Claim.OCCUPIED) {
+            log.warn("Room {} is already booked between {} and {}", roomId, startDate, endDate);
+        } else if (claim == Claim.TAKEN) {
+            occupancyTracker.add(hotelId, startDate, endDate);
+        }
+        return claim;
+    }
+
+    private boolean releaseReservation(String correlationId) {
+        return availabilityCalendar.release(correlationId)
+                .map(reservation -> {
+                    occupancyTracker.remove(reservation.hotelId(), reservation.startDate(), reservation.endDate());
+                    return true;
+                })
+                .orElse(false);
+    }
+
     public void releaseTemporaryLock(Long roomId, String correlationId) {
         temporaryLocks.remove(correlationId);
+        if (releaseReservation(correlationId)) {
+            roomHoldRepository.deleteByCorrelationIds(List.of(correlationId));
+        }
         log.info("Temporary lock released for room {} with correlationId {}",
                 roomId, correlationId);
     }
 
+    // Releasing an unknown or already released correlationId is a no-op, so redelivered batches are harmless.
+    public int releaseTemporaryLocks(List<RoomReleaseDTO> releases) {
+        int released = 0;
+        List<String> releasedHolds = new ArrayList<>();
+        for (RoomReleaseDTO release : releases) {
+            if (temporaryLocks.remove(release.getCorrelationId()) != null) {
+                released++;
+            }
+            if (releaseReservation(release.getCorrelationId())) {
+                releasedHolds.add(release.getCorrelationId());
+            }
+        }
+        if (!releasedHolds.isEmpty()) {
+            roomHoldRepository.deleteByCorrelationIds(releasedHolds);
+        }
+        log.info("Released {} of {} temporary locks in batch", released, releases.size());
+        return released;
+    }
+
     public void incrementTimesBooked(Long roomId) {
         log.info("Incrementing times booked for room ID: {}", roomId);
 
@@ -155,6 +373,7 @@ public class RoomService {
         }
 
         Room updatedRoom = roomRepository.save(existingRoom);
+        roomHotelIds.remove(id);
 
         log.info("Room updated successfully with ID: {}", id);
         return roomMapper.toDto(updatedRoom);
@@ -163,12 +382,14 @@ public class RoomService {
     public void deleteRoom(Long id) {
         log.info("Deleting room with ID: {}", id);
 
-        if (!roomRepository.existsById(id)) {
-            log.error("Room not found with ID: {}", id);
-            throw new RuntimeException("Room not found with ID: " + id);
-        }
+        Room room = roomRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Room not found with ID: {}", id);
+                    return new RuntimeException("Room not found with ID: " + id);
+                });
 
-        roomRepository.deleteById(id);
+        roomRepository.delete(room);
+        roomHotelIds.remove(id);
         log.info("Room deleted successfully with ID: {}", id);
     }
 
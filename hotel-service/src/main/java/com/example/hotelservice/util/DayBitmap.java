@@ -0,0 +1,120 @@
+package com.example.hotelservice.util;
+
+import java.util.Arrays;
+
+/**
+ * Sparse bitmap over day numbers. Only non-empty 64-day words are stored, keyed by
+ * {@code day >> 6} in a sorted array, so a room booked for a year costs about six words
+ * instead of a dense bitset reaching back to the epoch.
+ */
+public class DayBitmap {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private long[] words = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public boolean intersects(int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+
+        int firstKey = from >> 6;
+        int lastKey = (to - 1) >> 6;
+
+        for (int i = lowerBound(firstKey); i < size && keys[i] <= lastKey; i++) {
+            if ((words[i] & mask(keys[i], firstKey, lastKey, from, to)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void set(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+
+        int firstKey = from >> 6;
+        int lastKey = (to - 1) >> 6;
+
+        for (int key = firstKey; key <= lastKey; key++) {
+            int index = lowerBound(key);
+            if (index == size || keys[index] != key) {
+                insert(index, key);
+            }
+            words[index] |= mask(key, firstKey, lastKey, from, to);
+        }
+    }
+
+    public void clear(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+
+        int firstKey = from >> 6;
+        int lastKey = (to - 1) >> 6;
+
+        int i = lowerBound(firstKey);
+        while (i < size && keys[i] <= lastKey) {
+            words[i] &= ~mask(keys[i], firstKey, lastKey, from, to);
+            if (words[i] == 0) {
+                remove(i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int wordCount() {
+        return size;
+    }
+
+    private static long mask(int key, int firstKey, int lastKey, int from, int to) {
+        long mask = -1L;
+        if (key == firstKey) {
+            mask &= -1L << (from & 63);
+        }
+        if (key == lastKey) {
+            mask &= -1L >>> (63 - ((to - 1) & 63));
+        }
+        return mask;
+    }
+
+    private int lowerBound(int key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insert(int index, int key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            words = Arrays.copyOf(words, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(words, index, words, index + 1, size - index);
+        keys[index] = key;
+        words[index] = 0L;
+        size++;
+    }
+
+    private void remove(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(words, index + 1, words, index, size - index - 1);
+        size--;
+    }
+}
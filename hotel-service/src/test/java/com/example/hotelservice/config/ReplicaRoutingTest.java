@@ -0,0 +1,133 @@
+package com.example.hotelservice.config;
+
+import com.example.hotelservice.dto.HotelDTO;
+import com.example.hotelservice.service.HotelService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:hotel-routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:hotel-routing-replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.max-lag-ms=1000",
+        "app.datasource.replica.heartbeat-interval-ms=3600000"
+})
+class ReplicaRoutingTest {
+
+    private static final String REPLICA_ONLY_HOTEL = "Replica Hotel";
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        // The second H2 instance plays the replica: same schema, but only the rows we put there.
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+        replica.execute("CREATE TABLE IF NOT EXISTS hotels (id BIGINT PRIMARY KEY, " +
+                "name VARCHAR(255) NOT NULL, address VARCHAR(255) NOT NULL)");
+        replica.update("DELETE FROM hotels");
+        replica.update("INSERT INTO hotels (id, name, address) VALUES (1000, ?, 'Replica Street')", REPLICA_ONLY_HOTEL);
+        replicateHeartbeat(System.currentTimeMillis());
+    }
+
+    @Test
+    void primaryDataSource_BindsHikariProperties() {
+        // Assert
+        assertEquals(7, ((HikariDataSource) primaryDataSource).getMaximumPoolSize());
+    }
+
+    @Test
+    void readOnlyServiceCall_WithFreshReplica_ReadsFromReplica() {
+        // Act
+        replicaLagMonitor.checkLag();
+        List<String> names = hotelNames();
+
+        // Assert
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        assertEquals(List.of(REPLICA_ONLY_HOTEL), names);
+    }
+
+    @Test
+    void writeServiceCall_WithFreshReplica_GoesToPrimary() {
+        // Arrange
+        replicaLagMonitor.checkLag();
+
+        // Act
+        HotelDTO created = hotelService.createHotel(HotelDTO.builder().name("Primary Hotel").address("Main Street").build());
+
+        // Assert
+        Integer onPrimary = new JdbcTemplate(primaryDataSource)
+                .queryForObject("SELECT COUNT(*) FROM hotels WHERE id = ?", Integer.class, created.getId());
+        Integer onReplica = replica.queryForObject("SELECT COUNT(*) FROM hotels WHERE id = ?", Integer.class, created.getId());
+        assertEquals(1, onPrimary);
+        assertEquals(0, onReplica);
+    }
+
+    @Test
+    void readOnlyServiceCall_WithLaggingReplica_FallsBackToPrimary() {
+        // Arrange
+        replicateHeartbeat(System.currentTimeMillis() - 60_000);
+
+        // Act
+        replicaLagMonitor.checkLag();
+        List<String> names = hotelNames();
+
+        // Assert
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertTrue(replicaLagMonitor.getLagMillis() >= 60_000);
+        assertFalse(names.contains(REPLICA_ONLY_HOTEL));
+        assertTrue(names.contains("Grand Hotel"));
+    }
+
+    @Test
+    void checkLag_WhenReplicaIsUnreachable_FallsBackToPrimary() {
+        // Arrange
+        replica.execute("DROP TABLE replica_heartbeat");
+
+        // Act
+        replicaLagMonitor.checkLag();
+
+        // Assert
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertTrue(hotelNames().contains("Grand Hotel"));
+    }
+
+    private List<String> hotelNames() {
+        return hotelService.getAllHotels().stream().map(HotelDTO::getName).toList();
+    }
+
+    private void replicateHeartbeat(long beatMillis) {
+        if (replica.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", beatMillis) == 0) {
+            replica.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)", beatMillis);
+        }
+    }
+}
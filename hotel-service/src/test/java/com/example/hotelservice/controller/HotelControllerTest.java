@@ -1,7 +1,11 @@
 package com.example.hotelservice.controller;
 
+import com.example.hotelservice.dto.DailyOccupancyDTO;
 import com.example.hotelservice.dto.HotelDTO;
+import com.example.hotelservice.dto.HotelOccupancyDTO;
+import com.example.hotelservice.dto.HotelWithRoomsDTO;
 import com.example.hotelservice.dto.Role;
+import com.example.hotelservice.dto.RoomDTO;
 import com.example.hotelservice.dto.UserShortDTO;
 import com.example.hotelservice.service.HotelService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,6 +21,7 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -142,6 +147,103 @@ class HotelControllerTest {
         verify(hotelService).getHotelById(eq(HOTEL_ID));
     }
 
+    @Test
+    void getOccupancy_WithUserRole_ShouldReturnOccupancy() throws Exception {
+        LocalDate from = LocalDate.of(2030, 5, 1);
+        LocalDate to = from.plusDays(1);
+        HotelOccupancyDTO occupancy = HotelOccupancyDTO.builder()
+                .hotelId(HOTEL_ID)
+                .totalRooms(4L)
+                .from(from)
+                .to(to)
+                .averageOccupancyRate(0.5)
+                .days(List.of(DailyOccupancyDTO.builder()
+                        .date(from)
+                        .occupiedRooms(2)
+                        .occupancyRate(0.5)
+                        .build()))
+                .build();
+
+        when(hotelService.getOccupancy(HOTEL_ID, from, to))
+                .thenReturn(occupancy);
+
+        mockMvc.perform(get("/api/hotels/{id}/occupancy", HOTEL_ID)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.hotelId").value(HOTEL_ID),
+                        jsonPath("$.totalRooms").value(4),
+                        jsonPath("$.days.length()").value(1),
+                        jsonPath("$.days[0].occupiedRooms").value(2)
+                );
+
+        verify(hotelService).getOccupancy(HOTEL_ID, from, to);
+    }
+
+    @Test
+    void getOccupancy_InvertedRange_ShouldReturnBadRequest() throws Exception {
+        LocalDate from = LocalDate.of(2030, 5, 2);
+        LocalDate to = from.minusDays(1);
+
+        when(hotelService.getOccupancy(HOTEL_ID, from, to))
+                .thenThrow(new IllegalArgumentException("Occupancy end date must be after start date"));
+
+        mockMvc.perform(get("/api/hotels/{id}/occupancy", HOTEL_ID)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpectAll(
+                        status().isBadRequest(),
+                        jsonPath("$.error").value("Occupancy end date must be after start date")
+                );
+    }
+
+    @Test
+    void getHotelWithRooms_WithUserRole_ShouldReturnHotelAndRooms() throws Exception {
+        HotelWithRoomsDTO hotel = HotelWithRoomsDTO.builder()
+                .id(HOTEL_ID)
+                .name("Test Hotel")
+                .address("123 Test Street")
+                .rooms(List.of(RoomDTO.builder().id(1L).number("101").hotelId(HOTEL_ID).build()))
+                .build();
+
+        when(hotelService.getHotelWithRooms(HOTEL_ID))
+                .thenReturn(hotel);
+
+        mockMvc.perform(get("/api/hotels/{id}/with-rooms", HOTEL_ID))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.id").value(HOTEL_ID),
+                        jsonPath("$.rooms.length()").value(1),
+                        jsonPath("$.rooms[0].number").value("101")
+                );
+
+        verify(hotelService).getHotelWithRooms(HOTEL_ID);
+    }
+
+    @Test
+    void getHotelsWithRooms_WithUserRole_ShouldReturnHotels() throws Exception {
+        HotelWithRoomsDTO hotel = HotelWithRoomsDTO.builder()
+                .id(HOTEL_ID)
+                .name("Test Hotel")
+                .address("123 Test Street")
+                .rooms(List.of())
+                .build();
+
+        when(hotelService.getHotelsWithRooms(List.of(HOTEL_ID, 2L)))
+                .thenReturn(List.of(hotel));
+
+        mockMvc.perform(get("/api/hotels/with-rooms")
+                        .param("ids", HOTEL_ID + "," + 2L))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.length()").value(1),
+                        jsonPath("$[0].id").value(HOTEL_ID)
+                );
+
+        verify(hotelService).getHotelsWithRooms(List.of(HOTEL_ID, 2L));
+    }
+
     @Test
     void deleteHotel_WithAdminRole_ShouldReturnOk() throws Exception {
         setupMockAdminAuthentication();
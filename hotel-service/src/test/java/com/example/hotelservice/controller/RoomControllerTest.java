@@ -2,8 +2,11 @@ package com.example.hotelservice.controller;
 
 import com.example.hotelservice.dto.Role;
 import com.example.hotelservice.dto.RoomDTO;
+import com.example.hotelservice.dto.RoomReleaseDTO;
 import com.example.hotelservice.dto.AvailabilityRequestDTO;
+import com.example.hotelservice.dto.BulkImportResultDTO;
 import com.example.hotelservice.dto.UserShortDTO;
+import com.example.hotelservice.service.BulkImportService;
 import com.example.hotelservice.service.RoomService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +21,7 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -45,6 +49,9 @@ class RoomControllerTest {
     @MockitoBean
     private RoomService roomService;
 
+    @MockitoBean
+    private BulkImportService bulkImportService;
+
     private static final Long USER_ID = 1L;
     private static final Long ADMIN_ID = 2L;
     private static final Long ROOM_ID = 1L;
@@ -56,6 +63,53 @@ class RoomControllerTest {
         setupMockUserAuthentication();
     }
 
+    @Test
+    void importRooms_WithAdminRole_ShouldAcceptJson() throws Exception {
+        setupMockAdminAuthentication();
+
+        when(bulkImportService.importRooms(anyList()))
+                .thenReturn(BulkImportResultDTO.builder().imported(1).elapsedMillis(5L).rowsPerSecond(200.0).build());
+
+        mockMvc.perform(post("/api/rooms/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(createRoomDTO()))))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.imported").value(1),
+                        jsonPath("$.rowsPerSecond").value(200.0)
+                );
+
+        verify(bulkImportService).importRooms(anyList());
+    }
+
+    @Test
+    void importRooms_WithAdminRole_ShouldAcceptCsv() throws Exception {
+        setupMockAdminAuthentication();
+
+        when(bulkImportService.importRoomsCsv(any(InputStream.class)))
+                .thenReturn(BulkImportResultDTO.builder().imported(2).elapsedMillis(5L).rowsPerSecond(400.0).build());
+
+        mockMvc.perform(post("/api/rooms/bulk")
+                        .contentType("text/csv")
+                        .content("hotelId,number\n1,101\n1,102\n"))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.imported").value(2)
+                );
+
+        verify(bulkImportService).importRoomsCsv(any(InputStream.class));
+    }
+
+    @Test
+    void importRooms_WithUserRole_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(post("/api/rooms/bulk")
+                        .contentType("text/csv")
+                        .content("hotelId,number\n1,101\n"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(bulkImportService);
+    }
+
     @Test
     void createRoom_WithAdminRole_ShouldReturnRoom() throws Exception {
         setupMockAdminAuthentication();
@@ -128,6 +182,27 @@ class RoomControllerTest {
         verify(roomService).getRecommendedRooms();
     }
 
+    @Test
+    void searchAvailableRooms_WithUserRole_ShouldReturnRoomsList() throws Exception {
+        LocalDate from = LocalDate.now().plusDays(1);
+        LocalDate to = from.plusDays(3);
+
+        when(roomService.searchAvailableRooms(from, to, HOTEL_ID, 0, 100))
+                .thenReturn(List.of(createRoomDTO()));
+
+        mockMvc.perform(get("/api/rooms/search")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .param("hotelId", HOTEL_ID.toString()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.length()").value(1),
+                        jsonPath("$[0].id").value(ROOM_ID)
+                );
+
+        verify(roomService).searchAvailableRooms(from, to, HOTEL_ID, 0, 100);
+    }
+
     @Test
     void getRoom_WithUserRole_ShouldReturnRoom() throws Exception {
         RoomDTO expectedRoom = createRoomDTO();
@@ -250,6 +325,25 @@ class RoomControllerTest {
         verify(roomService).releaseTemporaryLock(ROOM_ID, CORRELATION_ID);
     }
 
+    @Test
+    void releaseTemporaryLocks_ShouldReturnReleasedCount() throws Exception {
+        List<RoomReleaseDTO> releases = List.of(
+                new RoomReleaseDTO(ROOM_ID, CORRELATION_ID),
+                new RoomReleaseDTO(ROOM_ID + 1, "other-correlation-id"));
+
+        when(roomService.releaseTemporaryLocks(releases)).thenReturn(2);
+
+        mockMvc.perform(post("/api/rooms/release-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(releases)))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$").value(2)
+                );
+
+        verify(roomService).releaseTemporaryLocks(releases);
+    }
+
     @Test
     void getAvailableRooms_WhenNoRooms_ShouldReturnEmptyList() throws Exception {
         when(roomService.getAvailableRooms())
@@ -0,0 +1,169 @@
+package com.example.hotelservice.filter;
+
+import com.example.hotelservice.dto.AvailabilityRequestDTO;
+import com.example.hotelservice.dto.Role;
+import com.example.hotelservice.dto.UserShortDTO;
+import com.example.hotelservice.entity.Hotel;
+import com.example.hotelservice.entity.Room;
+import com.example.hotelservice.repository.HotelRepository;
+import com.example.hotelservice.repository.RoomRepository;
+import com.example.hotelservice.util.QueryBudget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "app.sql-stats.debug-header-enabled=true"
+})
+class SqlStatementMetricsFilterTest {
+
+    private static final String WITH_ROOMS_URI = "/api/hotels/{id}/with-rooms";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private Long hotelId;
+
+    @BeforeEach
+    void setUp() {
+        authenticate(Role.USER);
+        hotelId = hotelRepository.findAll().get(0).getId();
+    }
+
+    @Test
+    void debugHeader_ReturnsStatementCountAndTime() throws Exception {
+        mockMvc.perform(get(WITH_ROOMS_URI, hotelId)
+                        .header(SqlStatementMetricsFilter.DEBUG_HEADER, "true"))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.id").value(hotelId),
+                        header().string(SqlStatementMetricsFilter.STATEMENTS_HEADER, "1"),
+                        header().exists(SqlStatementMetricsFilter.TIME_HEADER)
+                );
+    }
+
+    @Test
+    void withoutDebugHeader_OmitsHeaders() throws Exception {
+        mockMvc.perform(get(WITH_ROOMS_URI, hotelId))
+                .andExpectAll(
+                        status().isOk(),
+                        header().doesNotExist(SqlStatementMetricsFilter.STATEMENTS_HEADER)
+                );
+    }
+
+    @Test
+    void confirmAvailability_StaysWithinBudgetOverHttp() throws Exception {
+        Long roomId = newRoom("budget-confirm");
+        String body = objectMapper.writeValueAsString(AvailabilityRequestDTO.builder()
+                .startDate(LocalDate.of(2031, 3, 1))
+                .endDate(LocalDate.of(2031, 3, 4))
+                .correlationId("http-budget-confirm")
+                .build());
+
+        // Room lookup for the hotel id, conditional UPDATE, hold row insert.
+        MvcResult result = QueryBudget.assertAtMost(3, () -> perform(post("/api/rooms/{id}/confirm-availability", roomId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .header(SqlStatementMetricsFilter.DEBUG_HEADER, "true")));
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertEquals("true", result.getResponse().getContentAsString());
+        assertEquals("3", result.getResponse().getHeader(SqlStatementMetricsFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void deleteRoom_StaysWithinBudgetOverHttp() {
+        Long roomId = newRoom("budget-delete");
+        authenticate(Role.ADMIN);
+
+        MvcResult result = QueryBudget.assertAtMost(2, () -> perform(delete("/api/rooms/{id}", roomId)));
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertFalse(roomRepository.existsById(roomId));
+    }
+
+    @Test
+    void request_RecordsMetricsTaggedByEndpoint() throws Exception {
+        DistributionSummary summary = meterRegistry.find("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", WITH_ROOMS_URI)
+                .summary();
+        long before = summary == null ? 0 : summary.count();
+
+        mockMvc.perform(get(WITH_ROOMS_URI, hotelId))
+                .andExpect(status().isOk());
+
+        summary = meterRegistry.get("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", WITH_ROOMS_URI)
+                .summary();
+        assertEquals(before + 1, summary.count());
+        assertNotNull(meterRegistry.get("http.server.requests.sql.time")
+                .tags("method", "GET", "uri", WITH_ROOMS_URI)
+                .timer());
+    }
+
+    private Long newRoom(String number) {
+        Hotel hotel = hotelRepository.findById(hotelId).orElseThrow();
+        return roomRepository.save(Room.builder()
+                .number(number)
+                .available(true)
+                .timesBooked(0)
+                .hotel(hotel)
+                .build()).getId();
+    }
+
+    private MvcResult perform(RequestBuilder request) {
+        try {
+            return mockMvc.perform(request).andReturn();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void authenticate(Role role) {
+        UserShortDTO user = UserShortDTO.builder()
+                .id(1L)
+                .username("testuser")
+                .role(role)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.hotelservice.grpc;
+
+import com.example.hotelservice.dto.AvailabilityRequestDTO;
+import com.example.hotelservice.dto.RoomDTO;
+import com.example.hotelservice.dto.RoomReleaseDTO;
+import com.example.hotelservice.service.JwtService;
+import com.example.hotelservice.service.RoomService;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotelRoomsGrpcServiceTest {
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private JwtService jwtService;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(new HotelRoomsGrpcService(roomService),
+                        new JwtServerInterceptor(jwtService)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void getRecommendedRooms_ValidToken_ReturnsRoomsFromService() {
+        // Arrange
+        authenticateAs("ROLE_USER");
+        when(roomService.getRecommendedRooms()).thenReturn(List.of(RoomDTO.builder()
+                .id(1L).number("101").available(true).timesBooked(3).hotelId(7L).build()));
+
+        // Act
+        RoomList rooms = stub("Bearer token").getRecommendedRooms(RecommendedRoomsRequest.getDefaultInstance());
+
+        // Assert
+        assertEquals(1, rooms.getRoomsCount());
+        assertEquals("101", rooms.getRooms(0).getNumber());
+        assertEquals(3, rooms.getRooms(0).getTimesBooked());
+        assertEquals(7L, rooms.getRooms(0).getHotelId());
+    }
+
+    @Test
+    void confirmAvailability_PassesDatesAndCorrelationId() {
+        // Arrange
+        authenticateAs("ROLE_USER");
+        ArgumentCaptor<AvailabilityRequestDTO> request = ArgumentCaptor.forClass(AvailabilityRequestDTO.class);
+        when(roomService.confirmAvailability(eq(5L), request.capture())).thenReturn(true);
+
+        // Act
+        ConfirmAvailabilityReply reply = stub("Bearer token").confirmAvailability(ConfirmAvailabilityRequest.newBuilder()
+                .setRoomId(5L)
+                .setStartEpochDay(LocalDate.of(2030, 5, 1).toEpochDay())
+                .setEndEpochDay(LocalDate.of(2030, 5, 3).toEpochDay())
+                .setCorrelationId("corr-1")
+                .build());
+
+        // Assert
+        assertTrue(reply.getAvailable());
+        assertEquals(LocalDate.of(2030, 5, 1), request.getValue().getStartDate());
+        assertEquals(LocalDate.of(2030, 5, 3), request.getValue().getEndDate());
+        assertEquals("corr-1", request.getValue().getCorrelationId());
+    }
+
+    @Test
+    void confirmAvailability_NoDates_PassesNullRange() {
+        // Arrange
+        authenticateAs("ROLE_ADMIN");
+        ArgumentCaptor<AvailabilityRequestDTO> request = ArgumentCaptor.forClass(AvailabilityRequestDTO.class);
+        when(roomService.confirmAvailability(eq(5L), request.capture())).thenReturn(false);
+
+        // Act
+        ConfirmAvailabilityReply reply = stub("Bearer token").confirmAvailability(ConfirmAvailabilityRequest.newBuilder()
+                .setRoomId(5L)
+                .setCorrelationId("corr-2")
+                .build());
+
+        // Assert
+        assertFalse(reply.getAvailable());
+        assertNull(request.getValue().getStartDate());
+        assertNull(request.getValue().getEndDate());
+    }
+
+    @Test
+    void releaseTemporaryLocks_ReturnsReleasedCount() {
+        // Arrange
+        authenticateAs("ROLE_USER");
+        when(roomService.releaseTemporaryLocks(List.of(
+                RoomReleaseDTO.builder().roomId(1L).correlationId("a").build(),
+                RoomReleaseDTO.builder().roomId(2L).correlationId("b").build()))).thenReturn(2);
+
+        // Act
+        ReleaseReply reply = stub("Bearer token").releaseTemporaryLocks(ReleaseBatchRequest.newBuilder()
+                .addReleases(ReleaseRequest.newBuilder().setRoomId(1L).setCorrelationId("a"))
+                .addReleases(ReleaseRequest.newBuilder().setRoomId(2L).setCorrelationId("b"))
+                .build());
+
+        // Assert
+        assertEquals(2, reply.getReleased());
+    }
+
+    @Test
+    void call_WithoutToken_IsUnauthenticated() {
+        // Act
+        StatusRuntimeException thrown = assertThrows(StatusRuntimeException.class,
+                () -> HotelRoomsGrpc.newBlockingStub(channel).getRecommendedRooms(RecommendedRoomsRequest.getDefaultInstance()));
+
+        // Assert
+        assertEquals(Status.Code.UNAUTHENTICATED, thrown.getStatus().getCode());
+        verifyNoInteractions(roomService, jwtService);
+    }
+
+    @Test
+    void call_InvalidToken_IsUnauthenticated() {
+        // Arrange
+        when(jwtService.validateToken("bad")).thenReturn(null);
+
+        // Act
+        StatusRuntimeException thrown = assertThrows(StatusRuntimeException.class,
+                () -> stub("Bearer bad").releaseTemporaryLock(ReleaseRequest.newBuilder().setRoomId(1L).build()));
+
+        // Assert
+        assertEquals(Status.Code.UNAUTHENTICATED, thrown.getStatus().getCode());
+        verifyNoInteractions(roomService);
+    }
+
+    @Test
+    void call_RoleWithoutAccess_IsPermissionDenied() {
+        // Arrange
+        authenticateAs("ROLE_GUEST");
+
+        // Act
+        StatusRuntimeException thrown = assertThrows(StatusRuntimeException.class,
+                () -> stub("Bearer token").getRecommendedRooms(RecommendedRoomsRequest.getDefaultInstance()));
+
+        // Assert
+        assertEquals(Status.Code.PERMISSION_DENIED, thrown.getStatus().getCode());
+        verifyNoInteractions(roomService);
+    }
+
+    private void authenticateAs(String authority) {
+        when(jwtService.validateToken("token")).thenReturn(new UsernamePasswordAuthenticationToken(
+                "user", null, List.of(new SimpleGrantedAuthority(authority))));
+    }
+
+    private HotelRoomsGrpc.HotelRoomsBlockingStub stub(String authorization) {
+        Metadata headers = new Metadata();
+        headers.put(JwtServerInterceptor.AUTHORIZATION, authorization);
+        return HotelRoomsGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.hotelservice.messaging;
+
+import com.example.hotelservice.dto.AvailabilityReplyDTO;
+import com.example.hotelservice.dto.AvailabilityRequestDTO;
+import com.example.hotelservice.dto.BookingRequestedDTO;
+import com.example.hotelservice.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "app.saga.enabled=true",
+        "spring.artemis.mode=embedded",
+        "spring.jms.template.receive-timeout=5000"
+})
+class BookingRequestListenerTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final String REQUEST_QUEUE = "booking.availability.requests";
+    private static final String REPLY_QUEUE = "booking.availability.replies";
+
+    @Autowired
+    private JmsTemplate jmsTemplate;
+
+    @MockitoBean
+    private RoomService roomService;
+
+    @Test
+    void onBookingRequested_RoomAvailable_RepliesConfirmed() {
+        // Arrange
+        when(roomService.confirmAvailability(eq(ROOM_ID), any(AvailabilityRequestDTO.class))).thenReturn(true);
+
+        // Act
+        jmsTemplate.convertAndSend(REQUEST_QUEUE, request("confirmed-correlation-id"));
+        AvailabilityReplyDTO reply = (AvailabilityReplyDTO) jmsTemplate.receiveAndConvert(REPLY_QUEUE);
+
+        // Assert
+        assertNotNull(reply);
+        assertTrue(reply.isAvailable());
+        assertEquals("confirmed-correlation-id", reply.getCorrelationId());
+        assertEquals(ROOM_ID, reply.getRoomId());
+
+        ArgumentCaptor<AvailabilityRequestDTO> captor = ArgumentCaptor.forClass(AvailabilityRequestDTO.class);
+        verify(roomService).confirmAvailability(eq(ROOM_ID), captor.capture());
+        assertEquals("confirmed-correlation-id", captor.getValue().getCorrelationId());
+        assertEquals(LocalDate.of(2030, 5, 1), captor.getValue().getStartDate());
+        assertEquals(LocalDate.of(2030, 5, 3), captor.getValue().getEndDate());
+    }
+
+    @Test
+    void onBookingRequested_RoomUnavailable_RepliesRejected() {
+        // Arrange
+        when(roomService.confirmAvailability(eq(ROOM_ID), any(AvailabilityRequestDTO.class))).thenReturn(false);
+
+        // Act
+        jmsTemplate.convertAndSend(REQUEST_QUEUE, request("rejected-correlation-id"));
+        AvailabilityReplyDTO reply = (AvailabilityReplyDTO) jmsTemplate.receiveAndConvert(REPLY_QUEUE);
+
+        // Assert
+        assertNotNull(reply);
+        assertFalse(reply.isAvailable());
+        assertEquals("rejected-correlation-id", reply.getCorrelationId());
+    }
+
+    private BookingRequestedDTO request(String correlationId) {
+        return BookingRequestedDTO.builder()
+                .correlationId(correlationId)
+                .bookingId(10L)
+                .roomId(ROOM_ID)
+                .startDate(LocalDate.of(2030, 5, 1))
+                .endDate(LocalDate.of(2030, 5, 3))
+                .build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.hotelservice.repository;
+
+import com.example.hotelservice.dto.BulkImportResultDTO;
+import com.example.hotelservice.dto.HotelDTO;
+import com.example.hotelservice.dto.RoomDTO;
+import com.example.hotelservice.entity.Hotel;
+import com.example.hotelservice.mapper.HotelMapperImpl;
+import com.example.hotelservice.mapper.RoomMapperImpl;
+import com.example.hotelservice.service.BulkImportService;
+import com.example.hotelservice.service.RoomChangeTracker;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({BulkImportService.class, HotelMapperImpl.class, RoomMapperImpl.class, RoomChangeTracker.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.bulk-import.commit-rows=100",
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+class BulkImportStatementCountTest {
+
+    private static final int ROWS = 500;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    private Statistics statistics;
+    private Long hotelId;
+
+    @BeforeEach
+    void setUp() {
+        hotelId = hotelRepository.saveAndFlush(Hotel.builder()
+                .name("Bulk Hotel")
+                .address("Bulk Street")
+                .build()).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void importRooms_InsertsInJdbcBatches() {
+        List<RoomDTO> rooms = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rooms.add(RoomDTO.builder().number("R" + i).hotelId(hotelId).build());
+        }
+
+        BulkImportResultDTO result = bulkImportService.importRooms(rooms);
+
+        assertEquals(ROWS, result.getImported());
+        assertTrue(result.getRowsPerSecond() > 0);
+        assertEquals(ROWS, roomRepository.countByHotelId(hotelId));
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        // five hotel lookups (one per commit chunk), ten 50-row batches and ten pooled sequence calls instead of 500 inserts
+        assertTrue(statistics.getPrepareStatementCount() <= 25,
+                "prepared statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void importRoomsCsv_ParsesRowsAndAppliesDefaults() throws Exception {
+        String csv = "hotelId,number,available,timesBooked\n"
+                + hotelId + ",101,false,3\n"
+                + "\n"
+                + hotelId + ",102\n";
+
+        BulkImportResultDTO result = bulkImportService.importRoomsCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, result.getImported());
+        List<RoomDTO> available = roomRepository.findAvailableRoomDtosByHotelId(hotelId);
+        assertEquals(1, available.size());
+        assertEquals("102", available.get(0).getNumber());
+        assertEquals(0, available.get(0).getTimesBooked());
+    }
+
+    @Test
+    void importRoomsCsv_HandlesQuotedFieldsAndReorderedHeader() throws Exception {
+        String csv = "\"number\",\"hotelId\"\n"
+                + "\"101, sea view\"," + hotelId + "\n"
+                + "\"the \"\"loft\"\"\"," + hotelId + "\n";
+
+        BulkImportResultDTO result = bulkImportService.importRoomsCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, result.getImported());
+        assertEquals(List.of("101, sea view", "the \"loft\""), roomRepository.findAvailableRoomDtosByHotelId(hotelId).stream()
+                .map(RoomDTO::getNumber)
+                .sorted()
+                .toList());
+    }
+
+    @Test
+    void importRoomsCsv_WithoutHeader_ImportsFirstRecord() throws Exception {
+        String csv = hotelId + ",101\n" + hotelId + ",102\n";
+
+        BulkImportResultDTO result = bulkImportService.importRoomsCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, roomRepository.countByHotelId(hotelId));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void importRooms_FailingChunk_KeepsEarlierChunksCommitted() {
+        List<RoomDTO> rooms = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            rooms.add(RoomDTO.builder().number("R" + i).hotelId(i == 120 ? 999L : hotelId).build());
+        }
+
+        try {
+            assertThrows(RuntimeException.class, () -> bulkImportService.importRooms(rooms));
+
+            assertEquals(100, roomRepository.countByHotelId(hotelId));
+        } finally {
+            roomRepository.deleteAllInBatch();
+            hotelRepository.deleteAllInBatch();
+        }
+    }
+
+    @Test
+    void importRooms_UnknownHotel_ThrowsException() {
+        List<RoomDTO> rooms = List.of(RoomDTO.builder().number("101").hotelId(999L).build());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> bulkImportService.importRooms(rooms));
+
+        assertEquals("Hotel not found with ID: 999", exception.getMessage());
+    }
+
+    @Test
+    void importRoomsCsv_MalformedLine_ThrowsException() {
+        String csv = hotelId + ",101\nnot-a-number,102\n";
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importRoomsCsv(
+                        new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+
+        assertTrue(exception.getMessage().startsWith("Invalid CSV line 2"));
+    }
+
+    @Test
+    void importRoomsCsv_UnclosedQuote_ThrowsException() {
+        String csv = hotelId + ",\"101\n";
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importRoomsCsv(
+                        new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+
+        assertTrue(exception.getMessage().startsWith("Invalid CSV"));
+    }
+
+    @Test
+    void importHotels_InsertsAllHotels() {
+        List<HotelDTO> hotels = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            hotels.add(HotelDTO.builder().name("Hotel " + i).address("Street " + i).build());
+        }
+
+        BulkImportResultDTO result = bulkImportService.importHotels(hotels);
+
+        assertEquals(120, result.getImported());
+        assertEquals(121, hotelRepository.count());
+        assertEquals(120, statistics.getEntityInsertCount());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.hotelservice.repository;
+
+import com.example.hotelservice.dto.HotelWithRoomsDTO;
+import com.example.hotelservice.entity.Hotel;
+import com.example.hotelservice.entity.Room;
+import com.example.hotelservice.mapper.HotelMapperImpl;
+import com.example.hotelservice.mapper.RoomMapperImpl;
+import com.example.hotelservice.service.HotelOccupancyTracker;
+import com.example.hotelservice.service.HotelService;
+import com.example.hotelservice.service.RequestCoalescer;
+import com.example.hotelservice.service.RoomChangeTracker;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({HotelService.class, HotelMapperImpl.class, RoomMapperImpl.class, HotelOccupancyTracker.class,
+        RoomChangeTracker.class, RequestCoalescer.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+class HotelWithRoomsStatementCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private HotelService hotelService;
+
+    private Statistics statistics;
+    private final List<Long> hotelIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int h = 1; h <= 5; h++) {
+            Hotel hotel = entityManager.persist(Hotel.builder()
+                    .name("Hotel " + h)
+                    .address("Street " + h)
+                    .build());
+            hotelIds.add(hotel.getId());
+            for (int r = 1; r <= h; r++) {
+                entityManager.persist(Room.builder()
+                        .number(h + "0" + r)
+                        .available(true)
+                        .timesBooked(0)
+                        .hotel(hotel)
+                        .build());
+            }
+        }
+        entityManager.persist(Hotel.builder().name("Empty Hotel").address("Nowhere").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getHotelWithRooms_ExecutesSingleStatement() {
+        HotelWithRoomsDTO hotel = hotelService.getHotelWithRooms(hotelIds.get(2));
+
+        assertEquals("Hotel 3", hotel.getName());
+        assertEquals(3, hotel.getRooms().size());
+        assertTrue(hotel.getRooms().stream().allMatch(room -> hotelIds.get(2).equals(room.getHotelId())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    void getHotelsWithRooms_ExecutesSingleStatementForAllHotels() {
+        List<HotelWithRoomsDTO> hotels = hotelService.getHotelsWithRooms(hotelIds);
+
+        assertEquals(5, hotels.size());
+        for (int i = 0; i < hotels.size(); i++) {
+            assertEquals(hotelIds.get(i), hotels.get(i).getId());
+            assertEquals(i + 1, hotels.get(i).getRooms().size());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    void getHotelWithRooms_HotelWithoutRooms_ReturnsEmptyList() {
+        Long emptyHotelId = hotelService.getAllHotels().stream()
+                .filter(hotel -> "Empty Hotel".equals(hotel.getName()))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+        statistics.clear();
+
+        HotelWithRoomsDTO hotel = hotelService.getHotelWithRooms(emptyHotelId);
+
+        assertTrue(hotel.getRooms().isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
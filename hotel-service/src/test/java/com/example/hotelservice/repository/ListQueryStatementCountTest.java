@@ -0,0 +1,110 @@
+package com.example.hotelservice.repository;
+
+import com.example.hotelservice.dto.HotelDTO;
+import com.example.hotelservice.dto.RoomDTO;
+import com.example.hotelservice.entity.Hotel;
+import com.example.hotelservice.entity.Room;
+import com.example.hotelservice.service.RoomChangeTracker;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(RoomChangeTracker.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+class ListQueryStatementCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    private Statistics statistics;
+    private Long firstHotelId;
+
+    @BeforeEach
+    void setUp() {
+        for (int h = 1; h <= 3; h++) {
+            Hotel hotel = entityManager.persist(Hotel.builder()
+                    .name("Hotel " + h)
+                    .address("Street " + h)
+                    .build());
+            if (firstHotelId == null) {
+                firstHotelId = hotel.getId();
+            }
+            for (int r = 1; r <= 4; r++) {
+                entityManager.persist(Room.builder()
+                        .number(h + "0" + r)
+                        .available(r != 4)
+                        .timesBooked(r)
+                        .hotel(hotel)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAvailableRoomDtosOrderByTimesBooked_ExecutesSingleStatement() {
+        List<RoomDTO> rooms = roomRepository.findAvailableRoomDtosOrderByTimesBooked();
+
+        assertEquals(9, rooms.size());
+        assertEquals(1, rooms.get(0).getTimesBooked());
+        assertNotNull(rooms.get(0).getHotelId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findAvailableRoomDtosByHotelId_ExecutesSingleStatement() {
+        List<RoomDTO> rooms = roomRepository.findAvailableRoomDtosByHotelId(firstHotelId);
+
+        assertEquals(3, rooms.size());
+        assertTrue(rooms.stream().allMatch(room -> firstHotelId.equals(room.getHotelId())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findAllHotelDtos_ExecutesSingleStatement() {
+        List<HotelDTO> hotels = hotelRepository.findAllHotelDtos();
+
+        assertEquals(3, hotels.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void entityQuery_LoadsEagerHotelsWithExtraStatements() {
+        List<Room> rooms = roomRepository.findAvailableRoomsOrderByTimesBooked();
+
+        assertEquals(9, rooms.size());
+        assertTrue(statistics.getPrepareStatementCount() > 1);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.hotelservice.repository;
+
+import com.example.hotelservice.dto.AvailabilityRequestDTO;
+import com.example.hotelservice.dto.RoomChangeDTO;
+import com.example.hotelservice.dto.RoomChangesDTO;
+import com.example.hotelservice.entity.Hotel;
+import com.example.hotelservice.entity.Room;
+import com.example.hotelservice.mapper.RoomMapperImpl;
+import com.example.hotelservice.service.AvailabilityCalendar;
+import com.example.hotelservice.service.HotelOccupancyTracker;
+import com.example.hotelservice.service.RequestCoalescer;
+import com.example.hotelservice.service.RoomChangeTracker;
+import com.example.hotelservice.service.RoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({RoomService.class, RoomMapperImpl.class, AvailabilityCalendar.class, HotelOccupancyTracker.class,
+        RoomChangeTracker.class, RequestCoalescer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+class RoomChangeFeedTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    private Hotel hotel;
+    private long cursor;
+
+    @BeforeEach
+    void setUp() {
+        hotel = hotelRepository.save(Hotel.builder()
+                .name("Feed Hotel")
+                .address("1 Feed Street")
+                .build());
+        cursor = roomService.getRoomChanges(0, 100, 0, 0).getLatestVersion();
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomRepository.deleteAll();
+        hotelRepository.deleteAll();
+    }
+
+    @Test
+    void getRoomChanges_ReturnsInsertsAndUpdatesInChangeOrder() {
+        // Arrange
+        Room first = roomRepository.save(room("101"));
+        Room second = roomRepository.save(room("102"));
+        first.setAvailable(false);
+        roomRepository.save(first);
+
+        // Act
+        RoomChangesDTO changes = roomService.getRoomChanges(cursor, 100, 0, 0);
+
+        // Assert
+        List<RoomChangeDTO> rooms = changes.getRooms();
+        assertEquals(List.of(second.getId(), first.getId()), rooms.stream().map(RoomChangeDTO::getId).toList());
+        assertFalse(rooms.get(1).getAvailable());
+        assertEquals(1L, rooms.get(1).getVersion());
+        assertEquals(rooms.get(1).getChangeSeq(), changes.getLatestVersion());
+        assertFalse(changes.isHasMore());
+        assertFalse(changes.isResyncRequired());
+    }
+
+    @Test
+    void getRoomChanges_ConfirmedBookingBumpsTheRoom() {
+        // Arrange
+        Long roomId = roomRepository.save(room("101")).getId();
+        long afterInsert = roomService.getRoomChanges(cursor, 100, 0, 0).getLatestVersion();
+        roomService.confirmAvailability(roomId, AvailabilityRequestDTO.builder()
+                .startDate(LocalDate.of(2030, 5, 1))
+                .endDate(LocalDate.of(2030, 5, 3))
+                .correlationId("feed-confirm")
+                .build());
+
+        // Act
+        RoomChangesDTO changes = roomService.getRoomChanges(afterInsert, 100, 0, 0);
+
+        // Assert
+        assertEquals(1, changes.getRooms().size());
+        assertEquals(1, changes.getRooms().get(0).getTimesBooked());
+        assertEquals(1L, changes.getRooms().get(0).getVersion());
+    }
+
+    @Test
+    void getRoomChanges_DeletedRoomComesBackAsTombstone() {
+        // Arrange
+        Long roomId = roomRepository.save(room("101")).getId();
+        long afterInsert = roomService.getRoomChanges(cursor, 100, 0, 0).getLatestVersion();
+        roomService.deleteRoom(roomId);
+
+        // Act
+        RoomChangesDTO changes = roomService.getRoomChanges(afterInsert, 100, 0, 0);
+
+        // Assert
+        assertTrue(changes.getRooms().isEmpty());
+        assertEquals(List.of(roomId), changes.getDeletedRoomIds());
+        assertTrue(changes.getLatestVersion() > afterInsert);
+    }
+
+    @Test
+    void getRoomChanges_FullPageReportsMoreAndResumesAfterLastRoom() {
+        // Arrange
+        Room first = roomRepository.save(room("101"));
+        Room second = roomRepository.save(room("102"));
+
+        // Act
+        RoomChangesDTO page = roomService.getRoomChanges(cursor, 1, 0, 0);
+        RoomChangesDTO next = roomService.getRoomChanges(page.getLatestVersion(), 1, 0, 0);
+
+        // Assert
+        assertTrue(page.isHasMore());
+        assertEquals(first.getId(), page.getRooms().get(0).getId());
+        assertEquals(second.getId(), next.getRooms().get(0).getId());
+    }
+
+    @Test
+    void getRoomChanges_NonPositiveLimit_ReturnsOneRoomPerPage() {
+        // Arrange
+        Room first = roomRepository.save(room("101"));
+        roomRepository.save(room("102"));
+
+        // Act
+        RoomChangesDTO page = roomService.getRoomChanges(cursor, 0, 0, 0);
+
+        // Assert
+        assertTrue(page.isHasMore());
+        assertEquals(List.of(first.getId()), page.getRooms().stream().map(RoomChangeDTO::getId).toList());
+    }
+
+    @Test
+    void getRoomChanges_CursorFromAnotherLog_RequiresResync() {
+        // Act
+        RoomChangesDTO changes = roomService.getRoomChanges(cursor + 1_000_000, 100, 0, 0);
+
+        // Assert
+        assertTrue(changes.isResyncRequired());
+        assertTrue(changes.getRooms().isEmpty());
+    }
+
+    @Test
+    void getRoomChanges_FromZero_PagesCatalogUnderPinnedVersion() {
+        // Arrange
+        Room first = roomRepository.save(room("101"));
+        Room second = roomRepository.save(room("102"));
+        Room third = roomRepository.save(room("103"));
+
+        // Act: a room already paged out changes and one still ahead is deleted while the snapshot is read
+        RoomChangesDTO firstPage = roomService.getRoomChanges(0, 1, 0, 0);
+        first.setAvailable(false);
+        first = roomRepository.save(first);
+        roomService.deleteRoom(second.getId());
+        RoomChangesDTO secondPage = roomService.getRoomChanges(0, 1,
+                firstPage.getSnapshotAfterId(), firstPage.getLatestVersion());
+        RoomChangesDTO lastPage = roomService.getRoomChanges(0, 1,
+                secondPage.getSnapshotAfterId(), secondPage.getLatestVersion());
+        RoomChangesDTO followUp = roomService.getRoomChanges(lastPage.getLatestVersion(), 100, 0, 0);
+
+        // Assert
+        assertEquals(List.of(first.getId()), firstPage.getRooms().stream().map(RoomChangeDTO::getId).toList());
+        assertTrue(firstPage.isHasMore());
+        assertEquals(List.of(third.getId()), secondPage.getRooms().stream().map(RoomChangeDTO::getId).toList());
+        assertEquals(firstPage.getLatestVersion(), secondPage.getLatestVersion());
+        assertTrue(lastPage.getRooms().isEmpty());
+        assertFalse(lastPage.isHasMore());
+        assertNull(lastPage.getSnapshotAfterId());
+        // the feed from the pinned version replays what moved during the snapshot
+        assertEquals(List.of(first.getId()), followUp.getRooms().stream().map(RoomChangeDTO::getId).toList());
+        assertEquals(List.of(second.getId()), followUp.getDeletedRoomIds());
+    }
+
+    private Room room(String number) {
+        return Room.builder()
+                .number(number)
+                .available(true)
+                .timesBooked(0)
+                .hotel(hotel)
+                .build();
+    }
+}
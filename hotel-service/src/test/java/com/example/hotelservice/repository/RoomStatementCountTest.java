@@ -0,0 +1,122 @@
+package com.example.hotelservice.repository;
+
+import com.example.hotelservice.dto.AvailabilityRequestDTO;
+import com.example.hotelservice.entity.Hotel;
+import com.example.hotelservice.entity.Room;
+import com.example.hotelservice.mapper.RoomMapperImpl;
+import com.example.hotelservice.service.AvailabilityCalendar;
+import com.example.hotelservice.service.HotelOccupancyTracker;
+import com.example.hotelservice.service.RequestCoalescer;
+import com.example.hotelservice.service.RoomChangeTracker;
+import com.example.hotelservice.service.RoomService;
+import com.example.hotelservice.util.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({RoomService.class, RoomMapperImpl.class, AvailabilityCalendar.class, HotelOccupancyTracker.class,
+        RoomChangeTracker.class, RequestCoalescer.class})
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+class RoomStatementCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RoomService roomService;
+
+    private Long roomId;
+
+    @BeforeEach
+    void setUp() {
+        Hotel hotel = entityManager.persist(Hotel.builder()
+                .name("Budget Hotel")
+                .address("1 Budget Street")
+                .build());
+        roomId = entityManager.persist(Room.builder()
+                .number("101")
+                .available(true)
+                .timesBooked(0)
+                .hotel(hotel)
+                .build()).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void confirmAvailability_SingleConditionalUpdateOnceHotelIsKnown() {
+        AvailabilityRequestDTO first = AvailabilityRequestDTO.builder()
+                .startDate(LocalDate.of(2030, 5, 1))
+                .endDate(LocalDate.of(2030, 5, 3))
+                .correlationId("budget-correlation-id")
+                .build();
+        AvailabilityRequestDTO second = AvailabilityRequestDTO.builder()
+                .startDate(LocalDate.of(2030, 5, 3))
+                .endDate(LocalDate.of(2030, 5, 5))
+                .correlationId("budget-correlation-id-2")
+                .build();
+
+        // The first confirm also resolves the room's hotel; later ones are the UPDATE plus the hold row insert.
+        assertTrue(QueryBudget.assertAtMost(3, () -> confirmAndFlush(first)));
+        assertTrue(QueryBudget.assertAtMost(2, () -> confirmAndFlush(second)));
+
+        entityManager.clear();
+        assertEquals(2, entityManager.find(Room.class, roomId).getTimesBooked());
+    }
+
+    @Test
+    void confirmAvailability_UnavailableRoom_ReturnsFalseFromRowCount() {
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Room r SET r.available = false WHERE r.id = :id")
+                .setParameter("id", roomId)
+                .executeUpdate();
+        AvailabilityRequestDTO request = AvailabilityRequestDTO.builder()
+                .startDate(LocalDate.of(2030, 5, 1))
+                .endDate(LocalDate.of(2030, 5, 3))
+                .correlationId("unavailable-room")
+                .build();
+
+        assertFalse(QueryBudget.assertAtMost(2, () -> roomService.confirmAvailability(roomId, request)));
+
+        entityManager.clear();
+        assertEquals(0, entityManager.find(Room.class, roomId).getTimesBooked());
+    }
+
+    @Test
+    void confirmAvailability_MissingRoom_SingleLookup() {
+        AvailabilityRequestDTO request = AvailabilityRequestDTO.builder()
+                .correlationId("missing-room")
+                .build();
+
+        assertEquals(1, QueryBudget.count(() -> assertFalse(roomService.confirmAvailability(roomId + 1000, request))));
+    }
+
+    @Test
+    void deleteRoom_LoadsOnceAndDeletes() {
+        QueryBudget.assertAtMost(2, () -> {
+            roomService.deleteRoom(roomId);
+            entityManager.flush();
+        });
+
+        assertNull(entityManager.find(Room.class, roomId));
+    }
+
+    // The test transaction would otherwise defer the hold insert past the budget.
+    private boolean confirmAndFlush(AvailabilityRequestDTO request) {
+        boolean confirmed = roomService.confirmAvailability(roomId, request);
+        entityManager.flush();
+        return confirmed;
+    }
+}
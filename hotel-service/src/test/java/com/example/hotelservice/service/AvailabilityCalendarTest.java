@@ -0,0 +1,139 @@
+package com.example.hotelservice.service;
+
+import com.example.hotelservice.service.AvailabilityCalendar.Claim;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityCalendarTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final Long HOTEL_ID = 10L;
+
+    private AvailabilityCalendar calendar;
+    private LocalDate start;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new AvailabilityCalendar();
+        start = LocalDate.of(2030, 1, 10);
+    }
+
+    @Test
+    void isFree_UnknownRoom_ReturnsTrue() {
+        assertTrue(calendar.isFree(ROOM_ID, start, start.plusDays(5)));
+    }
+
+    @Test
+    void reserve_MarksRangeAsOccupied() {
+        assertEquals(Claim.TAKEN, calendar.reserve("c1", ROOM_ID, HOTEL_ID, start, start.plusDays(3)));
+
+        assertFalse(calendar.isFree(ROOM_ID, start, start.plusDays(1)));
+        assertFalse(calendar.isFree(ROOM_ID, start.plusDays(2), start.plusDays(10)));
+        assertFalse(calendar.isFree(ROOM_ID, start.minusDays(5), start.plusDays(10)));
+        assertTrue(calendar.isFree(ROOM_ID, start.minusDays(5), start));
+        assertTrue(calendar.isFree(ROOM_ID, start.plusDays(3), start.plusDays(10)));
+    }
+
+    @Test
+    void reserve_OverlappingRange_ReportsOccupied() {
+        assertEquals(Claim.TAKEN, calendar.reserve("c1", ROOM_ID, HOTEL_ID, start, start.plusDays(3)));
+
+        assertEquals(Claim.OCCUPIED, calendar.reserve("c2", ROOM_ID, HOTEL_ID, start.plusDays(1), start.plusDays(2)));
+        assertEquals(Claim.TAKEN, calendar.reserve("c3", 2L, HOTEL_ID, start, start.plusDays(3)));
+    }
+
+    @Test
+    void reserve_SameCorrelationId_ReportsAlreadyHeld() {
+        assertEquals(Claim.TAKEN, calendar.reserve("c1", ROOM_ID, HOTEL_ID, start, start.plusDays(3)));
+        assertEquals(Claim.ALREADY_HELD, calendar.reserve("c1", ROOM_ID, HOTEL_ID, start, start.plusDays(3)));
+    }
+
+    @Test
+    void reserve_SameCorrelationIdConcurrently_OneOwnerAndReleaseFreesRange() throws Exception {
+        int threads = 8;
+        int stays = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    int taken = 0;
+                    for (int i = 0; i < stays; i++) {
+                        // Every thread retries the same hold at the same moment.
+                        barrier.await();
+                        LocalDate from = start.plusDays(i * 2L);
+                        Claim claim = calendar.reserve("retry-" + i, ROOM_ID, HOTEL_ID, from, from.plusDays(2));
+                        // A retry racing the original must be treated as the same hold, not as a conflict with it.
+                        assertNotEquals(Claim.OCCUPIED, claim);
+                        if (claim == Claim.TAKEN) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            int taken = 0;
+            for (Future<Integer> future : futures) {
+                taken += future.get();
+            }
+            // Exactly one caller per stay owns the hold; all others see ALREADY_HELD.
+            assertEquals(stays, taken);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < stays; i++) {
+            assertTrue(calendar.release("retry-" + i).isPresent());
+        }
+        assertTrue(calendar.isFree(ROOM_ID, start, start.plusDays(stays * 2L)));
+    }
+
+    @Test
+    void reserve_Conflict_DoesNotKeepClaim() {
+        calendar.reserve("c1", ROOM_ID, HOTEL_ID, start, start.plusDays(3));
+        assertEquals(Claim.OCCUPIED, calendar.reserve("c2", ROOM_ID, HOTEL_ID, start, start.plusDays(3)));
+
+        calendar.release("c1");
+
+        assertTrue(calendar.release("c2").isEmpty());
+        assertEquals(Claim.TAKEN, calendar.reserve("c2", ROOM_ID, HOTEL_ID, start, start.plusDays(3)));
+    }
+
+    @Test
+    void reserve_RangeSpanningWordBoundary() {
+        LocalDate longStayStart = start.minusDays(40);
+
+        assertEquals(Claim.TAKEN, calendar.reserve("c1", ROOM_ID, HOTEL_ID, longStayStart, longStayStart.plusDays(100)));
+
+        assertFalse(calendar.isFree(ROOM_ID, longStayStart.plusDays(99), longStayStart.plusDays(120)));
+        assertTrue(calendar.isFree(ROOM_ID, longStayStart.plusDays(100), longStayStart.plusDays(120)));
+    }
+
+    @Test
+    void release_FreesRangeAndReturnsReservation() {
+        calendar.reserve("c1", ROOM_ID, HOTEL_ID, start, start.plusDays(3));
+
+        var released = calendar.release("c1");
+
+        assertTrue(released.isPresent());
+        assertEquals(ROOM_ID, released.get().roomId());
+        assertEquals(HOTEL_ID, released.get().hotelId());
+        assertTrue(calendar.isFree(ROOM_ID, start, start.plusDays(3)));
+    }
+
+    @Test
+    void release_UnknownCorrelationId_ReturnsEmpty() {
+        assertTrue(calendar.release("missing").isEmpty());
+    }
+}
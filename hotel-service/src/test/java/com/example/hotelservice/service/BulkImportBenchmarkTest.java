@@ -0,0 +1,86 @@
+package com.example.hotelservice.service;
+
+import com.example.hotelservice.dto.BulkImportResultDTO;
+import com.example.hotelservice.dto.HotelDTO;
+import com.example.hotelservice.entity.Hotel;
+import com.example.hotelservice.mapper.HotelMapperImpl;
+import com.example.hotelservice.mapper.RoomMapperImpl;
+import com.example.hotelservice.repository.HotelRepository;
+import com.example.hotelservice.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rows per second for the bulk endpoints' import paths on H2, with the default 1000-row commit chunks.
+ * Run with: mvn test -pl hotel-service -Dbenchmark=true -Dtest=BulkImportBenchmarkTest
+ */
+@DataJpaTest
+@Import({BulkImportService.class, HotelMapperImpl.class, RoomMapperImpl.class, RoomChangeTracker.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BulkImportBenchmarkTest {
+
+    private static final int HOTELS = 20_000;
+    private static final int ROOMS = 200_000;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @AfterEach
+    void tearDown() {
+        roomRepository.deleteAllInBatch();
+        hotelRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importHotelsAndRoomsCsv() throws Exception {
+        List<HotelDTO> hotels = new ArrayList<>(HOTELS);
+        for (int i = 0; i < HOTELS; i++) {
+            hotels.add(HotelDTO.builder().name("Hotel " + i).address("Street " + i).build());
+        }
+        BulkImportResultDTO hotelResult = bulkImportService.importHotels(hotels);
+
+        List<Long> hotelIds = hotelRepository.findAll().stream().map(Hotel::getId).toList();
+        StringBuilder csv = new StringBuilder("hotelId,number,available,timesBooked\n");
+        for (int i = 0; i < ROOMS; i++) {
+            csv.append(hotelIds.get(i % hotelIds.size())).append(",\"").append(i).append(", floor ").append(i % 20)
+                    .append("\",true,0\n");
+        }
+        BulkImportResultDTO roomResult = bulkImportService.importRoomsCsv(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(HOTELS, hotelResult.getImported());
+        assertEquals(ROOMS, roomResult.getImported());
+        assertEquals(ROOMS, roomRepository.count());
+        System.out.printf("Hotels (JSON): %d rows in %d ms, %.0f rows/s%n",
+                HOTELS, hotelResult.getElapsedMillis(), hotelResult.getRowsPerSecond());
+        System.out.printf("Rooms (CSV):   %d rows in %d ms, %.0f rows/s%n",
+                ROOMS, roomResult.getElapsedMillis(), roomResult.getRowsPerSecond());
+    }
+}
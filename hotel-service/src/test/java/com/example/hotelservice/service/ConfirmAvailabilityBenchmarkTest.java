@@ -0,0 +1,122 @@
+package com.example.hotelservice.service;
+
+import com.example.hotelservice.dto.AvailabilityRequestDTO;
+import com.example.hotelservice.entity.Hotel;
+import com.example.hotelservice.entity.Room;
+import com.example.hotelservice.mapper.RoomMapperImpl;
+import com.example.hotelservice.repository.HotelRepository;
+import com.example.hotelservice.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Confirms per second of the old read-modify-write path (existsById, findById, findById, save) against the
+ * single conditional UPDATE, each confirm in its own transaction.
+ * Run with: mvn test -pl hotel-service -Dbenchmark=true -Dtest=ConfirmAvailabilityBenchmarkTest
+ */
+@DataJpaTest
+@Import({RoomService.class, RoomMapperImpl.class, AvailabilityCalendar.class, HotelOccupancyTracker.class,
+        RoomChangeTracker.class, RequestCoalescer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ConfirmAvailabilityBenchmarkTest {
+
+    private static final int ROOMS = 200;
+    private static final int CONFIRMS = 20_000;
+    private static final int WARMUP = 2_000;
+    private static final LocalDate START = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void confirmAvailability_ReadModifyWriteVersusConditionalUpdate() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<Long> roomIds = transactionTemplate.execute(status -> createRooms());
+
+        IntPredicate before = i -> transactionTemplate.execute(status -> confirmReadModifyWrite(roomIds.get(i % ROOMS)));
+        IntPredicate after = i -> transactionTemplate.execute(status ->
+                roomService.confirmAvailability(roomIds.get(i % ROOMS), request(i)));
+
+        run(before, 0, WARMUP);
+        run(after, 0, WARMUP);
+
+        double beforeRate = run(before, WARMUP, CONFIRMS);
+        double afterRate = run(after, WARMUP, CONFIRMS);
+
+        System.out.printf("Read-modify-write confirm: %,.0f confirms/s%n", beforeRate);
+        System.out.printf("Conditional UPDATE confirm: %,.0f confirms/s (%.1fx)%n", afterRate, afterRate / beforeRate);
+    }
+
+    private double run(IntPredicate confirm, int offset, int count) {
+        long start = System.nanoTime();
+        for (int i = offset; i < offset + count; i++) {
+            assertTrue(confirm.test(i));
+        }
+        return count / ((System.nanoTime() - start) / 1e9);
+    }
+
+    // The statement sequence confirmAvailability used to issue, without the in-memory calendar work.
+    private boolean confirmReadModifyWrite(Long roomId) {
+        if (!roomRepository.existsById(roomId)) {
+            return false;
+        }
+        Room room = roomRepository.findById(roomId).orElseThrow();
+        if (!room.getAvailable()) {
+            return false;
+        }
+        Room counted = roomRepository.findById(roomId).orElseThrow();
+        counted.setTimesBooked(counted.getTimesBooked() + 1);
+        roomRepository.save(counted);
+        return true;
+    }
+
+    // Each confirm gets its own night so the calendar never rejects one.
+    private AvailabilityRequestDTO request(int i) {
+        LocalDate night = START.plusDays(i / ROOMS);
+        return AvailabilityRequestDTO.builder()
+                .startDate(night)
+                .endDate(night.plusDays(1))
+                .correlationId("bench-" + i)
+                .build();
+    }
+
+    private List<Long> createRooms() {
+        Hotel hotel = hotelRepository.save(Hotel.builder().name("Benchmark Hotel").address("1 Bench Street").build());
+        List<Room> rooms = new ArrayList<>(ROOMS);
+        for (int r = 0; r < ROOMS; r++) {
+            rooms.add(Room.builder().number("B" + r).available(true).timesBooked(0).hotel(hotel).build());
+        }
+        return roomRepository.saveAll(rooms).stream().map(Room::getId).toList();
+    }
+}
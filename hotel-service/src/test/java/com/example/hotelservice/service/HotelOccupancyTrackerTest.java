@@ -0,0 +1,91 @@
+package com.example.hotelservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotelOccupancyTrackerTest {
+
+    private static final Long HOTEL_ID = 1L;
+
+    private HotelOccupancyTracker tracker;
+    private LocalDate start;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new HotelOccupancyTracker();
+        start = LocalDate.of(2030, 3, 1);
+    }
+
+    @Test
+    void occupiedRooms_UnknownHotel_ReturnsZeros() {
+        assertArrayEquals(new int[]{0, 0, 0}, tracker.occupiedRooms(HOTEL_ID, start, start.plusDays(3)));
+    }
+
+    @Test
+    void add_CountsEachNightExceptCheckOut() {
+        tracker.add(HOTEL_ID, start, start.plusDays(2));
+        tracker.add(HOTEL_ID, start.plusDays(1), start.plusDays(3));
+
+        assertArrayEquals(new int[]{1, 2, 1, 0}, tracker.occupiedRooms(HOTEL_ID, start, start.plusDays(4)));
+        assertArrayEquals(new int[]{0, 0, 0}, tracker.occupiedRooms(2L, start, start.plusDays(3)));
+    }
+
+    @Test
+    void remove_DecrementsCounters() {
+        tracker.add(HOTEL_ID, start, start.plusDays(2));
+        tracker.add(HOTEL_ID, start, start.plusDays(2));
+
+        tracker.remove(HOTEL_ID, start, start.plusDays(2));
+
+        assertArrayEquals(new int[]{1, 1}, tracker.occupiedRooms(HOTEL_ID, start, start.plusDays(2)));
+
+        tracker.remove(HOTEL_ID, start, start.plusDays(2));
+        tracker.remove(HOTEL_ID, start, start.plusDays(2));
+
+        assertArrayEquals(new int[]{0, 0}, tracker.occupiedRooms(HOTEL_ID, start, start.plusDays(2)));
+    }
+
+    @Test
+    void addAndRemove_Concurrently_NeverLosesAHeldNight() throws Exception {
+        int threads = 8;
+        int iterations = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    int lost = 0;
+                    for (int i = 0; i < iterations; i++) {
+                        tracker.add(HOTEL_ID, start, start.plusDays(1));
+                        // This thread holds the night until the remove below, so it can never read as free.
+                        if (tracker.occupiedRooms(HOTEL_ID, start, start.plusDays(1))[0] < 1) {
+                            lost++;
+                        }
+                        tracker.remove(HOTEL_ID, start, start.plusDays(1));
+                    }
+                    return lost;
+                }));
+            }
+            startSignal.countDown();
+            for (Future<Integer> future : futures) {
+                assertEquals(0, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertArrayEquals(new int[]{0}, tracker.occupiedRooms(HOTEL_ID, start, start.plusDays(1)));
+    }
+}
@@ -1,19 +1,25 @@
 package com.example.hotelservice.service;
 
 import com.example.hotelservice.dto.HotelDTO;
+import com.example.hotelservice.dto.HotelOccupancyDTO;
 import com.example.hotelservice.entity.Hotel;
 import com.example.hotelservice.mapper.HotelMapper;
 import com.example.hotelservice.repository.HotelRepository;
+import com.example.hotelservice.repository.RoomRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,6 +34,15 @@ class HotelServiceTest {
     @Mock
     private HotelMapper hotelMapper;
 
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Spy
+    private HotelOccupancyTracker occupancyTracker = new HotelOccupancyTracker();
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private HotelService hotelService;
 
@@ -87,11 +102,9 @@ class HotelServiceTest {
     @Test
     void getAllHotels_Success() {
         // Arrange
-        List<Hotel> hotels = Arrays.asList(hotel);
         List<HotelDTO> hotelDTOs = Arrays.asList(hotelDTO);
 
-        when(hotelRepository.findAll()).thenReturn(hotels);
-        when(hotelMapper.toDtoList(hotels)).thenReturn(hotelDTOs);
+        when(hotelRepository.findAllHotelDtos()).thenReturn(hotelDTOs);
 
         // Act
         List<HotelDTO> result = hotelService.getAllHotels();
@@ -101,8 +114,9 @@ class HotelServiceTest {
         assertEquals(1, result.size());
         assertEquals(hotelDTOs, result);
 
-        verify(hotelRepository).findAll();
-        verify(hotelMapper).toDtoList(hotels);
+        verify(hotelRepository).findAllHotelDtos();
+        verify(hotelRepository, never()).findAll();
+        verifyNoInteractions(hotelMapper);
     }
 
     @Test
@@ -139,6 +153,95 @@ class HotelServiceTest {
         verify(hotelMapper, never()).toDto(any());
     }
 
+    @Test
+    void getHotelWithRooms_NotFound() {
+        // Arrange
+        Long hotelId = 999L;
+        when(hotelRepository.findByIdWithRooms(hotelId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> hotelService.getHotelWithRooms(hotelId));
+
+        assertTrue(exception.getMessage().contains("Hotel not found"));
+        verify(hotelMapper, never()).toWithRoomsDto(any());
+    }
+
+    @Test
+    void getHotelsWithRooms_TooManyIds_ThrowsException() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> hotelService.getHotelsWithRooms(ids));
+        verify(hotelRepository, never()).findAllByIdWithRooms(any());
+    }
+
+    @Test
+    void getOccupancy_Success() {
+        // Arrange
+        Long hotelId = 1L;
+        LocalDate from = LocalDate.of(2030, 5, 1);
+        occupancyTracker.add(hotelId, from, from.plusDays(2));
+        occupancyTracker.add(hotelId, from.plusDays(1), from.plusDays(3));
+
+        when(hotelRepository.existsById(hotelId)).thenReturn(true);
+        when(roomRepository.countByHotelId(hotelId)).thenReturn(4L);
+
+        // Act
+        HotelOccupancyDTO result = hotelService.getOccupancy(hotelId, from, from.plusDays(4));
+
+        // Assert
+        assertEquals(4L, result.getTotalRooms());
+        assertEquals(4, result.getDays().size());
+        assertEquals(1, result.getDays().get(0).getOccupiedRooms());
+        assertEquals(2, result.getDays().get(1).getOccupiedRooms());
+        assertEquals(0.5, result.getDays().get(1).getOccupancyRate());
+        assertEquals(0, result.getDays().get(3).getOccupiedRooms());
+        assertEquals(0.25, result.getAverageOccupancyRate());
+        verify(roomRepository).countByHotelId(hotelId);
+    }
+
+    @Test
+    void getOccupancy_HotelNotFound() {
+        // Arrange
+        Long hotelId = 999L;
+        LocalDate from = LocalDate.of(2030, 5, 1);
+        when(hotelRepository.existsById(hotelId)).thenReturn(false);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> hotelService.getOccupancy(hotelId, from, from.plusDays(1)));
+
+        assertTrue(exception.getMessage().contains("Hotel not found"));
+        verify(roomRepository, never()).countByHotelId(any());
+    }
+
+    @Test
+    void getOccupancy_InvalidRange() {
+        // Arrange
+        LocalDate from = LocalDate.of(2030, 5, 1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> hotelService.getOccupancy(1L, from, from));
+        verify(hotelRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getOccupancy_RangeLongerThanCap() {
+        // Arrange
+        LocalDate from = LocalDate.of(2030, 5, 1);
+
+        when(hotelRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertEquals(366, hotelService.getOccupancy(1L, from, from.plusDays(366)).getDays().size());
+        assertThrows(IllegalArgumentException.class,
+                () -> hotelService.getOccupancy(1L, from, from.plusDays(367)));
+        verify(hotelRepository, times(1)).existsById(1L);
+    }
+
     @Test
     void updateHotel_Success() {
         // Arrange
@@ -183,21 +286,21 @@ class HotelServiceTest {
     void deleteHotel_Success() {
         // Arrange
         Long hotelId = 1L;
-        when(hotelRepository.existsById(hotelId)).thenReturn(true);
+        when(hotelRepository.findById(hotelId)).thenReturn(Optional.of(hotel));
 
         // Act
         hotelService.deleteHotel(hotelId);
 
         // Assert
-        verify(hotelRepository).existsById(hotelId);
-        verify(hotelRepository).deleteById(hotelId);
+        verify(hotelRepository).findById(hotelId);
+        verify(hotelRepository).delete(hotel);
     }
 
     @Test
     void deleteHotel_NotFound() {
         // Arrange
         Long hotelId = 999L;
-        when(hotelRepository.existsById(hotelId)).thenReturn(false);
+        when(hotelRepository.findById(hotelId)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -205,8 +308,8 @@ class HotelServiceTest {
 
         assertTrue(exception.getMessage().contains("Hotel not found"));
 
-        verify(hotelRepository).existsById(hotelId);
-        verify(hotelRepository, never()).deleteById(any());
+        verify(hotelRepository).findById(hotelId);
+        verify(hotelRepository, never()).delete(any(Hotel.class));
     }
 
     @Test
@@ -0,0 +1,147 @@
+package com.example.hotelservice.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestCoalescerTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RequestCoalescer coalescer;
+    private ExecutorService callers;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new RequestCoalescer(transactionManager);
+        callers = Executors.newFixedThreadPool(4);
+        executions = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void read_ConcurrentIdenticalCalls_ShareOneExecution() throws Exception {
+        // Arrange
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        CountDownLatch waitersSubmitted = new CountDownLatch(3);
+
+        // Act
+        Future<Integer> leader = callers.submit(() -> coalescer.read("hotels:all", () -> {
+            executions.incrementAndGet();
+            queryStarted.countDown();
+            awaitQuietly(releaseQuery);
+            return 42;
+        }));
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+        List<Future<Integer>> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(callers.submit(() -> {
+                waitersSubmitted.countDown();
+                return coalescer.read("hotels:all", () -> {
+                    executions.incrementAndGet();
+                    return -1;
+                });
+            }));
+        }
+        assertTrue(waitersSubmitted.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        releaseQuery.countDown();
+
+        // Assert
+        assertEquals(42, leader.get(5, TimeUnit.SECONDS));
+        for (Future<Integer> waiter : waiters) {
+            assertEquals(42, waiter.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void read_SequentialCalls_RunEachTime() {
+        // Act
+        coalescer.read("hotels:all", executions::incrementAndGet);
+        coalescer.read("hotels:all", executions::incrementAndGet);
+
+        // Assert
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void read_Failure_ReachesCallerAndIsNotRemembered() {
+        // Arrange
+        IllegalStateException failure = new IllegalStateException("database down");
+
+        // Act
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> coalescer.read("hotels:all", () -> {
+                    throw failure;
+                }));
+        Integer next = coalescer.read("hotels:all", () -> 7);
+
+        // Assert
+        assertSame(failure, thrown);
+        assertEquals(7, next);
+    }
+
+    @Test
+    void read_RunsQueryInReadOnlyTransaction() {
+        // Arrange
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+
+        // Act
+        coalescer.read("rooms:available", executions::incrementAndGet);
+
+        // Assert
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+    }
+
+    @Test
+    void read_InsideCallerTransaction_RunsDirectlyWithoutSharing() {
+        // Arrange
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // Act
+        Integer result = coalescer.read("rooms:available", executions::incrementAndGet);
+
+        // Assert
+        assertEquals(1, result);
+        verifyNoInteractions(transactionManager);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
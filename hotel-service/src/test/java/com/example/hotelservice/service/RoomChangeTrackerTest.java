@@ -0,0 +1,76 @@
+package com.example.hotelservice.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomChangeTrackerTest {
+
+    private RoomChangeTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new RoomChangeTracker();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void watermark_StaysBelowChangesOfOpenTransactions() {
+        // Arrange
+        long before = tracker.watermark();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        long seq = tracker.next();
+        long whileOpen = tracker.watermark();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert
+        assertTrue(seq > before);
+        assertTrue(whileOpen < seq);
+        assertTrue(tracker.watermark() >= seq);
+    }
+
+    @Test
+    void next_WithoutTransaction_SettlesImmediately() {
+        // Act
+        long seq = tracker.next();
+
+        // Assert
+        assertTrue(tracker.watermark() >= seq);
+    }
+
+    @Test
+    void recordDeletion_TrimmedTombstonesForceResync() {
+        // Arrange
+        tracker.next();
+        long start = tracker.watermark();
+        tracker.recordDeletion(42L);
+        long afterFirst = tracker.watermark();
+        List<Long> deletedBeforeTrim = tracker.deletedBetween(start, afterFirst);
+
+        // Act
+        for (int i = 0; i < RoomChangeTracker.MAX_TOMBSTONES; i++) {
+            tracker.recordDeletion(1_000L + i);
+        }
+
+        // Assert
+        assertEquals(List.of(42L), deletedBeforeTrim);
+        assertTrue(tracker.requiresResync(start));
+        assertFalse(tracker.requiresResync(tracker.watermark()));
+        assertFalse(tracker.requiresResync(0));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.hotelservice.service;
+
+import com.example.hotelservice.dto.RoomDTO;
+import com.example.hotelservice.mapper.RoomMapperImpl;
+import com.example.hotelservice.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Catalog-wide search over 1k hotels x 100 rooms in H2 with a year of holds per room: the old full load of every
+ * available room filtered against the calendar, against the id-keyset page of free rooms.
+ * Run with: mvn test -pl hotel-service -Dbenchmark=true -Dtest=RoomSearchBenchmarkTest
+ */
+@DataJpaTest
+@Import({RoomService.class, RoomMapperImpl.class, AvailabilityCalendar.class, HotelOccupancyTracker.class,
+        RoomChangeTracker.class, RequestCoalescer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RoomSearchBenchmarkTest {
+
+    private static final int HOTELS = 1_000;
+    private static final int ROOMS_PER_HOTEL = 100;
+    private static final int DAYS = 365;
+    private static final int PAGE = 100;
+    private static final int ITERATIONS = 20;
+    private static final long FIRST_ID = 1_000_000;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private AvailabilityCalendar calendar;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rooms WHERE id >= ?", FIRST_ID);
+        jdbcTemplate.update("DELETE FROM hotels WHERE id >= ?", FIRST_ID);
+    }
+
+    @Test
+    void searchAvailableRooms_1kHotels_100Rooms_365Days() {
+        LocalDate yearStart = LocalDate.of(2030, 1, 1);
+        Random random = new Random(7);
+
+        long loadStart = System.nanoTime();
+        List<Object[]> hotels = new ArrayList<>(HOTELS);
+        List<Object[]> rooms = new ArrayList<>(HOTELS * ROOMS_PER_HOTEL);
+        long roomId = FIRST_ID;
+        for (long hotelId = FIRST_ID; hotelId < FIRST_ID + HOTELS; hotelId++) {
+            hotels.add(new Object[]{hotelId, "Hotel " + hotelId, "Street " + hotelId});
+            for (int r = 0; r < ROOMS_PER_HOTEL; r++, roomId++) {
+                rooms.add(new Object[]{roomId, String.valueOf(r), true, 0, hotelId, 0L, 0L});
+
+                int gapStart = random.nextInt(DAYS - 14);
+                int gapLength = 3 + random.nextInt(11);
+                calendar.reserve("b" + roomId, roomId, hotelId, yearStart, yearStart.plusDays(gapStart));
+                calendar.reserve("a" + roomId, roomId, hotelId, yearStart.plusDays(gapStart + gapLength), yearStart.plusDays(DAYS));
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO hotels (id, name, address) VALUES (?, ?, ?)", hotels);
+        jdbcTemplate.batchUpdate("INSERT INTO rooms (id, number, available, times_booked, hotel_id, version, change_seq) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", rooms);
+        long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+
+        for (int i = 0; i < 3; i++) {
+            LocalDate from = yearStart.plusDays(random.nextInt(DAYS - 7));
+            fullScan(from, from.plusDays(3));
+            roomService.searchAvailableRooms(from, from.plusDays(3), null, 0, PAGE);
+        }
+
+        long fullScanNanos = 0;
+        long pagedNanos = 0;
+        long found = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            LocalDate from = yearStart.plusDays(random.nextInt(DAYS - 7));
+            LocalDate to = from.plusDays(3);
+
+            long start = System.nanoTime();
+            List<RoomDTO> allFree = fullScan(from, to);
+            fullScanNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<RoomDTO> page = roomService.searchAvailableRooms(from, to, null, 0, PAGE);
+            pagedNanos += System.nanoTime() - start;
+
+            // The page is exactly the first free rooms by id that the full scan finds.
+            assertFalse(allFree.isEmpty());
+            assertEquals(allFree.stream().sorted(Comparator.comparing(RoomDTO::getId)).limit(PAGE).map(RoomDTO::getId).toList(),
+                    page.stream().map(RoomDTO::getId).toList());
+            found += allFree.size();
+        }
+
+        System.out.printf("Loaded %d rooms x %d days in %d ms%n", rooms.size(), DAYS, loadMillis);
+        System.out.printf("Full scan:  %.1f ms/query (avg %d free rooms)%n", fullScanNanos / 1e6 / ITERATIONS, found / ITERATIONS);
+        System.out.printf("Paged (%d): %.1f ms/query%n", PAGE, pagedNanos / 1e6 / ITERATIONS);
+    }
+
+    private List<RoomDTO> fullScan(LocalDate from, LocalDate to) {
+        return roomRepository.findAvailableRoomDtosOrderByTimesBooked().stream()
+                .filter(room -> calendar.isFree(room.getId(), from, to))
+                .toList();
+    }
+}
@@ -1,20 +1,27 @@
 package com.example.hotelservice.service;
 
 import com.example.hotelservice.dto.AvailabilityRequestDTO;
+import com.example.hotelservice.dto.RoomReleaseDTO;
 import com.example.hotelservice.dto.RoomDTO;
 import com.example.hotelservice.entity.Hotel;
 import com.example.hotelservice.entity.Room;
+import com.example.hotelservice.entity.RoomHold;
 import com.example.hotelservice.mapper.RoomMapper;
 import com.example.hotelservice.repository.HotelRepository;
+import com.example.hotelservice.repository.RoomHoldRepository;
 import com.example.hotelservice.repository.RoomRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -33,9 +40,24 @@ class RoomServiceTest {
     @Mock
     private HotelRepository hotelRepository;
 
+    @Mock
+    private RoomHoldRepository roomHoldRepository;
+
     @Mock
     private RoomMapper roomMapper;
 
+    @Spy
+    private AvailabilityCalendar availabilityCalendar = new AvailabilityCalendar();
+
+    @Spy
+    private HotelOccupancyTracker occupancyTracker = new HotelOccupancyTracker();
+
+    @Spy
+    private RoomChangeTracker changeTracker = new RoomChangeTracker();
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private RoomService roomService;
 
@@ -128,11 +150,9 @@ class RoomServiceTest {
     @Test
     void getAvailableRooms_Success() {
         // Arrange
-        List<Room> rooms = Arrays.asList(room);
         List<RoomDTO> roomDTOs = Arrays.asList(roomDTO);
 
-        when(roomRepository.findAvailableRoomsOrderByTimesBooked()).thenReturn(rooms);
-        when(roomMapper.toDtoList(rooms)).thenReturn(roomDTOs);
+        when(roomRepository.findAvailableRoomDtosOrderByTimesBooked()).thenReturn(roomDTOs);
 
         // Act
         List<RoomDTO> result = roomService.getAvailableRooms();
@@ -142,18 +162,17 @@ class RoomServiceTest {
         assertEquals(1, result.size());
         assertEquals(roomDTOs, result);
 
-        verify(roomRepository).findAvailableRoomsOrderByTimesBooked();
-        verify(roomMapper).toDtoList(rooms);
+        verify(roomRepository).findAvailableRoomDtosOrderByTimesBooked();
+        verify(roomRepository, never()).findAvailableRoomsOrderByTimesBooked();
+        verifyNoInteractions(roomMapper);
     }
 
     @Test
     void getRecommendedRooms_Success() {
         // Arrange
-        List<Room> rooms = Arrays.asList(room);
         List<RoomDTO> roomDTOs = Arrays.asList(roomDTO);
 
-        when(roomRepository.findAvailableRoomsOrderByTimesBooked()).thenReturn(rooms);
-        when(roomMapper.toDtoList(rooms)).thenReturn(roomDTOs);
+        when(roomRepository.findAvailableRoomDtosOrderByTimesBooked()).thenReturn(roomDTOs);
 
         // Act
         List<RoomDTO> result = roomService.getRecommendedRooms();
@@ -162,8 +181,8 @@ class RoomServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(roomRepository).findAvailableRoomsOrderByTimesBooked();
-        verify(roomMapper).toDtoList(rooms);
+        verify(roomRepository).findAvailableRoomDtosOrderByTimesBooked();
+        verifyNoInteractions(roomMapper);
     }
 
     @Test
@@ -204,11 +223,9 @@ class RoomServiceTest {
     void getRoomsByHotelId_Success() {
         // Arrange
         Long hotelId = 1L;
-        List<Room> rooms = Arrays.asList(room);
         List<RoomDTO> roomDTOs = Arrays.asList(roomDTO);
 
-        when(roomRepository.findByHotelIdAndAvailableTrue(hotelId)).thenReturn(rooms);
-        when(roomMapper.toDtoList(rooms)).thenReturn(roomDTOs);
+        when(roomRepository.findAvailableRoomDtosByHotelId(hotelId)).thenReturn(roomDTOs);
 
         // Act
         List<RoomDTO> result = roomService.getRoomsByHotelId(hotelId);
@@ -217,8 +234,77 @@ class RoomServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(roomRepository).findByHotelIdAndAvailableTrue(hotelId);
-        verify(roomMapper).toDtoList(rooms);
+        verify(roomRepository).findAvailableRoomDtosByHotelId(hotelId);
+        verifyNoInteractions(roomMapper);
+    }
+
+    @Test
+    void searchAvailableRooms_ExcludesBookedRooms() {
+        // Arrange
+        LocalDate from = LocalDate.now().plusDays(10);
+        LocalDate to = from.plusDays(3);
+        RoomDTO otherRoomDTO = RoomDTO.builder().id(2L).number("102").available(true).timesBooked(0).hotelId(1L).build();
+
+        when(roomRepository.findAvailableRoomDtosAfterId(0L, Limit.of(1_000))).thenReturn(Arrays.asList(roomDTO, otherRoomDTO));
+        availabilityCalendar.reserve("booked", 1L, 1L, from.plusDays(1), from.plusDays(5));
+
+        // Act
+        List<RoomDTO> result = roomService.searchAvailableRooms(from, to, null, 0, 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getId());
+        verify(roomRepository, never()).findAvailableRoomDtosOrderByTimesBooked();
+    }
+
+    @Test
+    void searchAvailableRooms_FullCandidateBatch_ReadsNextBatchUntilPageIsFull() {
+        // Arrange: every room in the first batch of candidates is booked
+        LocalDate from = LocalDate.now().plusDays(10);
+        LocalDate to = from.plusDays(3);
+        List<RoomDTO> bookedBatch = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            bookedBatch.add(RoomDTO.builder().id(id).number(String.valueOf(id)).available(true).hotelId(1L).build());
+            availabilityCalendar.reserve("booked-" + id, id, 1L, from, to);
+        }
+        RoomDTO free1 = RoomDTO.builder().id(1_001L).number("1001").available(true).hotelId(1L).build();
+        RoomDTO free2 = RoomDTO.builder().id(1_002L).number("1002").available(true).hotelId(1L).build();
+
+        when(roomRepository.findAvailableRoomDtosAfterId(0L, Limit.of(1_000))).thenReturn(bookedBatch);
+        when(roomRepository.findAvailableRoomDtosAfterId(1_000L, Limit.of(1_000))).thenReturn(List.of(free1, free2));
+
+        // Act
+        List<RoomDTO> result = roomService.searchAvailableRooms(from, to, null, 0, 1);
+
+        // Assert: the page stops at the first free room, so the caller resumes after it
+        assertEquals(List.of(1_001L), result.stream().map(RoomDTO::getId).toList());
+        verify(roomRepository, times(2)).findAvailableRoomDtosAfterId(anyLong(), any());
+    }
+
+    @Test
+    void searchAvailableRooms_ByHotel_UsesHotelQuery() {
+        // Arrange
+        LocalDate from = LocalDate.now().plusDays(10);
+        when(roomRepository.findAvailableRoomDtosByHotelId(1L)).thenReturn(Arrays.asList(roomDTO));
+
+        // Act
+        List<RoomDTO> result = roomService.searchAvailableRooms(from, from.plusDays(2), 1L, 0, 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(roomRepository).findAvailableRoomDtosByHotelId(1L);
+        verify(roomRepository, never()).findAvailableRoomDtosAfterId(anyLong(), any());
+    }
+
+    @Test
+    void searchAvailableRooms_InvalidRange_ThrowsException() {
+        // Arrange
+        LocalDate from = LocalDate.now().plusDays(10);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> roomService.searchAvailableRooms(from, from, null, 0, 10));
+        verify(roomRepository, never()).findAvailableRoomDtosAfterId(anyLong(), any());
     }
 
     @Test
@@ -232,17 +318,92 @@ class RoomServiceTest {
                 .correlationId(correlationId)
                 .build();
 
-        when(roomRepository.existsById(roomId)).thenReturn(true);
-        when(roomRepository.findById(roomId)).thenReturn(Optional.of(room));
+        when(roomRepository.findHotelIdById(roomId)).thenReturn(Optional.of(1L));
+        when(roomRepository.incrementTimesBookedIfAvailable(eq(roomId), anyLong())).thenReturn(1);
 
         // Act
         boolean result = roomService.confirmAvailability(roomId, request);
 
         // Assert
         assertTrue(result);
-        verify(roomRepository).existsById(roomId);
-        verify(roomRepository, times(2)).findById(roomId);
-        verify(roomRepository).save(room);
+        verify(roomRepository).findHotelIdById(roomId);
+        verify(roomRepository).incrementTimesBookedIfAvailable(eq(roomId), anyLong());
+        verify(roomRepository, never()).findById(any());
+        verify(roomRepository, never()).save(any());
+        verify(roomHoldRepository).save(argThat(hold -> correlationId.equals(hold.getCorrelationId())
+                && roomId.equals(hold.getRoomId())));
+    }
+
+    @Test
+    void confirmAvailability_RetryWhileOriginalHoldsDates_SkipsUpdate() {
+        // Arrange: the original request has claimed the dates but not finished yet
+        Long roomId = 1L;
+        LocalDate start = LocalDate.now().plusDays(1);
+        availabilityCalendar.reserve("in-flight", roomId, 1L, start, start.plusDays(2));
+        AvailabilityRequestDTO retry = AvailabilityRequestDTO.builder()
+                .startDate(start)
+                .endDate(start.plusDays(2))
+                .correlationId("in-flight")
+                .build();
+
+        when(roomRepository.findHotelIdById(roomId)).thenReturn(Optional.of(1L));
+
+        // Act
+        boolean result = roomService.confirmAvailability(roomId, retry);
+
+        // Assert
+        assertTrue(result);
+        verify(roomRepository, never()).incrementTimesBookedIfAvailable(any(), any());
+        verify(roomHoldRepository, never()).save(any());
+        assertArrayEquals(new int[]{0, 0}, occupancyTracker.occupiedRooms(1L, start, start.plusDays(2)));
+    }
+
+    @Test
+    void confirmAvailability_RetryFailsBeforeClaim_KeepsOriginalDates() {
+        // Arrange
+        Long roomId = 1L;
+        LocalDate start = LocalDate.now().plusDays(1);
+        availabilityCalendar.reserve("in-flight", roomId, 1L, start, start.plusDays(2));
+        AvailabilityRequestDTO retry = AvailabilityRequestDTO.builder()
+                .startDate(start)
+                .endDate(start.plusDays(2))
+                .correlationId("in-flight")
+                .build();
+
+        when(roomRepository.findHotelIdById(roomId)).thenThrow(new RuntimeException("connection reset"));
+
+        // Act
+        boolean result = roomService.confirmAvailability(roomId, retry);
+
+        // Assert
+        assertFalse(result);
+        assertFalse(availabilityCalendar.isFree(roomId, start, start.plusDays(2)));
+    }
+
+    @Test
+    void restoreHolds_ReplaysPersistedHoldsIntoCalendar() {
+        // Arrange
+        LocalDate start = LocalDate.now().plusDays(1);
+        when(roomHoldRepository.findByEndDateAfter(any())).thenReturn(List.of(RoomHold.builder()
+                .correlationId("persisted")
+                .roomId(1L)
+                .hotelId(1L)
+                .startDate(start)
+                .endDate(start.plusDays(2))
+                .build()));
+
+        // Act
+        roomService.restoreHolds();
+
+        // Assert
+        verify(roomHoldRepository).deleteEndedBy(LocalDate.now());
+        assertFalse(availabilityCalendar.isFree(1L, start, start.plusDays(2)));
+        assertArrayEquals(new int[]{1, 1}, occupancyTracker.occupiedRooms(1L, start, start.plusDays(2)));
+        assertTrue(getLocksMap().containsKey("persisted"));
+        // the restored hold is released like any other
+        roomService.releaseTemporaryLock(1L, "persisted");
+        assertTrue(availabilityCalendar.isFree(1L, start, start.plusDays(2)));
+        verify(roomHoldRepository).deleteByCorrelationIds(List.of("persisted"));
     }
 
     @Test
@@ -263,7 +424,8 @@ class RoomServiceTest {
 
         // Assert
         assertTrue(result);
-        verify(roomRepository, never()).findById(any());
+        verify(roomRepository, never()).findHotelIdById(any());
+        verify(roomRepository, never()).incrementTimesBookedIfAvailable(any(), any());
     }
 
     @Test
@@ -274,15 +436,15 @@ class RoomServiceTest {
                 .correlationId("test-correlation-id")
                 .build();
 
-        when(roomRepository.existsById(roomId)).thenReturn(false);
+        when(roomRepository.findHotelIdById(roomId)).thenReturn(Optional.empty());
 
         // Act
         boolean result = roomService.confirmAvailability(roomId, request);
 
         // Assert
         assertFalse(result);
-        verify(roomRepository).existsById(roomId);
-        verify(roomRepository, never()).findById(any());
+        verify(roomRepository).findHotelIdById(roomId);
+        verify(roomRepository, never()).incrementTimesBookedIfAvailable(any(), any());
     }
 
     @Test
@@ -293,20 +455,159 @@ class RoomServiceTest {
                 .correlationId("test-correlation-id")
                 .build();
 
-        Room unavailableRoom = Room.builder()
-                .id(roomId)
-                .available(false)
+        when(roomRepository.findHotelIdById(roomId)).thenReturn(Optional.of(1L));
+        when(roomRepository.incrementTimesBookedIfAvailable(eq(roomId), anyLong())).thenReturn(0);
+
+        // Act
+        boolean result = roomService.confirmAvailability(roomId, request);
+
+        // Assert
+        assertFalse(result);
+        assertFalse(getLocksMap().containsKey("test-correlation-id"));
+        verify(roomRepository).incrementTimesBookedIfAvailable(eq(roomId), anyLong());
+    }
+
+    @Test
+    void confirmAvailability_RoomNotAvailable_ReleasesReservedDates() {
+        // Arrange
+        Long roomId = 1L;
+        LocalDate start = LocalDate.now().plusDays(1);
+        AvailabilityRequestDTO request = AvailabilityRequestDTO.builder()
+                .startDate(start)
+                .endDate(start.plusDays(2))
+                .correlationId("test-correlation-id")
                 .build();
 
-        when(roomRepository.existsById(roomId)).thenReturn(true);
-        when(roomRepository.findById(roomId)).thenReturn(Optional.of(unavailableRoom));
+        when(roomRepository.findHotelIdById(roomId)).thenReturn(Optional.of(1L));
+        when(roomRepository.incrementTimesBookedIfAvailable(eq(roomId), anyLong())).thenReturn(0);
 
         // Act
         boolean result = roomService.confirmAvailability(roomId, request);
 
         // Assert
         assertFalse(result);
-        verify(roomRepository).findById(roomId);
+        assertTrue(availabilityCalendar.isFree(roomId, start, start.plusDays(2)));
+        assertArrayEquals(new int[]{0, 0}, occupancyTracker.occupiedRooms(1L, start, start.plusDays(2)));
+    }
+
+    @Test
+    void confirmAvailability_OverlappingDates_ReturnsFalse() {
+        // Arrange
+        Long roomId = 1L;
+        LocalDate start = LocalDate.now().plusDays(1);
+        AvailabilityRequestDTO first = AvailabilityRequestDTO.builder()
+                .startDate(start)
+                .endDate(start.plusDays(3))
+                .correlationId("first-correlation-id")
+                .build();
+        AvailabilityRequestDTO overlapping = AvailabilityRequestDTO.builder()
+                .startDate(start.plusDays(2))
+                .endDate(start.plusDays(4))
+                .correlationId("second-correlation-id")
+                .build();
+
+        when(roomRepository.findHotelIdById(roomId)).thenReturn(Optional.of(1L));
+        when(roomRepository.incrementTimesBookedIfAvailable(eq(roomId), anyLong())).thenReturn(1);
+
+        // Act
+        boolean firstResult = roomService.confirmAvailability(roomId, first);
+        boolean overlappingResult = roomService.confirmAvailability(roomId, overlapping);
+
+        // Assert
+        assertTrue(firstResult);
+        assertFalse(overlappingResult);
+        assertFalse(getLocksMap().containsKey("second-correlation-id"));
+        verify(roomRepository, times(1)).incrementTimesBookedIfAvailable(eq(roomId), anyLong());
+        verify(roomRepository, times(1)).findHotelIdById(roomId);
+    }
+
+    @Test
+    void confirmAvailability_AdjacentDates_ReturnsTrue() {
+        // Arrange
+        Long roomId = 1L;
+        LocalDate start = LocalDate.now().plusDays(1);
+        AvailabilityRequestDTO first = AvailabilityRequestDTO.builder()
+                .startDate(start)
+                .endDate(start.plusDays(3))
+                .correlationId("first-correlation-id")
+                .build();
+        AvailabilityRequestDTO adjacent = AvailabilityRequestDTO.builder()
+                .startDate(start.plusDays(3))
+                .endDate(start.plusDays(5))
+                .correlationId("second-correlation-id")
+                .build();
+
+        when(roomRepository.findHotelIdById(roomId)).thenReturn(Optional.of(1L));
+        when(roomRepository.incrementTimesBookedIfAvailable(eq(roomId), anyLong())).thenReturn(1);
+
+        // Act & Assert
+        assertTrue(roomService.confirmAvailability(roomId, first));
+        assertTrue(roomService.confirmAvailability(roomId, adjacent));
+    }
+
+    @Test
+    void confirmAvailability_InvalidDateRange_ReturnsFalse() {
+        // Arrange
+        Long roomId = 1L;
+        AvailabilityRequestDTO request = AvailabilityRequestDTO.builder()
+                .startDate(LocalDate.now().plusDays(3))
+                .endDate(LocalDate.now().plusDays(1))
+                .correlationId("test-correlation-id")
+                .build();
+
+        when(roomRepository.findHotelIdById(roomId)).thenReturn(Optional.of(1L));
+
+        // Act
+        boolean result = roomService.confirmAvailability(roomId, request);
+
+        // Assert
+        assertFalse(result);
+        verify(roomRepository, never()).incrementTimesBookedIfAvailable(any(), any());
+    }
+
+    @Test
+    void releaseTemporaryLock_FreesReservedDates() {
+        // Arrange
+        Long roomId = 1L;
+        LocalDate start = LocalDate.now().plusDays(1);
+        AvailabilityRequestDTO request = AvailabilityRequestDTO.builder()
+                .startDate(start)
+                .endDate(start.plusDays(2))
+                .correlationId("test-correlation-id")
+                .build();
+
+        when(roomRepository.findHotelIdById(roomId)).thenReturn(Optional.of(1L));
+        when(roomRepository.incrementTimesBookedIfAvailable(eq(roomId), anyLong())).thenReturn(1);
+        roomService.confirmAvailability(roomId, request);
+
+        // Act
+        roomService.releaseTemporaryLock(roomId, "test-correlation-id");
+
+        // Assert
+        assertTrue(availabilityCalendar.isFree(roomId, start, start.plusDays(2)));
+        assertArrayEquals(new int[]{0, 0}, occupancyTracker.occupiedRooms(1L, start, start.plusDays(2)));
+    }
+
+    @Test
+    void confirmAvailability_UpdatesHotelOccupancy() {
+        // Arrange
+        Long roomId = 1L;
+        LocalDate start = LocalDate.now().plusDays(1);
+        AvailabilityRequestDTO request = AvailabilityRequestDTO.builder()
+                .startDate(start)
+                .endDate(start.plusDays(2))
+                .correlationId("test-correlation-id")
+                .build();
+
+        when(roomRepository.findHotelIdById(roomId)).thenReturn(Optional.of(1L));
+        when(roomRepository.incrementTimesBookedIfAvailable(eq(roomId), anyLong())).thenReturn(1);
+
+        // Act
+        roomService.confirmAvailability(roomId, request);
+
+        // Assert
+        assertArrayEquals(new int[]{0, 1, 1, 0},
+                occupancyTracker.occupiedRooms(1L, start.minusDays(1), start.plusDays(3)));
     }
 
     @Test
@@ -342,6 +643,34 @@ class RoomServiceTest {
         assertFalse(locks.containsKey(correlationId));
     }
 
+    @Test
+    void releaseTemporaryLocks_ReleasesEachHoldAndCountsKnownOnes() {
+        // Arrange
+        Long roomId = 1L;
+        LocalDate start = LocalDate.now().plusDays(1);
+        AvailabilityRequestDTO request = AvailabilityRequestDTO.builder()
+                .startDate(start)
+                .endDate(start.plusDays(2))
+                .correlationId("held-correlation-id")
+                .build();
+
+        when(roomRepository.findHotelIdById(roomId)).thenReturn(Optional.of(1L));
+        when(roomRepository.incrementTimesBookedIfAvailable(eq(roomId), anyLong())).thenReturn(1);
+        roomService.confirmAvailability(roomId, request);
+
+        // Act
+        int released = roomService.releaseTemporaryLocks(List.of(
+                new RoomReleaseDTO(roomId, "held-correlation-id"),
+                new RoomReleaseDTO(roomId, "unknown-correlation-id")));
+
+        // Assert
+        assertEquals(1, released);
+        verify(roomHoldRepository).deleteByCorrelationIds(List.of("held-correlation-id"));
+        assertFalse(getLocksMap().containsKey("held-correlation-id"));
+        assertTrue(availabilityCalendar.isFree(roomId, start, start.plusDays(2)));
+        assertArrayEquals(new int[]{0, 0}, occupancyTracker.occupiedRooms(1L, start, start.plusDays(2)));
+    }
+
     @Test
     void updateRoom_Success() {
         // Arrange
@@ -395,14 +724,14 @@ class RoomServiceTest {
     void deleteRoom_Success() {
         // Arrange
         Long roomId = 1L;
-        when(roomRepository.existsById(roomId)).thenReturn(true);
+        when(roomRepository.findById(roomId)).thenReturn(Optional.of(room));
 
         // Act
         roomService.deleteRoom(roomId);
 
         // Assert
-        verify(roomRepository).existsById(roomId);
-        verify(roomRepository).deleteById(roomId);
+        verify(roomRepository).findById(roomId);
+        verify(roomRepository).delete(room);
     }
 
     private ConcurrentHashMap<String, Long> getLocksMap() {
@@ -0,0 +1,99 @@
+package com.example.hotelservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayBitmapTest {
+
+    @Test
+    void emptyBitmap_IntersectsNothing() {
+        DayBitmap bitmap = new DayBitmap();
+
+        assertTrue(bitmap.isEmpty());
+        assertFalse(bitmap.intersects(0, 1000));
+    }
+
+    @Test
+    void set_SingleWord() {
+        DayBitmap bitmap = new DayBitmap();
+
+        bitmap.set(10, 20);
+
+        assertEquals(1, bitmap.wordCount());
+        assertTrue(bitmap.intersects(19, 30));
+        assertFalse(bitmap.intersects(20, 30));
+        assertFalse(bitmap.intersects(0, 10));
+    }
+
+    @Test
+    void set_AcrossWordBoundaries() {
+        DayBitmap bitmap = new DayBitmap();
+
+        bitmap.set(60, 200);
+
+        assertEquals(4, bitmap.wordCount());
+        assertTrue(bitmap.intersects(63, 64));
+        assertTrue(bitmap.intersects(64, 65));
+        assertTrue(bitmap.intersects(199, 250));
+        assertFalse(bitmap.intersects(200, 250));
+    }
+
+    @Test
+    void clear_RemovesEmptyWords() {
+        DayBitmap bitmap = new DayBitmap();
+        bitmap.set(0, 128);
+
+        bitmap.clear(0, 64);
+
+        assertEquals(1, bitmap.wordCount());
+        assertFalse(bitmap.intersects(0, 64));
+        assertTrue(bitmap.intersects(64, 65));
+
+        bitmap.clear(64, 128);
+
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    void sparseRanges_FarApart_StoreOnlyTouchedWords() {
+        DayBitmap bitmap = new DayBitmap();
+
+        bitmap.set(20_000, 20_003);
+        bitmap.set(60_000, 60_010);
+
+        assertEquals(2, bitmap.wordCount());
+        assertFalse(bitmap.intersects(20_003, 60_000));
+        assertTrue(bitmap.intersects(20_002, 60_000));
+    }
+
+    @Test
+    void randomOperations_MatchDenseBitSet() {
+        Random random = new Random(42);
+        DayBitmap bitmap = new DayBitmap();
+        BitSet reference = new BitSet();
+
+        for (int i = 0; i < 5_000; i++) {
+            int from = 20_000 + random.nextInt(2_000);
+            int to = from + 1 + random.nextInt(90);
+
+            if (random.nextBoolean()) {
+                bitmap.set(from, to);
+                reference.set(from, to);
+            } else {
+                bitmap.clear(from, to);
+                reference.clear(from, to);
+            }
+
+            int queryFrom = 20_000 + random.nextInt(2_100);
+            int queryTo = queryFrom + 1 + random.nextInt(40);
+            int firstSet = reference.nextSetBit(queryFrom);
+            boolean expected = firstSet >= 0 && firstSet < queryTo;
+
+            assertEquals(expected, bitmap.intersects(queryFrom, queryTo));
+        }
+    }
+}
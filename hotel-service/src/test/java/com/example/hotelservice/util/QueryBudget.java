@@ -0,0 +1,38 @@
+package com.example.hotelservice.util;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts how many SQL statements a piece of code may prepare, using the same per-thread
+ * accounting as the request metrics. Flush inside the action if the writes should be counted.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T assertAtMost(long maxStatements, Supplier<T> action) {
+        try (SqlStatementStats.Scope scope = SqlStatementStats.open()) {
+            T result = action.get();
+            assertTrue(scope.statements() <= maxStatements, () -> String.format(
+                    "Expected at most %d SQL statements but %d were prepared", maxStatements, scope.statements()));
+            return result;
+        }
+    }
+
+    public static void assertAtMost(long maxStatements, Runnable action) {
+        assertAtMost(maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static long count(Runnable action) {
+        try (SqlStatementStats.Scope scope = SqlStatementStats.open()) {
+            action.run();
+            return scope.statements();
+        }
+    }
+}